@@ -2,8 +2,10 @@ package dev.amir.depth_chart_manager;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class DepthChartManagerApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,4 @@
+package dev.amir.depth_chart_manager.cache;
+
+public record CacheStats(long hits, long misses, long evictions, long invalidations, long coalesced, int size) {
+}
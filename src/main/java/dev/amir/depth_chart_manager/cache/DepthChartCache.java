@@ -0,0 +1,236 @@
+package dev.amir.depth_chart_manager.cache;
+
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
+import dev.amir.depth_chart_manager.event.DepthChartChangedEvent;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU/TTL cache of each team's ordered depth chart. A snapshot is dropped after the transaction of any write
+ * to one of the team's positions commits.
+ * <p>
+ * Every team has a generation counter that is bumped on invalidation. A loader only stores its snapshot if the
+ * generation did not change while it was reading, so a read racing with a write can never re-populate the cache with
+ * the pre-write chart.
+ * <p>
+ * Each snapshot also carries a reverse index from player number to the positions and depths the player holds, built
+ * in the same pass that stores the chart.
+ * <p>
+ * Concurrent misses of one team share a single load: the first caller registers an in-flight future for the team and
+ * runs the loader, and callers arriving while it runs wait for that future instead of querying themselves. A caller
+ * only joins a load started in the current generation, so a read issued after a write never receives a pre-write
+ * chart. This applies even with the cache disabled, where the chart is just not kept once the load completes.
+ */
+@Component
+@Slf4j
+public class DepthChartCache {
+
+    /**
+     * Listener order of {@link #onDepthChartChanged}, ahead of {@link DepthChartVersions}, so a team's snapshot is gone
+     * before its new version can be handed out.
+     */
+    public static final int INVALIDATION_ORDER = 0;
+
+    private final boolean enabled;
+    private final int maxTeams;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    private final LinkedHashMap<Long, Snapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Load> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    @Autowired
+    public DepthChartCache(DepthChartProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    DepthChartCache(DepthChartProperties properties, Clock clock) {
+        DepthChartProperties.Cache cache = properties.getCache();
+        this.enabled = cache.isEnabled();
+        this.maxTeams = cache.getMaxTeams();
+        this.ttlMillis = cache.getTtl().toMillis();
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Map<Position, List<DepthChartEntry>> getOrLoad(Long teamId, Supplier<Map<Position, List<DepthChartEntry>>> loader) {
+        return getOrLoadSnapshot(teamId, loader).depthChart();
+    }
+
+    /**
+     * The positions the player holds in the team's cached chart, each with the player's depth there.
+     */
+    public Map<Position, Integer> getPlayerPositions(Long teamId, Long playerNumber, Supplier<Map<Position, List<DepthChartEntry>>> loader) {
+        return getOrLoadSnapshot(teamId, loader).playerPositions().getOrDefault(playerNumber, Map.of());
+    }
+
+    public void invalidate(Long teamId) {
+        generationOf(teamId).incrementAndGet();
+        synchronized (snapshots) {
+            snapshots.remove(teamId);
+        }
+        invalidations.increment();
+    }
+
+    public void invalidateAll() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        synchronized (snapshots) {
+            snapshots.clear();
+        }
+        invalidations.increment();
+    }
+
+    /**
+     * Bumps the team's generation even with the cache disabled, so reads after the write stop joining loads that
+     * started before it.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(INVALIDATION_ORDER)
+    public void onDepthChartChanged(DepthChartChangedEvent event) {
+        if (!enabled) {
+            generationOf(event.teamId()).incrementAndGet();
+            return;
+        }
+        log.debug("Invalidating cached depth chart of team {} after a change to {}", event.teamId(), event.position());
+        invalidate(event.teamId());
+    }
+
+    public CacheStats stats() {
+        synchronized (snapshots) {
+            return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), coalesced.sum(),
+                    snapshots.size());
+        }
+    }
+
+    private Snapshot getOrLoadSnapshot(Long teamId, Supplier<Map<Position, List<DepthChartEntry>>> loader) {
+        if (enabled) {
+            Snapshot cached = get(teamId);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            misses.increment();
+        }
+
+        long generation = generationOf(teamId).get();
+        Load load = new Load(generation, new CompletableFuture<>());
+        for (Load running = inFlight.putIfAbsent(teamId, load); running != null; running = inFlight.putIfAbsent(teamId, load)) {
+            if (running.generation() == generation) {
+                coalesced.increment();
+                return await(running);
+            }
+            if (inFlight.replace(teamId, running, load)) {
+                break;
+            }
+        }
+
+        try {
+            Snapshot loaded = Snapshot.of(Collections.unmodifiableMap(loader.get()), clock.millis());
+            if (enabled) {
+                putIfGeneration(teamId, generation, loaded);
+            }
+            load.result().complete(loaded);
+            return loaded;
+        } catch (RuntimeException | Error e) {
+            load.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(teamId, load);
+        }
+    }
+
+    /**
+     * Waits for a load started by another caller, rethrowing its failure as the loader threw it.
+     */
+    private static Snapshot await(Load load) {
+        try {
+            return load.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Snapshot get(Long teamId) {
+        synchronized (snapshots) {
+            Snapshot snapshot = snapshots.get(teamId);
+            if (snapshot == null) {
+                return null;
+            }
+            if (isExpired(snapshot)) {
+                snapshots.remove(teamId);
+                evictions.increment();
+                return null;
+            }
+            return snapshot;
+        }
+    }
+
+    private void putIfGeneration(Long teamId, long generation, Snapshot snapshot) {
+        synchronized (snapshots) {
+            if (generationOf(teamId).get() != generation) {
+                return;
+            }
+            snapshots.put(teamId, snapshot);
+            Iterator<Snapshot> eldest = snapshots.values().iterator();
+            while (snapshots.size() > maxTeams && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private boolean isExpired(Snapshot snapshot) {
+        return ttlMillis > 0 && clock.millis() - snapshot.loadedAt() >= ttlMillis;
+    }
+
+    private AtomicLong generationOf(Long teamId) {
+        return generations.computeIfAbsent(teamId, id -> new AtomicLong());
+    }
+
+    private record Load(long generation, CompletableFuture<Snapshot> result) {
+    }
+
+    private record Snapshot(Map<Position, List<DepthChartEntry>> depthChart, Map<Long, Map<Position, Integer>> playerPositions,
+                            long loadedAt) {
+
+        static Snapshot of(Map<Position, List<DepthChartEntry>> depthChart, long loadedAt) {
+            Map<Long, Map<Position, Integer>> playerPositions = new HashMap<>();
+            depthChart.forEach((position, entries) -> entries.forEach(entry ->
+                    playerPositions.computeIfAbsent(entry.number(), number -> new EnumMap<>(Position.class))
+                            .put(position, entry.positionDepth())));
+            playerPositions.replaceAll((number, positions) -> Collections.unmodifiableMap(positions));
+            return new Snapshot(depthChart, playerPositions, loadedAt);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package dev.amir.depth_chart_manager.cache;
+
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
+import dev.amir.depth_chart_manager.event.DepthChartChangedEvent;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Keeps the depth chart caches of several instances sharing one Postgres database coherent. Every write transaction
+ * sends a {@code NOTIFY} of its changed (team, position), which Postgres only delivers once the transaction commits,
+ * and every instance {@code LISTEN}s on a dedicated connection and republishes the changes of the other instances as
+ * local {@link DepthChartChangedEvent}s, which drop the team from the {@link DepthChartCache} and bump its
+ * {@link DepthChartVersions} tag.
+ * <p>
+ * Notifications sent while the listening connection is down are lost, so after reconnecting every cached chart is
+ * dropped and every tag renewed. The listener treats any other failure, e.g. of a local event listener, the same way
+ * rather than letting its thread die.
+ * <p>
+ * Only the JPA engine is covered. The {@code IN_MEMORY} engine owns its teams' charts, so its write-behind flushes send
+ * no notifications, and the republished changes, being published outside of a transaction, never reach its
+ * after-commit listener; such instances must not share a database.
+ */
+@Component
+@ConditionalOnProperty(prefix = "depth-chart.invalidation", name = "enabled", havingValue = "true")
+@Slf4j
+public class DepthChartInvalidationBus {
+
+    private static final int POLL_MILLIS = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DepthChartCache depthChartCache;
+    private final DepthChartVersions depthChartVersions;
+    private final String channel;
+    private final long reconnectDelayMillis;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Thread listener = Thread.ofPlatform().name("depth-chart-invalidation").daemon().unstarted(this::listen);
+    private volatile boolean running = true;
+
+    public DepthChartInvalidationBus(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties,
+                                     ApplicationEventPublisher eventPublisher, DepthChartCache depthChartCache,
+                                     DepthChartVersions depthChartVersions, DepthChartProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.eventPublisher = eventPublisher;
+        this.depthChartCache = depthChartCache;
+        this.depthChartVersions = depthChartVersions;
+        this.channel = properties.getInvalidation().getChannel();
+        this.reconnectDelayMillis = properties.getInvalidation().getReconnectDelay().toMillis();
+    }
+
+    @PostConstruct
+    void start() {
+        listener.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        listener.interrupt();
+        listener.join(POLL_MILLIS * 4L);
+    }
+
+    /**
+     * Runs on the writing transaction's connection; Postgres drops duplicate notifications of one transaction.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onDepthChartChanged(DepthChartChangedEvent event) {
+        jdbcTemplate.queryForObject("select pg_notify(?, ?)", Object.class, channel, payloadOf(event));
+    }
+
+    String payloadOf(DepthChartChangedEvent event) {
+        return instanceId + ":" + event.teamId() + ":" + event.position();
+    }
+
+    /**
+     * Republishes a change of another instance; the own changes were already published by the write.
+     */
+    void onNotification(String payload) {
+        String[] parts = payload.split(":");
+        if (parts.length != 3 || parts[0].equals(instanceId)) {
+            return;
+        }
+        try {
+            eventPublisher.publishEvent(new DepthChartChangedEvent(Long.valueOf(parts[1]), Position.valueOf(parts[2])));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed depth chart invalidation {}", payload);
+        }
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (reconnecting) {
+                    log.info("Depth chart invalidation listener reconnected, dropping every cached depth chart");
+                    depthChartCache.invalidateAll();
+                    depthChartVersions.renewEpoch();
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            onNotification(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Depth chart invalidation listener lost its connection, reconnecting in {} ms", reconnectDelayMillis, e);
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.error("Depth chart invalidation listener failed, reconnecting in {} ms", reconnectDelayMillis, e);
+            }
+            if (!running) {
+                return;
+            }
+            reconnecting = true;
+            try {
+                Thread.sleep(reconnectDelayMillis);
+            } catch (InterruptedException interrupted) {
+                return;
+            }
+        }
+    }
+}
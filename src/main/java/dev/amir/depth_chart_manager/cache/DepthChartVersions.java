@@ -0,0 +1,54 @@
+package dev.amir.depth_chart_manager.cache;
+
+import dev.amir.depth_chart_manager.event.DepthChartChangedEvent;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of each team's depth chart, bumped after the transaction of any write to the team commits. Versions start
+ * over on every restart, so {@link #tagOf} prefixes them with a random epoch of this instance: a tag handed out before
+ * a restart never matches one handed out after it.
+ * <p>
+ * Callers read the tag before they read the chart. A write committing in between then labels the new chart with the
+ * old tag, which is only answered with a full response again, and never the old chart with the new tag. That relies on
+ * the {@link DepthChartCache} dropping the team's snapshot before the version is bumped, which the listener order of
+ * both makes explicit.
+ */
+@Component
+public class DepthChartVersions {
+
+    private volatile String epoch = newEpoch();
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long versionOf(Long teamId) {
+        AtomicLong version = versions.get(teamId);
+        return version == null ? 0 : version.get();
+    }
+
+    public String tagOf(Long teamId) {
+        return epoch + "-" + teamId + "-" + versionOf(teamId);
+    }
+
+    /**
+     * Invalidates every tag handed out so far, for when changes may have been missed.
+     */
+    public void renewEpoch() {
+        epoch = newEpoch();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(DepthChartCache.INVALIDATION_ORDER + 1)
+    public void onDepthChartChanged(DepthChartChangedEvent event) {
+        versions.computeIfAbsent(event.teamId(), id -> new AtomicLong()).incrementAndGet();
+    }
+
+    private static String newEpoch() {
+        return Long.toHexString(ThreadLocalRandom.current().nextLong());
+    }
+}
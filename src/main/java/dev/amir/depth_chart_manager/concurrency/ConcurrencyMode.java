@@ -0,0 +1,5 @@
+package dev.amir.depth_chart_manager.concurrency;
+
+public enum ConcurrencyMode {
+    GLOBAL, STRIPED, OPTIMISTIC
+}
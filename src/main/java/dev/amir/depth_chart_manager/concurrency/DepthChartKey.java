@@ -0,0 +1,14 @@
+package dev.amir.depth_chart_manager.concurrency;
+
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.model.enums.Position;
+
+/**
+ * Identifies a single depth chart (one position of one team), which is the unit writes are serialized on.
+ */
+public record DepthChartKey(Long teamId, Position position) {
+
+    public static DepthChartKey of(Team team, Position position) {
+        return new DepthChartKey(team == null ? null : team.getId(), position);
+    }
+}
@@ -0,0 +1,193 @@
+package dev.amir.depth_chart_manager.concurrency;
+
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
+import dev.amir.depth_chart_manager.entity.DepthChartPositionVersion;
+import dev.amir.depth_chart_manager.metrics.DepthChartMetrics;
+import dev.amir.depth_chart_manager.repository.DepthChartPositionVersionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs depth chart writes in their own transaction while holding the lock(s) of the affected (team, position) keys.
+ * Locks are released only after the transaction has completed, so the next writer on the same key always reads
+ * committed depths.
+ * <p>
+ * In OPTIMISTIC mode no lock is taken. Instead the write's transaction increments the {@link DepthChartPositionVersion}
+ * of each key on commit, so a write that raced another one on a key fails its commit, rolls back and is retried with
+ * jittered exponential backoff, up to {@code max-attempts}. This also holds between instances sharing the database.
+ * <p>
+ * The time spent waiting for the locks, the writes rolled back by an optimistic lock conflict and the retries are
+ * recorded in {@link DepthChartMetrics}.
+ */
+@Component
+@Slf4j
+public class DepthChartWriteCoordinator {
+
+    private static final Comparator<DepthChartKey> KEY_ORDER = Comparator.comparing(DepthChartKey::teamId)
+            .thenComparing(DepthChartKey::position);
+
+    private final ConcurrencyMode mode;
+    private final Lock[] stripes;
+    private final TransactionTemplate transactionTemplate;
+    private final DepthChartPositionVersionRepository versionRepository;
+    private final DepthChartMetrics metrics;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public DepthChartWriteCoordinator(DepthChartProperties properties, PlatformTransactionManager transactionManager,
+                                      DepthChartPositionVersionRepository versionRepository, DepthChartMetrics metrics) {
+        DepthChartProperties.Concurrency concurrency = properties.getConcurrency();
+        this.mode = concurrency.getMode();
+        this.stripes = createStripes(mode == ConcurrencyMode.GLOBAL ? 1 : concurrency.getLockStripes());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.versionRepository = versionRepository;
+        this.metrics = metrics;
+        this.maxAttempts = Math.max(1, concurrency.getMaxAttempts());
+        this.initialBackoffMillis = concurrency.getInitialBackoff().toMillis();
+        this.maxBackoffMillis = concurrency.getMaxBackoff().toMillis();
+        if (mode == ConcurrencyMode.OPTIMISTIC) {
+            log.info("Depth chart writes coordinated in {} mode with up to {} attempts", mode, maxAttempts);
+        } else {
+            log.info("Depth chart writes coordinated in {} mode with {} lock(s)", mode, stripes.length);
+        }
+    }
+
+    public void run(DepthChartKey key, Runnable work) {
+        run(List.of(key), work);
+    }
+
+    public void run(Collection<DepthChartKey> keys, Runnable work) {
+        execute(keys, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public <T> T execute(DepthChartKey key, Supplier<T> work) {
+        return execute(List.of(key), work);
+    }
+
+    public <T> T execute(Collection<DepthChartKey> keys, Supplier<T> work) {
+        if (mode == ConcurrencyMode.OPTIMISTIC) {
+            return executeOptimistically(keys, work);
+        }
+        List<Lock> locks = locksFor(keys);
+        long waitStart = System.nanoTime();
+        locks.forEach(Lock::lock);
+        metrics.recordLockWait(mode, System.nanoTime() - waitStart);
+        try {
+            return transactionTemplate.execute(status -> work.get());
+        } catch (OptimisticLockingFailureException ex) {
+            metrics.recordOptimisticLockConflict(conflictingEntity(ex));
+            throw ex;
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+
+    /**
+     * Versions are claimed in key order, so two writers of the same keys increment them in the same order on commit.
+     * Lock timeouts and deadlocks between the writers' row updates are retried like version conflicts.
+     */
+    private <T> T executeOptimistically(Collection<DepthChartKey> keys, Supplier<T> work) {
+        List<DepthChartKey> orderedKeys = keys.stream().distinct().sorted(KEY_ORDER).toList();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    orderedKeys.forEach(this::claimVersion);
+                    return work.get();
+                });
+            } catch (ConcurrencyFailureException ex) {
+                if (ex instanceof OptimisticLockingFailureException optimisticEx) {
+                    metrics.recordOptimisticLockConflict(conflictingEntity(optimisticEx));
+                }
+                boolean exhausted = attempt >= maxAttempts;
+                metrics.recordWriteRetry(exhausted);
+                if (exhausted) {
+                    log.warn("Depth chart write to {} still conflicting after {} attempts", orderedKeys, attempt);
+                    throw ex;
+                }
+                backOff(attempt, ex);
+            }
+        }
+    }
+
+    private void claimVersion(DepthChartKey key) {
+        if (versionRepository.findByTeamIdAndPosition(key.teamId(), key.position()).isPresent()) {
+            return;
+        }
+        try {
+            versionRepository.saveAndFlush(new DepthChartPositionVersion(key.teamId(), key.position()));
+        } catch (DataIntegrityViolationException ex) {
+            // another writer created the version first
+            throw new ObjectOptimisticLockingFailureException(DepthChartPositionVersion.class, key, ex);
+        }
+    }
+
+    /**
+     * Full jitter: waits a random time below the exponential backoff of the attempt.
+     */
+    private void backOff(int attempt, ConcurrencyFailureException conflict) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    /**
+     * Stripes are always acquired in ascending index order so writers touching several keys cannot deadlock.
+     */
+    private List<Lock> locksFor(Collection<DepthChartKey> keys) {
+        if (stripes.length == 1) {
+            return List.of(stripes[0]);
+        }
+        return keys.stream()
+                .mapToInt(this::stripeIndex)
+                .distinct()
+                .sorted()
+                .mapToObj(index -> stripes[index])
+                .toList();
+    }
+
+    private static String conflictingEntity(OptimisticLockingFailureException ex) {
+        if (ex instanceof ObjectOptimisticLockingFailureException objectEx && objectEx.getPersistentClassName() != null) {
+            String className = objectEx.getPersistentClassName();
+            return className.substring(className.lastIndexOf('.') + 1);
+        }
+        return "unknown";
+    }
+
+    private int stripeIndex(DepthChartKey key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    private static Lock[] createStripes(int requested) {
+        int size = requested <= 1 ? 1 : Integer.highestOneBit(requested - 1) << 1;
+        Lock[] locks = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+}
@@ -0,0 +1,189 @@
+package dev.amir.depth_chart_manager.config;
+
+import dev.amir.depth_chart_manager.concurrency.ConcurrencyMode;
+import dev.amir.depth_chart_manager.model.enums.DepthChartEngine;
+import dev.amir.depth_chart_manager.model.enums.DepthChartOrdering;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "depth-chart")
+public class DepthChartProperties {
+
+    /**
+     * JPA reads and writes every operation through the database, IN_MEMORY serves them from per-team primitive arrays
+     * and writes changed positions back to the database asynchronously.
+     */
+    private DepthChartEngine engine = DepthChartEngine.JPA;
+
+    /**
+     * DENSE keeps {@code position_depth} at 1..N, shifting the rows below every insert and removal. SPARSE stores
+     * gapped ranks there, so an insert or removal writes only its own row, and derives the depths when reading; it
+     * applies to the JPA engine, and going back to DENSE needs the positions renumbered.
+     */
+    private DepthChartOrdering ordering = DepthChartOrdering.DENSE;
+
+    private Concurrency concurrency = new Concurrency();
+    private Cache cache = new Cache();
+    private RosterImport rosterImport = new RosterImport();
+    private Logging logging = new Logging();
+    private ChangeFeed changeFeed = new ChangeFeed();
+    private WriteBehind writeBehind = new WriteBehind();
+    private History history = new History();
+    private Invalidation invalidation = new Invalidation();
+
+    @Data
+    public static class Concurrency {
+        /**
+         * GLOBAL serializes every depth chart write in the JVM, STRIPED only serializes writes sharing a (team, position),
+         * OPTIMISTIC takes no JVM lock and retries writes that lose a (team, position) version conflict, which also
+         * holds across instances.
+         */
+        private ConcurrencyMode mode = ConcurrencyMode.STRIPED;
+
+        /**
+         * Number of locks (rounded up to a power of two) the (team, position) keys are spread over in STRIPED mode.
+         */
+        private int lockStripes = 64;
+
+        /**
+         * Attempts of an OPTIMISTIC write, including the first, before its conflict is returned to the caller.
+         */
+        private int maxAttempts = 5;
+
+        /**
+         * Backoff before the first OPTIMISTIC retry; it doubles with every retry up to {@code max-backoff}, and each
+         * wait is drawn at random below it so conflicting writers do not retry in lockstep.
+         */
+        private Duration initialBackoff = Duration.ofMillis(10);
+
+        private Duration maxBackoff = Duration.ofMillis(200);
+    }
+
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of team depth charts kept in memory; the least recently used team is evicted first.
+         */
+        private int maxTeams = 64;
+
+        /**
+         * Time after which a cached team depth chart is reloaded even without a write; zero disables expiry.
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class RosterImport {
+        /**
+         * Number of records written per transaction during a roster import.
+         */
+        private int chunkSize = 1000;
+
+        /**
+         * CSV or NDJSON roster file imported on startup when set.
+         */
+        private String file;
+    }
+
+    @Data
+    public static class Logging {
+        /**
+         * Dump the full depth chart at DEBUG on every n-th getFullDepthChart call; 1 dumps every call, 0 never dumps.
+         */
+        private int chartDumpInterval = 100;
+    }
+
+    @Data
+    public static class ChangeFeed {
+        /**
+         * Number of most recent changes kept for subscribers reconnecting with a Last-Event-ID.
+         */
+        private int replayBufferSize = 1024;
+
+        /**
+         * Changes queued for a single subscriber before it is considered too slow and disconnected.
+         */
+        private int subscriberQueueSize = 256;
+
+        /**
+         * Time after which a subscription is closed and has to be resumed by the client.
+         */
+        private Duration timeout = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class WriteBehind {
+        /**
+         * How often the IN_MEMORY engine writes the positions changed since the last flush to the database, each once;
+         * zero writes every change as soon as possible.
+         */
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        private Journal journal = new Journal();
+    }
+
+    @Data
+    public static class Journal {
+        /**
+         * Append every change to a local journal before acknowledging it, and replay what was not flushed on startup.
+         */
+        private boolean enabled = false;
+
+        private String directory = "data/journal";
+
+        /**
+         * Force every journal append to disk; without it a crash of the machine, rather than the process, can lose the
+         * last appends.
+         */
+        private boolean fsync = true;
+
+        /**
+         * How often a flush also writes a snapshot of every team in memory, which startup loads before replaying the
+         * journal after it; zero disables snapshots and startup loads teams from the database.
+         */
+        private Duration snapshotInterval = Duration.ofMinutes(1);
+    }
+
+    @Data
+    public static class History {
+        /**
+         * Record every committed change of a position, for reading a team's depth chart as of a past instant. Off by
+         * default, as every write then also reads its whole position back and inserts a revision before it commits.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of revisions of a team after which its whole depth chart is checkpointed, which bounds the revisions
+         * a point-in-time read applies.
+         */
+        private int checkpointInterval = 100;
+
+        /**
+         * How far behind the latest revision a checkpoint is taken; longer than any write transaction, so no revision
+         * recorded before a checkpoint commits after it.
+         */
+        private Duration checkpointLag = Duration.ofMinutes(1);
+    }
+
+    @Data
+    public static class Invalidation {
+        /**
+         * Notify the other instances of every committed depth chart write through Postgres LISTEN/NOTIFY, and drop
+         * their cached copies of the team when they are notified.
+         */
+        private boolean enabled = false;
+
+        private String channel = "depth_chart_changed";
+
+        /**
+         * Wait before reconnecting the listener after its connection failed; every cached chart is dropped on
+         * reconnecting, since notifications sent in between are lost.
+         */
+        private Duration reconnectDelay = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,23 @@
+package dev.amir.depth_chart_manager.controller;
+
+import dev.amir.depth_chart_manager.cache.CacheStats;
+import dev.amir.depth_chart_manager.cache.DepthChartCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/cache")
+public class CacheController {
+
+    private final DepthChartCache depthChartCache;
+
+    public CacheController(DepthChartCache depthChartCache) {
+        this.depthChartCache = depthChartCache;
+    }
+
+    @GetMapping("/depthchart/stats")
+    public CacheStats getDepthChartCacheStats() {
+        return depthChartCache.stats();
+    }
+}
@@ -0,0 +1,28 @@
+package dev.amir.depth_chart_manager.controller;
+
+import dev.amir.depth_chart_manager.feed.DepthChartChangeFeed;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent event stream of every committed add and remove, for consumers that would otherwise poll the depth charts.
+ */
+@RestController
+@RequestMapping("/feed/depthchart")
+public class DepthChartChangeFeedController {
+
+    private final DepthChartChangeFeed changeFeed;
+
+    public DepthChartChangeFeedController(DepthChartChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeFeed.subscribe(lastEventId);
+    }
+}
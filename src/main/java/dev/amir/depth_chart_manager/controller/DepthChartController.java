@@ -1,12 +1,21 @@
 package dev.amir.depth_chart_manager.controller;
 
+import dev.amir.depth_chart_manager.cache.DepthChartVersions;
 import dev.amir.depth_chart_manager.entity.DepthChart;
 import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.dto.DepthChartOperation;
 import dev.amir.depth_chart_manager.model.enums.Position;
+import dev.amir.depth_chart_manager.service.DepthChartHistoryService;
 import dev.amir.depth_chart_manager.service.DepthChartService;
 import dev.amir.depth_chart_manager.service.PlayerService;
+import dev.amir.depth_chart_manager.service.TeamService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -16,11 +25,18 @@ import java.util.Optional;
 public class DepthChartController {
 
     private final DepthChartService depthChartService;
+    private final DepthChartHistoryService depthChartHistoryService;
     private final PlayerService playerService;
+    private final TeamService teamService;
+    private final DepthChartVersions depthChartVersions;
 
-    public DepthChartController(DepthChartService depthChartService, PlayerService playerService) {
+    public DepthChartController(DepthChartService depthChartService, DepthChartHistoryService depthChartHistoryService,
+                                PlayerService playerService, TeamService teamService, DepthChartVersions depthChartVersions) {
         this.depthChartService = depthChartService;
+        this.depthChartHistoryService = depthChartHistoryService;
         this.playerService = playerService;
+        this.teamService = teamService;
+        this.depthChartVersions = depthChartVersions;
     }
 
     @PostMapping("/add")
@@ -30,8 +46,20 @@ public class DepthChartController {
             @RequestBody Player player,
             @RequestParam(required = false) Integer positionDepth) {
 
-        playerService.savePlayer(player);
-        depthChartService.addPlayerToDepthChart(player.getPosition(), player, positionDepth);
+        Team depthChartTeam = teamService.findOrCreateTeam(sport, team);
+        player.setTeam(depthChartTeam);
+        Player savedPlayer = playerService.savePlayer(player);
+        depthChartService.addPlayerToDepthChart(depthChartTeam, player.getPosition(), savedPlayer, positionDepth);
+    }
+
+    @PostMapping("/batch")
+    public Map<Position, List<Player>> applyDepthChartOperations(
+            @PathVariable String sport,
+            @PathVariable String team,
+            @RequestBody List<DepthChartOperation> operations) {
+
+        Team depthChartTeam = teamService.findOrCreateTeam(sport, team);
+        return depthChartService.applyDepthChartOperations(depthChartTeam, operations);
     }
 
     @DeleteMapping("/remove")
@@ -39,21 +67,107 @@ public class DepthChartController {
             @PathVariable String sport,
             @PathVariable String team,
             @RequestBody Player player) {
-        return depthChartService.removePlayerFromDepthChart(player.getPosition(), player);
+        return teamService.findTeam(sport, team)
+                .flatMap(depthChartTeam -> depthChartService.removePlayerFromDepthChart(depthChartTeam, player.getPosition(), player));
+    }
+
+    /**
+     * Every position the player holds with their depth there.
+     */
+    @GetMapping("/player/{number}")
+    public Map<Position, Integer> getPlayerPositions(
+            @PathVariable String sport,
+            @PathVariable String team,
+            @PathVariable Long number) {
+        return teamService.findTeam(sport, team)
+                .map(depthChartTeam -> depthChartService.getPlayerPositions(depthChartTeam, number))
+                .orElse(Map.of());
+    }
+
+    /**
+     * Removes the player from every position they hold in one transaction, e.g. after an injury, and returns the
+     * removed rows.
+     */
+    @DeleteMapping("/player/{number}")
+    public List<DepthChart> removePlayerFromAllDepthCharts(
+            @PathVariable String sport,
+            @PathVariable String team,
+            @PathVariable Long number) {
+        return teamService.findTeam(sport, team)
+                .map(depthChartTeam -> depthChartService.removePlayerFromAllDepthCharts(depthChartTeam, number))
+                .orElse(List.of());
     }
 
+    /**
+     * Moves a player already in the depth chart to {@code positionDepth}, or to the end without one, in place.
+     */
+    @PutMapping("/move")
+    public Optional<DepthChart> movePlayerInDepthChart(
+            @PathVariable String sport,
+            @PathVariable String team,
+            @RequestBody Player player,
+            @RequestParam(required = false) Integer positionDepth) {
+        return teamService.findTeam(sport, team)
+                .flatMap(depthChartTeam -> depthChartService.movePlayerInDepthChart(depthChartTeam, player.getPosition(), player, positionDepth));
+    }
+
+    /**
+     * Exchanges the depths of the two players of one position in the body.
+     */
+    @PutMapping("/swap")
+    public List<DepthChart> swapPlayersInDepthChart(
+            @PathVariable String sport,
+            @PathVariable String team,
+            @RequestBody List<Player> players) {
+        if (players.size() != 2 || players.get(0).getPosition() != players.get(1).getPosition()) {
+            throw new IllegalArgumentException("A swap takes two players of the same position");
+        }
+        return teamService.findTeam(sport, team)
+                .map(depthChartTeam -> depthChartService.swapPlayersInDepthChart(depthChartTeam, players.get(0).getPosition(), players.get(0), players.get(1)))
+                .orElse(List.of());
+    }
+
+    /**
+     * The ETag covers the team's chart version and the requested player, since the body and not the URL selects them.
+     * Returns {@code null} once a matching {@code If-None-Match} has turned the response into a 304.
+     */
     @GetMapping("/backups")
-    public List<Player> getBackups(
+    public List<DepthChartEntry> getBackups(
             @PathVariable String sport,
             @PathVariable String team,
-            @RequestBody Player player) {
-        return depthChartService.getBackups(player.getPosition(), player);
+            @RequestBody Player player,
+            WebRequest request) {
+        Optional<Team> depthChartTeam = teamService.findTeam(sport, team);
+        if (depthChartTeam.isEmpty()) {
+            return List.of();
+        }
+        String etag = depthChartVersions.tagOf(depthChartTeam.get().getId()) + "-" + player.getPosition() + "-" + player.getNumber();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return depthChartService.getBackups(depthChartTeam.get(), player.getPosition(), player);
     }
 
+    /**
+     * With {@code asOf}, an ISO-8601 instant, returns the chart as it was then from the depth chart history. Otherwise
+     * returns the current chart, or {@code null} once a matching {@code If-None-Match} has turned the response into a 304.
+     */
     @GetMapping("/full")
-    public Map<Position, List<Player>> getFullDepthChart(
+    public Map<Position, List<DepthChartEntry>> getFullDepthChart(
             @PathVariable String sport,
-            @PathVariable String team) {
-        return depthChartService.getFullDepthChart();
+            @PathVariable String team,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant asOf,
+            WebRequest request) {
+        Optional<Team> depthChartTeam = teamService.findTeam(sport, team);
+        if (depthChartTeam.isEmpty()) {
+            return Map.of();
+        }
+        if (asOf != null) {
+            return depthChartHistoryService.getFullDepthChartAsOf(depthChartTeam.get(), asOf);
+        }
+        if (request.checkNotModified(depthChartVersions.tagOf(depthChartTeam.get().getId()))) {
+            return null;
+        }
+        return depthChartService.getFullDepthChart(depthChartTeam.get());
     }
 }
@@ -0,0 +1,28 @@
+package dev.amir.depth_chart_manager.controller;
+
+import dev.amir.depth_chart_manager.service.DepthChartExportService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Streams a whole league's depth charts as newline-delimited JSON, one line per (team, position), written while the
+ * rows are still being read.
+ */
+@RestController
+@RequestMapping("/export/depthchart")
+public class DepthChartExportController {
+
+    private final DepthChartExportService depthChartExportService;
+
+    public DepthChartExportController(DepthChartExportService depthChartExportService) {
+        this.depthChartExportService = depthChartExportService;
+    }
+
+    @GetMapping(value = "/{sport}", produces = "application/x-ndjson")
+    public StreamingResponseBody exportLeague(@PathVariable String sport) {
+        return outputStream -> depthChartExportService.exportLeague(sport, outputStream);
+    }
+}
@@ -0,0 +1,35 @@
+package dev.amir.depth_chart_manager.controller;
+
+import dev.amir.depth_chart_manager.importer.ImportFormat;
+import dev.amir.depth_chart_manager.model.dto.ImportResult;
+import dev.amir.depth_chart_manager.service.RosterImportService;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Accepts a whole league's roster as the raw request body, which is parsed while it is being uploaded.
+ */
+@RestController
+@RequestMapping("/import/roster")
+public class RosterImportController {
+
+    private final RosterImportService rosterImportService;
+
+    public RosterImportController(RosterImportService rosterImportService) {
+        this.rosterImportService = rosterImportService;
+    }
+
+    @PostMapping(consumes = "text/csv")
+    public ImportResult importCsvRoster(InputStream body) throws IOException {
+        return rosterImportService.importRoster(ImportFormat.CSV, body);
+    }
+
+    @PostMapping(consumes = "application/x-ndjson")
+    public ImportResult importNdjsonRoster(InputStream body) throws IOException {
+        return rosterImportService.importRoster(ImportFormat.NDJSON, body);
+    }
+}
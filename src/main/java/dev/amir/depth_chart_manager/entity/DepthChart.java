@@ -9,6 +9,9 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "depth_chart", uniqueConstraints = {
         @UniqueConstraint(name = "UNQ_TEAM_POSITION_PLAYERNUMBER", columnNames = {"team_id", "position", "player_id"})
+}, indexes = {
+        @Index(name = "IDX_TEAM_POSITION_DEPTH", columnList = "team_id, position, position_depth"),
+        @Index(name = "IDX_TEAM_PLAYER", columnList = "team_id, player_id")
 })
 @Data
 @NoArgsConstructor
@@ -18,20 +21,24 @@ public class DepthChart {
     private int version;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "depth_chart_seq")
+    @SequenceGenerator(name = "depth_chart_seq", sequenceName = "depth_chart_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(cascade = CascadeType.PERSIST)
+    @ManyToOne
     @JoinColumn(name = "player_id", referencedColumnName = "id")
     private Player player;
 
     @Enumerated(EnumType.STRING)
     private Position position;
 
+    /**
+     * The player's 1..N depth, or in the SPARSE ordering a rank that only sorts the rows of the position.
+     */
     private int positionDepth;
 
 
-    @ManyToOne(cascade = CascadeType.PERSIST)
+    @ManyToOne
     @JoinColumn(name = "team_id", referencedColumnName = "id", nullable = true)
     private Team team;
 }
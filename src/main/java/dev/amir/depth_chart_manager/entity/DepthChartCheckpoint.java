@@ -0,0 +1,40 @@
+package dev.amir.depth_chart_manager.entity;
+
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A team's whole depth chart as of {@code recordedAt}, folded from the {@link DepthChartRevision}s before it, so a
+ * point-in-time read starts from the last checkpoint and only applies the revisions after it.
+ */
+@Entity
+@Table(name = "depth_chart_checkpoint", indexes = {
+        @Index(name = "IDX_CHECKPOINT_TEAM_RECORDED_AT", columnList = "team_id, recorded_at")
+})
+@Data
+@NoArgsConstructor
+public class DepthChartCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "depth_chart_checkpoint_seq")
+    @SequenceGenerator(name = "depth_chart_checkpoint_seq", sequenceName = "depth_chart_checkpoint_seq", allocationSize = 1)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "team_id", referencedColumnName = "id", nullable = false)
+    private Team team;
+
+    @Column(name = "recorded_at", nullable = false)
+    private Instant recordedAt;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<Position, List<DepthChartEntry>> positions;
+}
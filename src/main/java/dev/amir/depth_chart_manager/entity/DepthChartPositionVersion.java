@@ -0,0 +1,39 @@
+package dev.amir.depth_chart_manager.entity;
+
+import dev.amir.depth_chart_manager.model.enums.Position;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Version of one (team, position) depth chart, which OPTIMISTIC writes increment on commit so that of two concurrent
+ * writers to the position, in any instance, the second to commit is rolled back.
+ */
+@Entity
+@Table(name = "depth_chart_position_version", uniqueConstraints = {
+        @UniqueConstraint(name = "UNQ_POSITION_VERSION_TEAM_POSITION", columnNames = {"team_id", "position"})
+})
+@Data
+@NoArgsConstructor
+public class DepthChartPositionVersion {
+    @Version
+    @EqualsAndHashCode.Exclude
+    private long version;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "depth_chart_position_version_seq")
+    @SequenceGenerator(name = "depth_chart_position_version_seq", sequenceName = "depth_chart_position_version_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+
+    @Enumerated(EnumType.STRING)
+    private Position position;
+
+    public DepthChartPositionVersion(Long teamId, Position position) {
+        this.teamId = teamId;
+        this.position = position;
+    }
+}
@@ -0,0 +1,42 @@
+package dev.amir.depth_chart_manager.entity;
+
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A position of a team's depth chart as it was after a committed change, with every player in depth order. Revisions
+ * are only ever inserted, so the depth chart at any point in time is the last revision of each position before it.
+ */
+@Entity
+@Table(name = "depth_chart_revision", indexes = {
+        @Index(name = "IDX_REVISION_TEAM_RECORDED_AT", columnList = "team_id, recorded_at")
+})
+@Data
+@NoArgsConstructor
+public class DepthChartRevision {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "depth_chart_revision_seq")
+    @SequenceGenerator(name = "depth_chart_revision_seq", sequenceName = "depth_chart_revision_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "team_id", referencedColumnName = "id", nullable = false)
+    private Team team;
+
+    @Enumerated(EnumType.STRING)
+    private Position position;
+
+    @Column(name = "recorded_at", nullable = false)
+    private Instant recordedAt;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    private List<DepthChartEntry> players;
+}
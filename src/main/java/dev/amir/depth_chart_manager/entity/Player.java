@@ -19,7 +19,8 @@ public class Player {
     private int version;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "player_seq")
+    @SequenceGenerator(name = "player_seq", sequenceName = "player_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -29,7 +30,7 @@ public class Player {
     @Enumerated(EnumType.STRING)
     private Position position;
 
-    @ManyToOne(cascade = CascadeType.PERSIST)
+    @ManyToOne
     @JoinColumn(name = "team_id", referencedColumnName = "id", nullable = true)
     private Team team;
 }
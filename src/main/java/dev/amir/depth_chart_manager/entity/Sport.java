@@ -7,6 +7,9 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = "UNQ_SPORTNAME", columnNames = {"name"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,7 +19,8 @@ public class Sport {
     private int version;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sport_seq")
+    @SequenceGenerator(name = "sport_seq", sequenceName = "sport_seq", allocationSize = 50)
     private Long id;
 
     private String name;
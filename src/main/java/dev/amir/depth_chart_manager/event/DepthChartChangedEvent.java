@@ -0,0 +1,10 @@
+package dev.amir.depth_chart_manager.event;
+
+import dev.amir.depth_chart_manager.model.enums.Position;
+
+/**
+ * Published by the depth chart write paths inside the write transaction; listeners that must not observe
+ * uncommitted state subscribe with {@code @TransactionalEventListener}.
+ */
+public record DepthChartChangedEvent(Long teamId, Position position) {
+}
@@ -0,0 +1,11 @@
+package dev.amir.depth_chart_manager.event;
+
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.model.enums.Position;
+
+/**
+ * Published inside the write transaction when a batch or a roster import rewrites a position as a whole, in place of a
+ * {@link PlayerDepthChangedEvent} per player.
+ */
+public record DepthChartReplacedEvent(Team team, Position position) {
+}
@@ -0,0 +1,12 @@
+package dev.amir.depth_chart_manager.event;
+
+import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.model.enums.Position;
+
+/**
+ * Published inside the write transaction when a single player enters, leaves or moves within a depth chart:
+ * {@code oldDepth} is null for an add and {@code newDepth} is null for a remove. A swap publishes one per player.
+ */
+public record PlayerDepthChangedEvent(Team team, Position position, Player player, Integer oldDepth, Integer newDepth) {
+}
@@ -1,8 +1,10 @@
 package dev.amir.depth_chart_manager.exception;
 
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -16,9 +18,27 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorMessage, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * No database connection could be obtained within the pool's connection timeout.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<String> handleDatabaseUnavailable(RuntimeException ex) {
+        return new ResponseEntity<>("Database unavailable, please retry", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * The part of the database message before the failed statement, or the whole message of a violation the service
+     * detected without a statement.
+     */
     private String extractConstraintName(DataIntegrityViolationException ex) {
         String message = ex.getMostSpecificCause().getMessage();
-        return message.substring(0, message.indexOf("SQL statement"));
+        int statementStart = message.indexOf("SQL statement");
+        return statementStart < 0 ? message : message.substring(0, statementStart);
     }
 }
 
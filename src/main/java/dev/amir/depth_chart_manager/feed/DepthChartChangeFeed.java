@@ -0,0 +1,214 @@
+package dev.amir.depth_chart_manager.feed;
+
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.event.DepthChartReplacedEvent;
+import dev.amir.depth_chart_manager.event.PlayerDepthChangedEvent;
+import dev.amir.depth_chart_manager.model.dto.DepthChartChange;
+import dev.amir.depth_chart_manager.model.dto.DepthChartReplacement;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes committed depth chart changes to server-sent event subscribers: a {@code change} per player of a single-row
+ * write, and a {@code replace} per position a batch or a roster import rewrote, after which the position has to be
+ * reloaded.
+ * <p>
+ * Each change gets the next sequence number, which is sent as the event id, and is kept in a ring buffer of the most
+ * recent changes so a client reconnecting with {@code Last-Event-ID} is replayed what it missed; when that is no longer
+ * in the buffer it is sent a {@code reset} event and has to reload the depth charts. Writers only append to a bounded
+ * queue per subscriber, which is drained by a pooled sender thread; a subscriber whose queue overflows is
+ * disconnected rather than slowing down the writers or the other subscribers, and resumes by reconnecting.
+ */
+@Component
+@Slf4j
+public class DepthChartChangeFeed {
+
+    static final String CHANGE_EVENT = "change";
+    static final String RESET_EVENT = "reset";
+    static final String REPLACE_EVENT = "replace";
+
+    private final int subscriberQueueSize;
+    private final long timeoutMillis;
+    private final FeedEvent[] replayBuffer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // platform threads: SseEmitter sends inside synchronized methods, which would pin a virtual thread on a slow socket
+    private final ExecutorService senders = Executors.newCachedThreadPool(Thread.ofPlatform().name("change-feed-", 0).daemon().factory());
+    private long sequence;
+
+    public DepthChartChangeFeed(DepthChartProperties properties) {
+        DepthChartProperties.ChangeFeed changeFeed = properties.getChangeFeed();
+        this.subscriberQueueSize = changeFeed.getSubscriberQueueSize();
+        this.timeoutMillis = changeFeed.getTimeout().toMillis();
+        this.replayBuffer = new FeedEvent[changeFeed.getReplayBufferSize()];
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        return subscribe(new SseEmitter(timeoutMillis), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, Long lastEventId) {
+        Subscriber subscriber;
+        lock.lock();
+        try {
+            subscriber = new Subscriber(emitter, lastEventId == null ? List.of() : replay(lastEventId));
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscriber.schedule();
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlayerDepthChanged(PlayerDepthChangedEvent event) {
+        Team team = event.team();
+        lock.lock();
+        try {
+            publish(new FeedEvent(CHANGE_EVENT, new DepthChartChange(++sequence, sportOf(team), team.getName(),
+                    event.position(), event.player().getNumber(), event.player().getName(), event.oldDepth(), event.newDepth())));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepthChartReplaced(DepthChartReplacedEvent event) {
+        Team team = event.team();
+        lock.lock();
+        try {
+            publish(new FeedEvent(REPLACE_EVENT, new DepthChartReplacement(++sequence, sportOf(team), team.getName(), event.position())));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    /**
+     * Buffers and queues the event holding the latest sequence; called with the lock held.
+     */
+    private void publish(FeedEvent event) {
+        replayBuffer[(int) (sequence % replayBuffer.length)] = event;
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event.toSse(sequence));
+        }
+    }
+
+    private static String sportOf(Team team) {
+        return team.getSport() == null ? null : team.getSport().getName();
+    }
+
+    private List<SseEmitter.SseEventBuilder> replay(long lastEventId) {
+        long oldest = Math.max(1, sequence - replayBuffer.length + 1);
+        if (lastEventId > sequence || lastEventId + 1 < oldest) {
+            return List.of(SseEmitter.event().id(Long.toString(sequence)).name(RESET_EVENT)
+                    .data(Map.of("sequence", sequence), MediaType.APPLICATION_JSON));
+        }
+        List<SseEmitter.SseEventBuilder> missed = new ArrayList<>();
+        for (long replayed = lastEventId + 1; replayed <= sequence; replayed++) {
+            missed.add(replayBuffer[(int) (replayed % replayBuffer.length)].toSse(replayed));
+        }
+        return missed;
+    }
+
+    /**
+     * A buffered event; its builder is created per send, as a builder cannot be sent twice.
+     */
+    private record FeedEvent(String name, Object data) {
+
+        SseEmitter.SseEventBuilder toSse(long sequence) {
+            return SseEmitter.event().id(Long.toString(sequence)).name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final int capacity;
+
+        /**
+         * The replayed backlog is queued on top of the regular capacity, so a resuming subscriber is not dropped
+         * before it has had a chance to catch up.
+         */
+        private Subscriber(SseEmitter emitter, List<SseEmitter.SseEventBuilder> backlog) {
+            this.emitter = emitter;
+            this.queue.addAll(backlog);
+            this.queued = new AtomicInteger(backlog.size());
+            this.capacity = subscriberQueueSize + backlog.size();
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (queued.incrementAndGet() > capacity) {
+                log.warn("Change feed subscriber fell {} changes behind and is disconnected", subscriberQueueSize);
+                disconnect();
+                return;
+            }
+            queue.add(event);
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (subscribers.contains(this) && (event = queue.poll()) != null) {
+                    emitter.send(event);
+                    queued.decrementAndGet();
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Change feed subscriber is gone: {}", e.getMessage());
+                subscribers.remove(this);
+            } finally {
+                draining.set(false);
+            }
+            if (!queue.isEmpty() && subscribers.contains(this)) {
+                schedule();
+            }
+        }
+
+        private void disconnect() {
+            if (subscribers.remove(this)) {
+                queue.clear();
+                emitter.complete();
+            }
+        }
+    }
+}
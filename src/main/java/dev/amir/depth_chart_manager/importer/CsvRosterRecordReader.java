@@ -0,0 +1,128 @@
+package dev.amir.depth_chart_manager.importer;
+
+import dev.amir.depth_chart_manager.model.dto.RosterRecord;
+import dev.amir.depth_chart_manager.model.enums.Position;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Reads CSV with a header row naming the columns sport, team, position, positionDepth, number and name (in any order,
+ * case-insensitive). Fields may be double-quoted, with {@code ""} escaping a quote inside a quoted field.
+ */
+class CsvRosterRecordReader implements RosterRecordReader {
+
+    private static final List<String> COLUMNS = List.of("sport", "team", "position", "positiondepth", "number", "name");
+    private static final String OPTIONAL_COLUMN = "positiondepth";
+
+    private final BufferedReader reader;
+    private final int[] columnIndexes = new int[COLUMNS.size()];
+    private String nextLine;
+    private long lineNumber = 1;
+
+    CsvRosterRecordReader(InputStream inputStream) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        readHeader();
+        this.nextLine = readDataLine();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextLine != null;
+    }
+
+    @Override
+    public RosterRecord next() {
+        if (nextLine == null) {
+            throw new NoSuchElementException();
+        }
+        List<String> fields = parseLine(nextLine);
+        try {
+            return new RosterRecord(
+                    field(fields, 0),
+                    field(fields, 1),
+                    Position.valueOf(field(fields, 2)),
+                    parseInteger(field(fields, 3)),
+                    Long.valueOf(field(fields, 4)),
+                    field(fields, 5));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid roster record on line " + lineNumber + ": " + nextLine, ex);
+        } finally {
+            nextLine = readDataLine();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("Roster import file is empty");
+        }
+        List<String> names = parseLine(header).stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            columnIndexes[i] = names.indexOf(COLUMNS.get(i));
+            if (columnIndexes[i] < 0 && !OPTIONAL_COLUMN.equals(COLUMNS.get(i))) {
+                throw new IllegalArgumentException("Roster import file has no " + COLUMNS.get(i) + " column");
+            }
+        }
+    }
+
+    private String readDataLine() {
+        try {
+            String line;
+            do {
+                line = reader.readLine();
+                lineNumber++;
+            } while (line != null && line.isBlank());
+            return line;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private String field(List<String> fields, int column) {
+        int index = columnIndexes[column];
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Integer parseInteger(String value) {
+        return value == null ? null : Integer.valueOf(value);
+    }
+
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
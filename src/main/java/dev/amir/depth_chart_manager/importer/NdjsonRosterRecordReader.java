@@ -0,0 +1,32 @@
+package dev.amir.depth_chart_manager.importer;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.amir.depth_chart_manager.model.dto.RosterRecord;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+class NdjsonRosterRecordReader implements RosterRecordReader {
+
+    private final MappingIterator<RosterRecord> records;
+
+    NdjsonRosterRecordReader(InputStream inputStream, ObjectMapper objectMapper) throws IOException {
+        this.records = objectMapper.readerFor(RosterRecord.class).readValues(inputStream);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return records.hasNext();
+    }
+
+    @Override
+    public RosterRecord next() {
+        return records.next();
+    }
+
+    @Override
+    public void close() throws IOException {
+        records.close();
+    }
+}
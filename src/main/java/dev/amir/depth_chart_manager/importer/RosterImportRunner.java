@@ -0,0 +1,40 @@
+package dev.amir.depth_chart_manager.importer;
+
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
+import dev.amir.depth_chart_manager.service.RosterImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Imports {@code depth-chart.roster-import.file} on startup, e.g. for a preseason load from the command line:
+ * {@code java -jar depth-chart-manager.jar --depth-chart.roster-import.file=league.csv --spring.main.web-application-type=none}
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "depth-chart.roster-import", name = "file")
+public class RosterImportRunner implements ApplicationRunner {
+
+    private final RosterImportService rosterImportService;
+    private final Path file;
+
+    public RosterImportRunner(RosterImportService rosterImportService, DepthChartProperties properties) {
+        this.rosterImportService = rosterImportService;
+        this.file = Path.of(properties.getRosterImport().getFile());
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        log.info("Importing roster file {}", file);
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(file))) {
+            rosterImportService.importRoster(ImportFormat.fromFileName(file.getFileName().toString()), inputStream);
+        }
+    }
+}
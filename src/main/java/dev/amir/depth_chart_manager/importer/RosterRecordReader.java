@@ -0,0 +1,22 @@
+package dev.amir.depth_chart_manager.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.amir.depth_chart_manager.model.dto.RosterRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * Reads roster records one at a time, so an import never holds more of the file in memory than the current chunk.
+ */
+public interface RosterRecordReader extends Iterator<RosterRecord>, Closeable {
+
+    static RosterRecordReader open(ImportFormat format, InputStream inputStream, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvRosterRecordReader(inputStream);
+            case NDJSON -> new NdjsonRosterRecordReader(inputStream, objectMapper);
+        };
+    }
+}
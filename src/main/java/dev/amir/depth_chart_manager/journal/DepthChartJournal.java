@@ -0,0 +1,213 @@
+package dev.amir.depth_chart_manager.journal;
+
+import dev.amir.depth_chart_manager.model.enums.Position;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Local append-only log of depth chart positions written before they reach the database. Every record is the whole
+ * position after a change, so replaying a journal only needs the last record of each position and replaying it twice
+ * does no harm.
+ * <p>
+ * The journal is split into numbered segments. {@link #rotate} starts a new segment and returns the ones before it,
+ * which are deleted once everything they record is in the database. Each record is length-prefixed and checksummed, and
+ * reading stops at the first torn record at the end of a segment.
+ */
+@Slf4j
+public class DepthChartJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "depth-chart-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long segmentNumber;
+    private FileChannel segment;
+
+    public DepthChartJournal(Path directory, boolean fsync) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.fsync = fsync;
+        this.segmentNumber = segments().stream().mapToLong(DepthChartJournal::segmentNumberOf).max().orElse(0);
+    }
+
+    /**
+     * Segments on disk in the order they were written.
+     */
+    public List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingLong(DepthChartJournal::segmentNumberOf))
+                    .toList();
+        }
+    }
+
+    public void append(Entry entry) throws IOException {
+        ByteBuffer record = encode(entry);
+        lock.lock();
+        try {
+            if (segment == null) {
+                openNextSegment();
+            }
+            while (record.hasRemaining()) {
+                segment.write(record);
+            }
+            if (fsync) {
+                segment.force(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the current segment, so the next append starts a new one, and returns every segment written so far.
+     */
+    public List<Path> rotate() throws IOException {
+        lock.lock();
+        try {
+            if (segment != null) {
+                segment.close();
+                segment = null;
+            }
+            return segments();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Numbers the next segment past the given one, so segments written after a snapshot that covers segments already
+     * deleted are not mistaken for covered ones.
+     */
+    public void numberAfter(long segmentNumber) {
+        lock.lock();
+        try {
+            this.segmentNumber = Math.max(this.segmentNumber, segmentNumber);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public static List<Entry> read(List<Path> segments) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (Path file : segments) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                while (true) {
+                    Entry entry = readRecord(in);
+                    if (entry == null) {
+                        break;
+                    }
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    public void delete(List<Path> segments) throws IOException {
+        for (Path file : segments) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (segment != null) {
+                segment.close();
+                segment = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        segmentNumber++;
+        segment = FileChannel.open(directory.resolve(SEGMENT_PREFIX + segmentNumber + SEGMENT_SUFFIX),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static ByteBuffer encode(Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + entry.players().size() * 32);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(entry.teamId());
+        out.writeUTF(entry.position().name());
+        out.writeInt(entry.players().size());
+        for (JournaledPlayer player : entry.players()) {
+            out.writeLong(player.id() == null ? -1 : player.id());
+            out.writeLong(player.number());
+            out.writeUTF(player.name() == null ? "" : player.name());
+        }
+        byte[] payload = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        record.putInt(payload.length).putLong(crc.getValue()).put(payload).flip();
+        return record;
+    }
+
+    private static Entry readRecord(DataInputStream in) throws IOException {
+        byte[] payload;
+        long checksum;
+        try {
+            int length = in.readInt();
+            checksum = in.readLong();
+            payload = in.readNBytes(length);
+            if (payload.length < length) {
+                log.warn("Ignoring torn record at the end of the depth chart journal");
+                return null;
+            }
+        } catch (EOFException e) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if (crc.getValue() != checksum) {
+            log.warn("Ignoring corrupt record at the end of the depth chart journal");
+            return null;
+        }
+
+        DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+        long teamId = record.readLong();
+        Position position = Position.valueOf(record.readUTF());
+        int size = record.readInt();
+        List<JournaledPlayer> players = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long id = record.readLong();
+            players.add(new JournaledPlayer(id < 0 ? null : id, record.readLong(), record.readUTF()));
+        }
+        return new Entry(teamId, position, players);
+    }
+
+    public static long segmentNumberOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * A position of a team after a change, with its players in depth order.
+     */
+    public record Entry(long teamId, Position position, List<JournaledPlayer> players) {
+    }
+
+    public record JournaledPlayer(Long id, Long number, String name) {
+    }
+}
@@ -0,0 +1,135 @@
+package dev.amir.depth_chart_manager.journal;
+
+import dev.amir.depth_chart_manager.model.enums.Position;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary image of every team's depth chart, written and read through memory-mapped files. It records the
+ * last {@link DepthChartJournal} segment it covers, so a warm start loads the snapshot and only replays the segments
+ * after it.
+ * <p>
+ * Layout: magic, format version, covered segment, team count, then per team its id and positions, per position its
+ * ordinal and players (id, number, UTF-8 name), and a CRC32 of everything before it. A snapshot is written to a
+ * temporary file and moved over the previous one, so a crash while writing leaves the previous snapshot in place.
+ */
+@Slf4j
+public final class DepthChartSnapshot {
+
+    private static final int MAGIC = 0x44434853;
+    private static final int FORMAT_VERSION = 1;
+    private static final Position[] POSITIONS = Position.values();
+
+    private DepthChartSnapshot() {
+    }
+
+    public static void write(Path file, Contents contents) throws IOException {
+        Map<DepthChartJournal.JournaledPlayer, byte[]> names = new IdentityHashMap<>();
+        long size = Integer.BYTES * 3L + Long.BYTES;
+        for (Map<Position, List<DepthChartJournal.JournaledPlayer>> positions : contents.teams().values()) {
+            size += Long.BYTES + Integer.BYTES;
+            for (List<DepthChartJournal.JournaledPlayer> players : positions.values()) {
+                size += Byte.BYTES + Integer.BYTES;
+                for (DepthChartJournal.JournaledPlayer player : players) {
+                    byte[] name = (player.name() == null ? "" : player.name()).getBytes(StandardCharsets.UTF_8);
+                    names.put(player, name);
+                    size += Long.BYTES * 2 + Integer.BYTES + name.length;
+                }
+            }
+        }
+        size += Long.BYTES;
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(contents.coveredSegment()).putInt(contents.teams().size());
+            for (Map.Entry<Long, Map<Position, List<DepthChartJournal.JournaledPlayer>>> team : contents.teams().entrySet()) {
+                buffer.putLong(team.getKey()).putInt(team.getValue().size());
+                for (Map.Entry<Position, List<DepthChartJournal.JournaledPlayer>> position : team.getValue().entrySet()) {
+                    buffer.put((byte) position.getKey().ordinal()).putInt(position.getValue().size());
+                    for (DepthChartJournal.JournaledPlayer player : position.getValue()) {
+                        byte[] name = names.get(player);
+                        buffer.putLong(player.id() == null ? -1 : player.id()).putLong(player.number())
+                                .putInt(name.length).put(name);
+                    }
+                }
+            }
+            buffer.putLong(checksum(buffer, buffer.position()));
+            buffer.force();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * The snapshot in {@code file}, or empty when there is none or it cannot be trusted.
+     */
+    public static Optional<Contents> read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < Long.BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != FORMAT_VERSION) {
+                log.warn("Ignoring depth chart snapshot {} with an unknown format", file);
+                return Optional.empty();
+            }
+            int checksummed = buffer.limit() - Long.BYTES;
+            if (buffer.getLong(checksummed) != checksum(buffer, checksummed)) {
+                log.warn("Ignoring depth chart snapshot {} with a wrong checksum", file);
+                return Optional.empty();
+            }
+
+            buffer.position(Integer.BYTES * 2);
+            long coveredSegment = buffer.getLong();
+            int teamCount = buffer.getInt();
+            Map<Long, Map<Position, List<DepthChartJournal.JournaledPlayer>>> teams = new HashMap<>(teamCount * 2);
+            for (int t = 0; t < teamCount; t++) {
+                long teamId = buffer.getLong();
+                int positionCount = buffer.getInt();
+                Map<Position, List<DepthChartJournal.JournaledPlayer>> positions = new EnumMap<>(Position.class);
+                for (int p = 0; p < positionCount; p++) {
+                    Position position = POSITIONS[buffer.get()];
+                    int playerCount = buffer.getInt();
+                    List<DepthChartJournal.JournaledPlayer> players = new ArrayList<>(playerCount);
+                    for (int i = 0; i < playerCount; i++) {
+                        long id = buffer.getLong();
+                        long number = buffer.getLong();
+                        byte[] name = new byte[buffer.getInt()];
+                        buffer.get(name);
+                        players.add(new DepthChartJournal.JournaledPlayer(id < 0 ? null : id, number, new String(name, StandardCharsets.UTF_8)));
+                    }
+                    positions.put(position, players);
+                }
+                teams.put(teamId, positions);
+            }
+            return Optional.of(new Contents(coveredSegment, teams));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            log.warn("Ignoring truncated depth chart snapshot {}", file);
+            return Optional.empty();
+        }
+    }
+
+    private static long checksum(MappedByteBuffer buffer, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, length));
+        return crc.getValue();
+    }
+
+    /**
+     * Every team's positions with their players in depth order, as of the end of {@code coveredSegment}.
+     */
+    public record Contents(long coveredSegment, Map<Long, Map<Position, List<DepthChartJournal.JournaledPlayer>>> teams) {
+    }
+}
@@ -0,0 +1,39 @@
+package dev.amir.depth_chart_manager.metrics;
+
+import dev.amir.depth_chart_manager.cache.DepthChartCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the {@link DepthChartCache} counters that are also served by {@code /cache/depthchart/stats}.
+ */
+@Component
+public class DepthChartCacheMetrics implements MeterBinder {
+
+    private final DepthChartCache depthChartCache;
+
+    public DepthChartCacheMetrics(DepthChartCache depthChartCache) {
+        this.depthChartCache = depthChartCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("depthchart.cache.requests", depthChartCache, cache -> cache.stats().hits())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("depthchart.cache.requests", depthChartCache, cache -> cache.stats().misses())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("depthchart.cache.evictions", depthChartCache, cache -> cache.stats().evictions())
+                .register(registry);
+        FunctionCounter.builder("depthchart.cache.invalidations", depthChartCache, cache -> cache.stats().invalidations())
+                .register(registry);
+        FunctionCounter.builder("depthchart.cache.coalesced", depthChartCache, cache -> cache.stats().coalesced())
+                .register(registry);
+        Gauge.builder("depthchart.cache.size", depthChartCache, cache -> cache.stats().size())
+                .register(registry);
+    }
+}
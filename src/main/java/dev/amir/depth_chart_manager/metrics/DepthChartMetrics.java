@@ -0,0 +1,89 @@
+package dev.amir.depth_chart_manager.metrics;
+
+import dev.amir.depth_chart_manager.concurrency.ConcurrencyMode;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Depth chart meters. Latency histograms and percentiles are not fixed here; they are switched on per meter name
+ * through {@code management.metrics.distribution.*}.
+ */
+@Component
+public class DepthChartMetrics {
+
+    public static final String OPERATION_TIMER = "depthchart.operation";
+    public static final String ROWS_SHIFTED = "depthchart.rows.shifted";
+    public static final String LOCK_WAIT_TIMER = "depthchart.lock.wait";
+    public static final String OPTIMISTIC_LOCK_CONFLICTS = "depthchart.optimistic.lock.conflicts";
+    public static final String WRITE_RETRIES = "depthchart.write.retries";
+
+    /** Position tag of the operations that span all positions of a team. */
+    public static final String ALL_POSITIONS = "ALL";
+
+    private final MeterRegistry registry;
+    private final Meter.MeterProvider<Timer> operationTimer;
+    private final Meter.MeterProvider<DistributionSummary> rowsShifted;
+    private final Meter.MeterProvider<Timer> lockWaitTimer;
+    private final Meter.MeterProvider<Counter> optimisticLockConflicts;
+    private final Meter.MeterProvider<Counter> writeRetries;
+
+    public DepthChartMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.operationTimer = Timer.builder(OPERATION_TIMER)
+                .description("Latency of the depth chart service operations")
+                .withRegistry(registry);
+        this.rowsShifted = DistributionSummary.builder(ROWS_SHIFTED)
+                .description("Depth chart rows whose depth was shifted by a single add or remove")
+                .baseUnit("rows")
+                .withRegistry(registry);
+        this.lockWaitTimer = Timer.builder(LOCK_WAIT_TIMER)
+                .description("Time depth chart writes waited for their (team, position) locks")
+                .withRegistry(registry);
+        this.optimisticLockConflicts = Counter.builder(OPTIMISTIC_LOCK_CONFLICTS)
+                .description("Depth chart writes rolled back by a @Version conflict")
+                .withRegistry(registry);
+        this.writeRetries = Counter.builder(WRITE_RETRIES)
+                .description("OPTIMISTIC depth chart writes retried after a conflict, or given up on after the last attempt")
+                .withRegistry(registry);
+    }
+
+    public <T> T timeOperation(String operation, Position position, Supplier<T> action) {
+        return timeOperation(operation, position.name(), action);
+    }
+
+    public <T> T timeOperation(String operation, String position, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "ERROR";
+        try {
+            T result = action.get();
+            outcome = "SUCCESS";
+            return result;
+        } finally {
+            sample.stop(operationTimer.withTags("operation", operation, "position", position, "outcome", outcome));
+        }
+    }
+
+    public void recordRowsShifted(String operation, Position position, int rows) {
+        rowsShifted.withTags("operation", operation, "position", position.name()).record(rows);
+    }
+
+    public void recordLockWait(ConcurrencyMode mode, long waitNanos) {
+        lockWaitTimer.withTags("mode", mode.name()).record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordOptimisticLockConflict(String entity) {
+        optimisticLockConflicts.withTags("entity", entity).increment();
+    }
+
+    public void recordWriteRetry(boolean exhausted) {
+        writeRetries.withTags("outcome", exhausted ? "exhausted" : "retried").increment();
+    }
+}
@@ -0,0 +1,11 @@
+package dev.amir.depth_chart_manager.model.dto;
+
+import dev.amir.depth_chart_manager.model.enums.Position;
+
+/**
+ * One committed depth chart change as pushed to change feed subscribers. The sequence increases by one per change,
+ * so a subscriber can resume from the last sequence it has seen.
+ */
+public record DepthChartChange(long sequence, String sport, String team, Position position, Long number, String name,
+                               Integer oldDepth, Integer newDepth) {
+}
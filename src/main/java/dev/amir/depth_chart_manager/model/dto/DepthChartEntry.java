@@ -0,0 +1,11 @@
+package dev.amir.depth_chart_manager.model.dto;
+
+import dev.amir.depth_chart_manager.model.enums.Position;
+
+/**
+ * Read model of one depth chart row: the player's id, number and name at a depth of a position, without the entity
+ * graph of the player's team and sport. Both {@code full} and {@code backups} respond with it, whichever engine or
+ * cache setting serves them.
+ */
+public record DepthChartEntry(Position position, Integer positionDepth, Long playerId, Long number, String name) {
+}
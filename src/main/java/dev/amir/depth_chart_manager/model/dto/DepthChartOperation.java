@@ -0,0 +1,22 @@
+package dev.amir.depth_chart_manager.model.dto;
+
+import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.model.enums.OperationType;
+import dev.amir.depth_chart_manager.model.enums.Position;
+
+/**
+ * One step of a batch: ADD puts the player at {@code positionDepth} (or the end), REMOVE takes them out and MOVE puts a
+ * player already in the depth chart at {@code positionDepth} (or the end).
+ */
+public record DepthChartOperation(OperationType type, Position position, Player player, Integer positionDepth) {
+
+    public DepthChartOperation {
+        if (position == null && player != null) {
+            position = player.getPosition();
+        }
+    }
+
+    public DepthChartOperation withPlayer(Player player) {
+        return new DepthChartOperation(type, position, player, positionDepth);
+    }
+}
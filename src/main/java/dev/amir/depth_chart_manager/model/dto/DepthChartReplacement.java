@@ -0,0 +1,10 @@
+package dev.amir.depth_chart_manager.model.dto;
+
+import dev.amir.depth_chart_manager.model.enums.Position;
+
+/**
+ * A committed rewrite of a whole position, by a batch or a roster import, as pushed to change feed subscribers; they
+ * have to reload the position. Shares its sequence with the {@link DepthChartChange}s.
+ */
+public record DepthChartReplacement(long sequence, String sport, String team, Position position) {
+}
@@ -0,0 +1,4 @@
+package dev.amir.depth_chart_manager.model.dto;
+
+public record ImportResult(long records, long players, long depthCharts, int teams, long elapsedMillis) {
+}
@@ -0,0 +1,9 @@
+package dev.amir.depth_chart_manager.model.dto;
+
+import dev.amir.depth_chart_manager.model.enums.Position;
+
+/**
+ * Read model of one depth chart row of a league export: a {@link DepthChartEntry} together with the name of its team.
+ */
+public record LeagueDepthChartEntry(String team, Position position, Integer positionDepth, Long number, String name) {
+}
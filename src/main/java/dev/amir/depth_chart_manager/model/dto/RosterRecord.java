@@ -0,0 +1,10 @@
+package dev.amir.depth_chart_manager.model.dto;
+
+import dev.amir.depth_chart_manager.model.enums.Position;
+
+/**
+ * One line of a roster import file: a player of a team and the depth they hold at a position. A missing
+ * {@code positionDepth} puts the player after everyone already imported for that team and position.
+ */
+public record RosterRecord(String sport, String team, Position position, Integer positionDepth, Long number, String name) {
+}
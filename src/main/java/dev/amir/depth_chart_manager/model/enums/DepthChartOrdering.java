@@ -0,0 +1,5 @@
+package dev.amir.depth_chart_manager.model.enums;
+
+public enum DepthChartOrdering {
+    DENSE, SPARSE
+}
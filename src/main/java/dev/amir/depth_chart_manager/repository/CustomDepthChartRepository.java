@@ -1,9 +1,9 @@
 package dev.amir.depth_chart_manager.repository;
 
 import dev.amir.depth_chart_manager.entity.DepthChart;
+import dev.amir.depth_chart_manager.entity.Team;
 import dev.amir.depth_chart_manager.model.enums.Position;
 
 public interface CustomDepthChartRepository {
-    DepthChart deleteAndReturnByPositionAndPlayerNumber(Position position, Long playerNumber);
+    DepthChart deleteAndReturnByTeamAndPositionAndPlayerNumber(Team team, Position position, Long playerNumber);
 }
-
@@ -1,6 +1,7 @@
 package dev.amir.depth_chart_manager.repository;
 
 import dev.amir.depth_chart_manager.entity.DepthChart;
+import dev.amir.depth_chart_manager.entity.Team;
 import dev.amir.depth_chart_manager.model.enums.Position;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -23,8 +24,8 @@ public class CustomDepthChartRepositoryImpl implements CustomDepthChartRepositor
 
     @Override
     @Transactional
-    public DepthChart deleteAndReturnByPositionAndPlayerNumber(Position position, Long playerNumber) {
-        Optional<DepthChart> depthChart = depthChartRepository.findByPositionAndPlayerNumber(position, playerNumber);
+    public DepthChart deleteAndReturnByTeamAndPositionAndPlayerNumber(Team team, Position position, Long playerNumber) {
+        Optional<DepthChart> depthChart = depthChartRepository.findByTeamAndPositionAndPlayerNumber(team, position, playerNumber);
         depthChart.ifPresent(entityManager::remove);
         return depthChart.orElse(null);
     }
@@ -0,0 +1,17 @@
+package dev.amir.depth_chart_manager.repository;
+
+import dev.amir.depth_chart_manager.entity.DepthChartCheckpoint;
+import dev.amir.depth_chart_manager.entity.Team;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface DepthChartCheckpointRepository extends JpaRepository<DepthChartCheckpoint, Long> {
+
+    boolean existsByTeam(Team team);
+
+    Optional<DepthChartCheckpoint> findFirstByTeamAndRecordedAtLessThanEqualOrderByRecordedAtDesc(Team team, Instant until);
+}
@@ -0,0 +1,21 @@
+package dev.amir.depth_chart_manager.repository;
+
+import dev.amir.depth_chart_manager.entity.DepthChartPositionVersion;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface DepthChartPositionVersionRepository extends JpaRepository<DepthChartPositionVersion, Long> {
+
+    /**
+     * Reads the version without locking it and increments it when the transaction commits, failing the commit if
+     * another transaction incremented it in between.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    Optional<DepthChartPositionVersion> findByTeamIdAndPosition(Long teamId, Position position);
+}
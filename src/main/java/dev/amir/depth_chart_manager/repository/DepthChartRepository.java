@@ -1,19 +1,120 @@
 package dev.amir.depth_chart_manager.repository;
 
 import dev.amir.depth_chart_manager.entity.DepthChart;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.dto.LeagueDepthChartEntry;
 import dev.amir.depth_chart_manager.model.enums.Position;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface DepthChartRepository extends JpaRepository<DepthChart, Long> {
-    List<DepthChart> findByPositionOrderByPositionDepth(Position position);
+    List<DepthChart> findByTeam(Team team);
 
-    Optional<DepthChart> findByPositionAndPlayerNumber(Position position, Long playerNumber);
+    /**
+     * The team's whole depth chart as one projection query, ordered by position and depth in SQL.
+     */
+    @Query("select new dev.amir.depth_chart_manager.model.dto.DepthChartEntry(dc.position, dc.positionDepth, p.id, p.number, p.name) " +
+            "from DepthChart dc join dc.player p where dc.team = :team order by dc.position, dc.positionDepth")
+    List<DepthChartEntry> findEntriesByTeam(Team team);
 
-    List<DepthChart> findByPositionAndPositionDepthGreaterThanOrderByPositionDepth(Position position, int positionDepth);
-}
+    @Query("select new dev.amir.depth_chart_manager.model.dto.DepthChartEntry(dc.position, dc.positionDepth, p.id, p.number, p.name) " +
+            "from DepthChart dc join dc.player p where dc.team = :team and dc.position = :position order by dc.positionDepth")
+    List<DepthChartEntry> findEntriesByTeamAndPosition(Team team, Position position);
+
+    /**
+     * Every depth chart row of the sport's league as a forward-only cursor, ordered by team, position and depth so
+     * that the rows of a (team, position) arrive together. Has to be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new dev.amir.depth_chart_manager.model.dto.LeagueDepthChartEntry(t.name, dc.position, dc.positionDepth, p.number, p.name) " +
+            "from DepthChart dc join dc.team t join dc.player p where t.sport.name = :sport " +
+            "order by t.id, dc.position, dc.positionDepth")
+    Stream<LeagueDepthChartEntry> streamEntriesBySport(String sport);
+
+    List<DepthChart> findByTeamAndPositionOrderByPositionDepth(Team team, Position position);
+
+    @EntityGraph(attributePaths = "player")
+    List<DepthChart> findByTeamOrderByPositionAscPositionDepthAsc(Team team);
+
+    Optional<DepthChart> findByTeamAndPositionAndPlayerNumber(Team team, Position position, Long playerNumber);
+
+    /**
+     * Every row of the player in the team's depth chart, found through IDX_TEAM_PLAYER.
+     */
+    List<DepthChart> findByTeamAndPlayerNumberOrderByPosition(Team team, Long playerNumber);
+
+    @EntityGraph(attributePaths = "player")
+    List<DepthChart> findByTeamAndPositionAndPositionDepthGreaterThanOrderByPositionDepth(Team team, Position position, int positionDepth);
+
+    long countByTeamAndPosition(Team team, Position position);
 
+    long countByTeamAndPositionAndPositionDepthLessThan(Team team, Position position, int positionDepth);
+
+    @Query("select dc.positionDepth from DepthChart dc where dc.team = :team and dc.position = :position order by dc.positionDepth")
+    List<Integer> findDepthsByTeamAndPosition(Team team, Position position);
+
+    /**
+     * Moves every player at or below {@code positionDepth} one depth down in a single statement.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update DepthChart dc set dc.positionDepth = dc.positionDepth + 1, dc.version = dc.version + 1 " +
+            "where dc.team = :team and dc.position = :position and dc.positionDepth >= :positionDepth")
+    int shiftDepthsForwardFrom(Team team, Position position, int positionDepth);
+
+    /**
+     * Moves every player below {@code positionDepth} one depth up in a single statement.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update DepthChart dc set dc.positionDepth = dc.positionDepth - 1, dc.version = dc.version + 1 " +
+            "where dc.team = :team and dc.position = :position and dc.positionDepth > :positionDepth")
+    int shiftDepthsBackAfter(Team team, Position position, int positionDepth);
+
+    /**
+     * Moves every player from {@code fromDepth} to {@code toDepth} one depth down in a single statement.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update DepthChart dc set dc.positionDepth = dc.positionDepth + 1, dc.version = dc.version + 1 " +
+            "where dc.team = :team and dc.position = :position and dc.positionDepth between :fromDepth and :toDepth")
+    int shiftDepthsForwardBetween(Team team, Position position, int fromDepth, int toDepth);
+
+    /**
+     * Moves every player from {@code fromDepth} to {@code toDepth} one depth up in a single statement.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update DepthChart dc set dc.positionDepth = dc.positionDepth - 1, dc.version = dc.version + 1 " +
+            "where dc.team = :team and dc.position = :position and dc.positionDepth between :fromDepth and :toDepth")
+    int shiftDepthsBackBetween(Team team, Position position, int fromDepth, int toDepth);
+
+    /**
+     * Moves every player below the given player one depth up, in every one of {@code positions} the player holds, in a
+     * single statement; has to run before the player's rows are deleted.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update DepthChart dc set dc.positionDepth = dc.positionDepth - 1, dc.version = dc.version + 1 " +
+            "where dc.team = :team and dc.position in :positions and exists (select 1 from DepthChart removed " +
+            "where removed.team = dc.team and removed.position = dc.position and removed.player.number = :playerNumber " +
+            "and removed.positionDepth < dc.positionDepth)")
+    int shiftDepthsBackAfterPlayer(Team team, Collection<Position> positions, Long playerNumber);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from DepthChart dc where dc.team = :team and dc.position in :positions")
+    int deleteByTeamAndPositionInBulk(Team team, Collection<Position> positions);
+}
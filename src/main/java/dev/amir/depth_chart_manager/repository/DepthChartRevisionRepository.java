@@ -0,0 +1,19 @@
+package dev.amir.depth_chart_manager.repository;
+
+import dev.amir.depth_chart_manager.entity.DepthChartRevision;
+import dev.amir.depth_chart_manager.entity.Team;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface DepthChartRevisionRepository extends JpaRepository<DepthChartRevision, Long> {
+
+    /**
+     * Revisions recorded in {@code (after, until]} in the order they were recorded.
+     */
+    List<DepthChartRevision> findByTeamAndRecordedAtGreaterThanAndRecordedAtLessThanEqualOrderByRecordedAtAscIdAsc(
+            Team team, Instant after, Instant until);
+}
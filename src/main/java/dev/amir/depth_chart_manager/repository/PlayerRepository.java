@@ -1,9 +1,17 @@
 package dev.amir.depth_chart_manager.repository;
 
 import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface PlayerRepository extends JpaRepository<Player, Long> {
+    Optional<Player> findByTeamAndNumber(Team team, Long number);
+
+    List<Player> findByTeamAndNumberIn(Team team, Collection<Long> numbers);
 }
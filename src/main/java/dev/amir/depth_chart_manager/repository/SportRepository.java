@@ -0,0 +1,12 @@
+package dev.amir.depth_chart_manager.repository;
+
+import dev.amir.depth_chart_manager.entity.Sport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SportRepository extends JpaRepository<Sport, Long> {
+    Optional<Sport> findByName(String name);
+}
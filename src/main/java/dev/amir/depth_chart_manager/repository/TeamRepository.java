@@ -0,0 +1,12 @@
+package dev.amir.depth_chart_manager.repository;
+
+import dev.amir.depth_chart_manager.entity.Team;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TeamRepository extends JpaRepository<Team, Long> {
+    Optional<Team> findBySportNameAndName(String sportName, String name);
+}
@@ -0,0 +1,12 @@
+package dev.amir.depth_chart_manager.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface DepthChartExportService {
+    /**
+     * Writes every depth chart of the sport's league to {@code outputStream} as newline-delimited JSON, one line per
+     * (team, position), and returns the number of lines written.
+     */
+    long exportLeague(String sport, OutputStream outputStream) throws IOException;
+}
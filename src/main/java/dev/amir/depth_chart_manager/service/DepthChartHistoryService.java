@@ -0,0 +1,25 @@
+package dev.amir.depth_chart_manager.service;
+
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.enums.Position;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public interface DepthChartHistoryService {
+    /**
+     * Records the position as it is after a change at {@code recordedAt}; has to be called inside the transaction that
+     * writes the change.
+     */
+    void recordRevision(Team team, Position position, Instant recordedAt, List<DepthChartEntry> entries);
+
+    /**
+     * The team's full depth chart as it was at {@code asOf}, in the same shape as
+     * {@link DepthChartService#getFullDepthChart}.
+     *
+     * @throws IllegalArgumentException if the team's history starts after {@code asOf}
+     */
+    Map<Position, List<DepthChartEntry>> getFullDepthChartAsOf(Team team, Instant asOf);
+}
@@ -3,6 +3,9 @@ package dev.amir.depth_chart_manager.service;
 
 import dev.amir.depth_chart_manager.entity.DepthChart;
 import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.dto.DepthChartOperation;
 import dev.amir.depth_chart_manager.model.enums.Position;
 
 import java.util.List;
@@ -10,11 +13,21 @@ import java.util.Map;
 import java.util.Optional;
 
 public interface DepthChartService {
-    void addPlayerToDepthChart(Position position, Player player, Integer positionDepth);
+    void addPlayerToDepthChart(Team team, Position position, Player player, Integer positionDepth);
 
-    Optional<DepthChart> removePlayerFromDepthChart(Position position, Player player);
+    Optional<DepthChart> removePlayerFromDepthChart(Team team, Position position, Player player);
 
-    List<Player> getBackups(Position position, Player player);
+    Optional<DepthChart> movePlayerInDepthChart(Team team, Position position, Player player, Integer positionDepth);
 
-    Map<Position, List<Player>> getFullDepthChart();
+    List<DepthChart> swapPlayersInDepthChart(Team team, Position position, Player player, Player otherPlayer);
+
+    Map<Position, Integer> getPlayerPositions(Team team, Long playerNumber);
+
+    List<DepthChart> removePlayerFromAllDepthCharts(Team team, Long playerNumber);
+
+    List<DepthChartEntry> getBackups(Team team, Position position, Player player);
+
+    Map<Position, List<DepthChartEntry>> getFullDepthChart(Team team);
+
+    Map<Position, List<Player>> applyDepthChartOperations(Team team, List<DepthChartOperation> operations);
 }
@@ -1,7 +1,12 @@
 package dev.amir.depth_chart_manager.service;
 
 import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
+
+import java.util.List;
 
 public interface PlayerService {
     Player savePlayer(Player player);
+
+    List<Player> savePlayers(Team team, List<Player> players);
 }
@@ -0,0 +1,11 @@
+package dev.amir.depth_chart_manager.service;
+
+import dev.amir.depth_chart_manager.importer.ImportFormat;
+import dev.amir.depth_chart_manager.model.dto.ImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface RosterImportService {
+    ImportResult importRoster(ImportFormat format, InputStream inputStream) throws IOException;
+}
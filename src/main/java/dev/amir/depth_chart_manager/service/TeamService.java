@@ -0,0 +1,11 @@
+package dev.amir.depth_chart_manager.service;
+
+import dev.amir.depth_chart_manager.entity.Team;
+
+import java.util.Optional;
+
+public interface TeamService {
+    Optional<Team> findTeam(String sport, String team);
+
+    Team findOrCreateTeam(String sport, String team);
+}
@@ -0,0 +1,109 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
+import dev.amir.depth_chart_manager.model.dto.LeagueDepthChartEntry;
+import dev.amir.depth_chart_manager.model.enums.DepthChartOrdering;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import dev.amir.depth_chart_manager.repository.DepthChartRepository;
+import dev.amir.depth_chart_manager.service.DepthChartExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Writes a league's depth charts straight from a database cursor to the response. Rows arrive ordered by team,
+ * position and depth, so each (team, position) line is opened on its first row, extended with every following row
+ * and flushed as soon as the next group starts: nothing but the current row is held in memory. In the SPARSE ordering
+ * the rows arrive ordered by rank and are numbered within their group as they are written.
+ */
+@Service
+@Slf4j
+public class DepthChartExportServiceImpl implements DepthChartExportService {
+
+    private final DepthChartRepository depthChartRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean sparse;
+
+    public DepthChartExportServiceImpl(DepthChartRepository depthChartRepository, ObjectMapper objectMapper,
+                                       PlatformTransactionManager transactionManager, DepthChartProperties properties) {
+        this.depthChartRepository = depthChartRepository;
+        this.objectMapper = objectMapper;
+        this.sparse = properties.getOrdering() == DepthChartOrdering.SPARSE;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public long exportLeague(String sport, OutputStream outputStream) throws IOException {
+        try {
+            Long groups = readOnlyTransaction.execute(status -> {
+                try (Stream<LeagueDepthChartEntry> entries = depthChartRepository.streamEntriesBySport(sport);
+                     JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                    return writeGroups(entries.iterator(), generator);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.info("Exported {} depth chart positions of sport {}", groups, sport);
+            return Objects.requireNonNull(groups);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long writeGroups(Iterator<LeagueDepthChartEntry> entries, JsonGenerator generator) throws IOException {
+        long groups = 0;
+        String team = null;
+        Position position = null;
+        int depth = 0;
+        while (entries.hasNext()) {
+            LeagueDepthChartEntry entry = entries.next();
+            if (!entry.team().equals(team) || entry.position() != position) {
+                if (team != null) {
+                    endGroup(generator);
+                }
+                team = entry.team();
+                position = entry.position();
+                startGroup(generator, team, position);
+                groups++;
+                depth = 0;
+            }
+            depth++;
+            generator.writeStartObject();
+            generator.writeNumberField("positionDepth", sparse ? depth : entry.positionDepth());
+            generator.writeNumberField("number", entry.number());
+            generator.writeStringField("name", entry.name());
+            generator.writeEndObject();
+        }
+        if (team != null) {
+            endGroup(generator);
+        }
+        return groups;
+    }
+
+    private void startGroup(JsonGenerator generator, String team, Position position) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("team", team);
+        generator.writeStringField("position", position.name());
+        generator.writeArrayFieldStart("players");
+    }
+
+    private void endGroup(JsonGenerator generator) throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+}
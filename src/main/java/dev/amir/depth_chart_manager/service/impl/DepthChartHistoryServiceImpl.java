@@ -0,0 +1,184 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
+import dev.amir.depth_chart_manager.entity.DepthChartCheckpoint;
+import dev.amir.depth_chart_manager.entity.DepthChartRevision;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.event.DepthChartChangedEvent;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.enums.DepthChartOrdering;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import dev.amir.depth_chart_manager.repository.DepthChartCheckpointRepository;
+import dev.amir.depth_chart_manager.repository.DepthChartRepository;
+import dev.amir.depth_chart_manager.repository.DepthChartRevisionRepository;
+import dev.amir.depth_chart_manager.repository.TeamRepository;
+import dev.amir.depth_chart_manager.service.DepthChartHistoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the history of every team's depth chart as revisions of whole positions plus a checkpoint of the whole chart
+ * every {@code checkpoint-interval} revisions of a team, so reading the chart at a point in time loads one checkpoint
+ * and at most about that many revisions instead of the team's whole history.
+ * <p>
+ * JPA writes and roster imports are recorded right before their transaction commits; the IN_MEMORY engine records the
+ * positions it writes back on each flush, so changes coalesced into one flush only leave their last state.
+ * <p>
+ * A checkpoint is taken {@code checkpoint-lag} behind the revision that triggers it, so revisions of concurrent
+ * transactions that were recorded earlier but commit later are still folded into it.
+ * <p>
+ * A team's history starts at its first revision, with a baseline checkpoint of its whole chart as it is then, so the
+ * positions never written since history was turned on are still part of every later read. Reading an instant before
+ * the baseline is rejected instead of answered with an empty or partial chart.
+ */
+@Service
+@Slf4j
+public class DepthChartHistoryServiceImpl implements DepthChartHistoryService {
+
+    private final DepthChartRevisionRepository revisionRepository;
+    private final DepthChartCheckpointRepository checkpointRepository;
+    private final DepthChartRepository depthChartRepository;
+    private final TeamRepository teamRepository;
+    private final boolean enabled;
+    private final boolean sparse;
+    private final int checkpointInterval;
+    private final Duration checkpointLag;
+    private final Map<Long, AtomicInteger> revisionsSinceCheckpoint = new ConcurrentHashMap<>();
+    private final Set<Long> teamsWithBaseline = ConcurrentHashMap.newKeySet();
+
+    public DepthChartHistoryServiceImpl(DepthChartRevisionRepository revisionRepository,
+                                        DepthChartCheckpointRepository checkpointRepository,
+                                        DepthChartRepository depthChartRepository, TeamRepository teamRepository,
+                                        DepthChartProperties properties) {
+        this.revisionRepository = revisionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.depthChartRepository = depthChartRepository;
+        this.teamRepository = teamRepository;
+        this.enabled = properties.getHistory().isEnabled();
+        this.sparse = properties.getOrdering() == DepthChartOrdering.SPARSE;
+        this.checkpointInterval = properties.getHistory().getCheckpointInterval();
+        this.checkpointLag = properties.getHistory().getCheckpointLag();
+    }
+
+    /**
+     * Runs inside the writing transaction, so a change and its revision commit together. Without a transaction, as
+     * for the IN_MEMORY engine's own writes, nothing is recorded here.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onDepthChartChanged(DepthChartChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Team team = teamRepository.getReferenceById(event.teamId());
+        List<DepthChartEntry> entries = depthChartRepository.findEntriesByTeamAndPosition(team, event.position());
+        recordRevision(team, event.position(), Instant.now(), sparse ? SparseRanks.withDenseDepths(entries) : entries);
+    }
+
+    @Override
+    public void recordRevision(Team team, Position position, Instant recordedAt, List<DepthChartEntry> entries) {
+        if (!enabled) {
+            return;
+        }
+        // the precision the database keeps, so a revision is found by the instant it was recorded at
+        Instant revisionAt = recordedAt.truncatedTo(ChronoUnit.MICROS);
+        if (!teamsWithBaseline.contains(team.getId())) {
+            writeBaselineIfMissing(team, position, revisionAt, entries);
+        }
+        DepthChartRevision revision = new DepthChartRevision();
+        revision.setTeam(team);
+        revision.setPosition(position);
+        revision.setRecordedAt(revisionAt);
+        revision.setPlayers(List.copyOf(entries));
+        revisionRepository.save(revision);
+
+        AtomicInteger revisions = revisionsSinceCheckpoint.computeIfAbsent(team.getId(), id -> new AtomicInteger());
+        if (revisions.incrementAndGet() >= checkpointInterval) {
+            revisions.set(0);
+            writeCheckpoint(team, revision.getRecordedAt().minus(checkpointLag));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Position, List<DepthChartEntry>> getFullDepthChartAsOf(Team team, Instant asOf) {
+        FoldedDepthChart folded = foldRevisions(team, asOf);
+        if (!folded.checkpointed()) {
+            throw new IllegalArgumentException("No depth chart history of team " + team.getName() + " before " + asOf);
+        }
+        return folded.positions();
+    }
+
+    /**
+     * Checkpoints the team's whole chart at its first revision, with the revised position as that revision leaves it;
+     * the revision itself is then folded into the baseline, being recorded at the same instant.
+     */
+    private void writeBaselineIfMissing(Team team, Position position, Instant recordedAt, List<DepthChartEntry> entries) {
+        if (checkpointRepository.existsByTeam(team)) {
+            teamsWithBaseline.add(team.getId());
+            return;
+        }
+        Map<Position, List<DepthChartEntry>> positions = new EnumMap<>(Position.class);
+        for (DepthChartEntry entry : depthChartRepository.findEntriesByTeam(team)) {
+            positions.computeIfAbsent(entry.position(), p -> new ArrayList<>()).add(entry);
+        }
+        if (sparse) {
+            positions.replaceAll((p, positionEntries) -> SparseRanks.withDenseDepths(positionEntries));
+        }
+        if (entries.isEmpty()) {
+            positions.remove(position);
+        } else {
+            positions.put(position, List.copyOf(entries));
+        }
+
+        DepthChartCheckpoint baseline = new DepthChartCheckpoint();
+        baseline.setTeam(team);
+        baseline.setRecordedAt(recordedAt);
+        baseline.setPositions(positions);
+        // only remembered once found committed, as this transaction may still roll back
+        checkpointRepository.save(baseline);
+        log.debug("Started depth chart history of team {} at {} with a baseline of {} positions", team.getId(), recordedAt, positions.size());
+    }
+
+    private void writeCheckpoint(Team team, Instant recordedAt) {
+        FoldedDepthChart folded = foldRevisions(team, recordedAt);
+        if (folded.revisions() == 0) {
+            return;
+        }
+        DepthChartCheckpoint checkpoint = new DepthChartCheckpoint();
+        checkpoint.setTeam(team);
+        checkpoint.setRecordedAt(recordedAt);
+        checkpoint.setPositions(folded.positions());
+        checkpointRepository.save(checkpoint);
+        log.debug("Checkpointed depth chart history of team {} at {} after {} revisions", team.getId(), recordedAt, folded.revisions());
+    }
+
+    private FoldedDepthChart foldRevisions(Team team, Instant asOf) {
+        Optional<DepthChartCheckpoint> checkpoint = checkpointRepository.findFirstByTeamAndRecordedAtLessThanEqualOrderByRecordedAtDesc(team, asOf);
+        Map<Position, List<DepthChartEntry>> positions = new EnumMap<>(Position.class);
+        checkpoint.ifPresent(latest -> positions.putAll(latest.getPositions()));
+
+        List<DepthChartRevision> revisions = revisionRepository.findByTeamAndRecordedAtGreaterThanAndRecordedAtLessThanEqualOrderByRecordedAtAscIdAsc(
+                team, checkpoint.map(DepthChartCheckpoint::getRecordedAt).orElse(Instant.EPOCH), asOf);
+        for (DepthChartRevision revision : revisions) {
+            if (revision.getPlayers().isEmpty()) {
+                positions.remove(revision.getPosition());
+            } else {
+                positions.put(revision.getPosition(), revision.getPlayers());
+            }
+        }
+        return new FoldedDepthChart(positions, revisions.size(), checkpoint.isPresent());
+    }
+
+    private record FoldedDepthChart(Map<Position, List<DepthChartEntry>> positions, int revisions, boolean checkpointed) {
+    }
+}
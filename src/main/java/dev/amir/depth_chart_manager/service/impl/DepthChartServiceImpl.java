@@ -1,146 +1,553 @@
 package dev.amir.depth_chart_manager.service.impl;
 
 
+import dev.amir.depth_chart_manager.cache.DepthChartCache;
+import dev.amir.depth_chart_manager.concurrency.DepthChartKey;
+import dev.amir.depth_chart_manager.concurrency.DepthChartWriteCoordinator;
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
 import dev.amir.depth_chart_manager.entity.DepthChart;
 import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.event.DepthChartChangedEvent;
+import dev.amir.depth_chart_manager.event.DepthChartReplacedEvent;
+import dev.amir.depth_chart_manager.event.PlayerDepthChangedEvent;
+import dev.amir.depth_chart_manager.metrics.DepthChartMetrics;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.dto.DepthChartOperation;
+import dev.amir.depth_chart_manager.model.enums.DepthChartOrdering;
+import dev.amir.depth_chart_manager.model.enums.OperationType;
 import dev.amir.depth_chart_manager.model.enums.Position;
 import dev.amir.depth_chart_manager.repository.CustomDepthChartRepository;
 import dev.amir.depth_chart_manager.repository.DepthChartRepository;
 import dev.amir.depth_chart_manager.service.DepthChartService;
-import jakarta.transaction.Transactional;
+import dev.amir.depth_chart_manager.service.PlayerService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@ConditionalOnProperty(prefix = "depth-chart", name = "engine", havingValue = "JPA", matchIfMissing = true)
 @Slf4j
 public class DepthChartServiceImpl implements DepthChartService {
 
     private final DepthChartRepository depthChartRepository;
     private final CustomDepthChartRepository customDepthChartRepository;
+    private final PlayerService playerService;
+    private final DepthChartWriteCoordinator writeCoordinator;
+    private final DepthChartCache depthChartCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DepthChartMetrics metrics;
+    private final boolean sparse;
+    private final int chartDumpInterval;
+    private final AtomicLong fullDepthChartCalls = new AtomicLong();
 
-    public DepthChartServiceImpl(DepthChartRepository depthChartRepository, CustomDepthChartRepository customDepthChartRepository) {
+    public DepthChartServiceImpl(DepthChartRepository depthChartRepository, CustomDepthChartRepository customDepthChartRepository,
+                                 PlayerService playerService, DepthChartWriteCoordinator writeCoordinator, DepthChartCache depthChartCache,
+                                 ApplicationEventPublisher eventPublisher, DepthChartMetrics metrics,
+                                 DepthChartProperties properties) {
         this.depthChartRepository = depthChartRepository;
         this.customDepthChartRepository = customDepthChartRepository;
+        this.playerService = playerService;
+        this.writeCoordinator = writeCoordinator;
+        this.depthChartCache = depthChartCache;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+        this.sparse = properties.getOrdering() == DepthChartOrdering.SPARSE;
+        this.chartDumpInterval = properties.getLogging().getChartDumpInterval();
     }
 
-    @Transactional
-    public synchronized void addPlayerToDepthChart(Position position, Player player, Integer positionDepth) {
-        List<DepthChart> depthCharts = depthChartRepository.findByPositionOrderByPositionDepth(position);
+    public void addPlayerToDepthChart(Team team, Position position, Player player, Integer positionDepth) {
+        metrics.timeOperation("add", position, () -> {
+            writeCoordinator.run(DepthChartKey.of(team, position), () -> insertPlayer(team, position, player, positionDepth));
+            return null;
+        });
+    }
+
+    private void insertPlayer(Team team, Position position, Player player, Integer positionDepth) {
+        if (sparse) {
+            insertRankedPlayer(team, position, player, positionDepth);
+            return;
+        }
+        int size = (int) depthChartRepository.countByTeamAndPosition(team, position);
+        positionDepth = positionDepth == null ? size + 1 : Math.clamp(positionDepth, 1, size + 1);
+
+        int shiftedRows = depthChartRepository.shiftDepthsForwardFrom(team, position, positionDepth);
+        depthChartRepository.save(getNewDepthChart(team, position, player, positionDepth));
+        metrics.recordRowsShifted("add", position, shiftedRows);
+
+        if (log.isInfoEnabled()) {
+            log.info("Player {} added to depthChart of {} position at positionDepth {}, {} players shifted down", player.getNumber(), position, positionDepth, shiftedRows);
+        }
+        eventPublisher.publishEvent(new DepthChartChangedEvent(team.getId(), position));
+        eventPublisher.publishEvent(new PlayerDepthChangedEvent(team, position, player, null, positionDepth));
+    }
+
+    /**
+     * Saves the player's row with a rank between its neighbours', so no other row is written unless the two are
+     * adjacent and the position is rebalanced first.
+     */
+    private void insertRankedPlayer(Team team, Position position, Player player, Integer positionDepth) {
+        List<Integer> ranks = depthChartRepository.findDepthsByTeamAndPosition(team, position);
+        int index = positionDepth == null ? ranks.size() : Math.clamp(positionDepth - 1, 0, ranks.size());
 
-        if (positionDepth == null) {
-            positionDepth = depthCharts.size() + 1;
+        OptionalInt rank = rankAt(ranks, index);
+        int rebalancedRows = 0;
+        if (rank.isEmpty()) {
+            ranks = rebalance(team, position);
+            rebalancedRows = ranks.size();
+            rank = rankAt(ranks, index);
         }
+        depthChartRepository.save(getNewDepthChart(team, position, player, rank.getAsInt()));
+        metrics.recordRowsShifted("add", position, rebalancedRows);
 
-        List<DepthChart> updatedDepthCharts = adjustDepthPositionsByShiftingForward(positionDepth, depthCharts);
+        if (log.isInfoEnabled()) {
+            log.info("Player {} added to depthChart of {} position at positionDepth {}, {} players rebalanced", player.getNumber(), position, index + 1, rebalancedRows);
+        }
+        eventPublisher.publishEvent(new DepthChartChangedEvent(team.getId(), position));
+        eventPublisher.publishEvent(new PlayerDepthChangedEvent(team, position, player, null, index + 1));
+    }
 
-        updatedDepthCharts.add(getNewDepthChart(position, player, positionDepth));
+    private static OptionalInt rankAt(List<Integer> ranks, int index) {
+        return SparseRanks.between(index > 0 ? ranks.get(index - 1) : null, index < ranks.size() ? ranks.get(index) : null);
+    }
 
-        logUpdatedDepthCharts("Player added to depthChart. List of adjusted depthPositions for {} position: {}", position, updatedDepthCharts);
-        depthChartRepository.saveAll(updatedDepthCharts);
+    /**
+     * Spreads the ranks of the position {@link SparseRanks#GAP} apart again and returns them.
+     */
+    private List<Integer> rebalance(Team team, Position position) {
+        List<DepthChart> depthCharts = depthChartRepository.findByTeamAndPositionOrderByPositionDepth(team, position);
+        List<Integer> ranks = new ArrayList<>(depthCharts.size());
+        for (DepthChart depthChart : depthCharts) {
+            depthChart.setPositionDepth(SparseRanks.spaced(ranks.size()));
+            ranks.add(depthChart.getPositionDepth());
+        }
+        depthChartRepository.saveAll(depthCharts);
+        return ranks;
     }
 
-    @Transactional
-    public synchronized Optional<DepthChart> removePlayerFromDepthChart(Position position, Player player) {
-        Optional<DepthChart> depthChart = Optional.ofNullable(customDepthChartRepository.deleteAndReturnByPositionAndPlayerNumber(position, player.getNumber()));
+    public Optional<DepthChart> removePlayerFromDepthChart(Team team, Position position, Player player) {
+        return metrics.timeOperation("remove", position,
+                () -> writeCoordinator.execute(DepthChartKey.of(team, position), () -> deletePlayer(team, position, player)));
+    }
+
+    private Optional<DepthChart> deletePlayer(Team team, Position position, Player player) {
+        Optional<DepthChart> depthChart = Optional.ofNullable(customDepthChartRepository.deleteAndReturnByTeamAndPositionAndPlayerNumber(team, position, player.getNumber()));
 
         if (depthChart.isEmpty()) {
             return Optional.empty();
         }
+        if (sparse) {
+            // nothing below moves; the depth the player had is the number of rows ranked before them plus one
+            depthChart.get().setPositionDepth((int) depthChartRepository.countByTeamAndPositionAndPositionDepthLessThan(
+                    team, position, depthChart.get().getPositionDepth()) + 1);
+            metrics.recordRowsShifted("remove", position, 0);
+            eventPublisher.publishEvent(new DepthChartChangedEvent(team.getId(), position));
+            eventPublisher.publishEvent(new PlayerDepthChangedEvent(team, position, depthChart.get().getPlayer(), depthChart.get().getPositionDepth(), null));
+            return depthChart;
+        }
 
-        List<DepthChart> updatedDepthCharts = adjustDepthPositionsByShiftingBack(position);
-        logUpdatedDepthCharts("Player removed from depthChart. List of adjusted depthPositions for {} position: {}", position, updatedDepthCharts);
+        int shiftedRows = depthChartRepository.shiftDepthsBackAfter(team, position, depthChart.get().getPositionDepth());
+        metrics.recordRowsShifted("remove", position, shiftedRows);
+        if (log.isInfoEnabled()) {
+            log.info("Player {} removed from depthChart of {} position at positionDepth {}, {} players shifted up", player.getNumber(), position, depthChart.get().getPositionDepth(), shiftedRows);
+        }
+        eventPublisher.publishEvent(new DepthChartChangedEvent(team.getId(), position));
+        eventPublisher.publishEvent(new PlayerDepthChangedEvent(team, position, depthChart.get().getPlayer(), depthChart.get().getPositionDepth(), null));
         return depthChart;
     }
 
 
-    private List<DepthChart> adjustDepthPositionsByShiftingBack(Position position) {
-        List<DepthChart> updatedDepthCharts = depthChartRepository.findByPositionOrderByPositionDepth(position);
+    public Map<Position, Integer> getPlayerPositions(Team team, Long playerNumber) {
+        return metrics.timeOperation("positions", DepthChartMetrics.ALL_POSITIONS, () -> findPlayerPositions(team, playerNumber));
+    }
 
-        AtomicInteger currentPosition = new AtomicInteger(0);
-        updatedDepthCharts.forEach(dc -> {
-            if (dc.getPositionDepth() != currentPosition.get()) {
-                dc.setPositionDepth(currentPosition.get());
+    /**
+     * Answered by the reverse index that comes with the team's cached chart, or without the cache by the player's rows.
+     */
+    private Map<Position, Integer> findPlayerPositions(Team team, Long playerNumber) {
+        if (depthChartCache.isEnabled()) {
+            return depthChartCache.getPlayerPositions(team.getId(), playerNumber, () -> groupDepthChart(team));
+        }
+        Map<Position, Integer> positions = new EnumMap<>(Position.class);
+        for (DepthChart depthChart : depthChartRepository.findByTeamAndPlayerNumberOrderByPosition(team, playerNumber)) {
+            positions.put(depthChart.getPosition(), denseDepthOf(depthChart));
+        }
+        return positions;
+    }
+
+    /**
+     * Locks only the positions the player holds when the call starts; a position they enter concurrently is kept.
+     */
+    public List<DepthChart> removePlayerFromAllDepthCharts(Team team, Long playerNumber) {
+        return metrics.timeOperation("removeAll", DepthChartMetrics.ALL_POSITIONS, () -> {
+            Set<Position> positions = EnumSet.noneOf(Position.class);
+            positions.addAll(findPlayerPositions(team, playerNumber).keySet());
+            if (positions.isEmpty()) {
+                return List.of();
             }
-            currentPosition.incrementAndGet();
+            List<DepthChartKey> keys = positions.stream()
+                    .map(position -> DepthChartKey.of(team, position))
+                    .toList();
+            return writeCoordinator.execute(keys, () -> deletePlayerEverywhere(team, positions, playerNumber));
         });
+    }
+
+    /**
+     * Closes the player's gap in every position with one statement and deletes their rows as one batch, so the cost
+     * does not grow with the number of positions they held.
+     */
+    private List<DepthChart> deletePlayerEverywhere(Team team, Set<Position> positions, Long playerNumber) {
+        List<DepthChart> depthCharts = depthChartRepository.findByTeamAndPlayerNumberOrderByPosition(team, playerNumber).stream()
+                .filter(depthChart -> positions.contains(depthChart.getPosition()))
+                .toList();
+        if (depthCharts.isEmpty()) {
+            return List.of();
+        }
+        List<DepthChart> removed = new ArrayList<>(depthCharts.size());
+        for (DepthChart depthChart : depthCharts) {
+            removed.add(asShown(depthChart, denseDepthOf(depthChart)));
+        }
+
+        int shiftedRows = sparse ? 0 : depthChartRepository.shiftDepthsBackAfterPlayer(team, positions, playerNumber);
+        depthChartRepository.deleteAll(depthCharts);
+
+        if (log.isInfoEnabled()) {
+            log.info("Player {} removed from depthCharts of {} positions, {} players shifted up", playerNumber, removed.size(), shiftedRows);
+        }
+        for (DepthChart depthChart : removed) {
+            eventPublisher.publishEvent(new DepthChartChangedEvent(team.getId(), depthChart.getPosition()));
+            eventPublisher.publishEvent(new PlayerDepthChangedEvent(team, depthChart.getPosition(), depthChart.getPlayer(), depthChart.getPositionDepth(), null));
+        }
+        return removed;
+    }
+
+    public Optional<DepthChart> movePlayerInDepthChart(Team team, Position position, Player player, Integer positionDepth) {
+        return metrics.timeOperation("move", position,
+                () -> writeCoordinator.execute(DepthChartKey.of(team, position), () -> movePlayer(team, position, player, positionDepth)));
+    }
+
+    /**
+     * Updates the player's row in place, so it keeps its id and never leaves the chart, and shifts only the rows
+     * between its old and new depth; in the SPARSE ordering it only takes a rank between its new neighbours'.
+     */
+    private Optional<DepthChart> movePlayer(Team team, Position position, Player player, Integer positionDepth) {
+        Optional<DepthChart> depthChart = depthChartRepository.findByTeamAndPositionAndPlayerNumber(team, position, player.getNumber());
+        if (depthChart.isEmpty()) {
+            return Optional.empty();
+        }
+        DepthChart moved = depthChart.get();
+        int fromDepth = denseDepthOf(moved);
+        int shiftedRows = sparse ? moveRankedPlayer(team, position, moved, positionDepth) : moveDensePlayer(team, position, moved, positionDepth);
+        int toDepth = denseDepthOf(moved);
+        if (toDepth == fromDepth) {
+            return Optional.of(asShown(moved, toDepth));
+        }
+        metrics.recordRowsShifted("move", position, shiftedRows);
+
+        if (log.isInfoEnabled()) {
+            log.info("Player {} moved in depthChart of {} position from positionDepth {} to {}, {} players shifted", player.getNumber(), position, fromDepth, toDepth, shiftedRows);
+        }
+        eventPublisher.publishEvent(new DepthChartChangedEvent(team.getId(), position));
+        eventPublisher.publishEvent(new PlayerDepthChangedEvent(team, position, moved.getPlayer(), fromDepth, toDepth));
+        return Optional.of(asShown(moved, toDepth));
+    }
+
+    private int moveDensePlayer(Team team, Position position, DepthChart moved, Integer positionDepth) {
+        int size = (int) depthChartRepository.countByTeamAndPosition(team, position);
+        int from = moved.getPositionDepth();
+        int to = positionDepth == null ? size : Math.clamp(positionDepth, 1, size);
+        int shiftedRows = 0;
+        if (from < to) {
+            shiftedRows = depthChartRepository.shiftDepthsBackBetween(team, position, from + 1, to);
+        } else if (from > to) {
+            shiftedRows = depthChartRepository.shiftDepthsForwardBetween(team, position, to, from - 1);
+        }
+        moved.setPositionDepth(to);
+        return shiftedRows;
+    }
+
+    private int moveRankedPlayer(Team team, Position position, DepthChart moved, Integer positionDepth) {
+        List<Integer> ranks = new ArrayList<>(depthChartRepository.findDepthsByTeamAndPosition(team, position));
+        int from = ranks.indexOf(moved.getPositionDepth());
+        ranks.remove(from);
+        int index = positionDepth == null ? ranks.size() : Math.clamp(positionDepth - 1, 0, ranks.size());
+        if (index == from) {
+            return 0;
+        }
+
+        OptionalInt rank = rankAt(ranks, index);
+        int rebalancedRows = 0;
+        if (rank.isEmpty()) {
+            ranks = rebalance(team, position);
+            rebalancedRows = ranks.size();
+            ranks.remove(from);
+            rank = rankAt(ranks, index);
+        }
+        moved.setPositionDepth(rank.getAsInt());
+        return rebalancedRows;
+    }
+
+    public List<DepthChart> swapPlayersInDepthChart(Team team, Position position, Player player, Player otherPlayer) {
+        return metrics.timeOperation("swap", position,
+                () -> writeCoordinator.execute(DepthChartKey.of(team, position), () -> swapPlayers(team, position, player, otherPlayer)));
+    }
+
+    /**
+     * Exchanges the depths, or ranks, of the two rows, which are the only rows written.
+     */
+    private List<DepthChart> swapPlayers(Team team, Position position, Player player, Player otherPlayer) {
+        Optional<DepthChart> depthChart = depthChartRepository.findByTeamAndPositionAndPlayerNumber(team, position, player.getNumber());
+        Optional<DepthChart> otherDepthChart = depthChartRepository.findByTeamAndPositionAndPlayerNumber(team, position, otherPlayer.getNumber());
+        if (depthChart.isEmpty() || otherDepthChart.isEmpty()) {
+            return List.of();
+        }
+        DepthChart first = depthChart.get();
+        DepthChart second = otherDepthChart.get();
+        if (first == second) {
+            return List.of(asShown(first, denseDepthOf(first)));
+        }
+        int firstDepth = denseDepthOf(first);
+        int secondDepth = denseDepthOf(second);
+        int firstRank = first.getPositionDepth();
+        first.setPositionDepth(second.getPositionDepth());
+        second.setPositionDepth(firstRank);
+        metrics.recordRowsShifted("swap", position, 0);
 
-        depthChartRepository.saveAll(updatedDepthCharts);
+        if (log.isInfoEnabled()) {
+            log.info("Players {} and {} swapped in depthChart of {} position at positionDepths {} and {}", player.getNumber(), otherPlayer.getNumber(), position, firstDepth, secondDepth);
+        }
+        eventPublisher.publishEvent(new DepthChartChangedEvent(team.getId(), position));
+        eventPublisher.publishEvent(new PlayerDepthChangedEvent(team, position, first.getPlayer(), firstDepth, secondDepth));
+        eventPublisher.publishEvent(new PlayerDepthChangedEvent(team, position, second.getPlayer(), secondDepth, firstDepth));
+        return List.of(asShown(first, secondDepth), asShown(second, firstDepth));
+    }
+
+    /**
+     * The row's 1..N depth, which in the SPARSE ordering is the number of rows ranked before it plus one.
+     */
+    private int denseDepthOf(DepthChart depthChart) {
+        if (!sparse) {
+            return depthChart.getPositionDepth();
+        }
+        return (int) depthChartRepository.countByTeamAndPositionAndPositionDepthLessThan(
+                depthChart.getTeam(), depthChart.getPosition(), depthChart.getPositionDepth()) + 1;
+    }
+
+    /**
+     * The row as the API returns it: in the SPARSE ordering a copy carrying its depth instead of the rank, as the row
+     * itself is still managed and would write the depth back.
+     */
+    private DepthChart asShown(DepthChart depthChart, int positionDepth) {
+        if (!sparse) {
+            return depthChart;
+        }
+        DepthChart shown = getNewDepthChart(depthChart.getTeam(), depthChart.getPosition(), depthChart.getPlayer(), positionDepth);
+        shown.setId(depthChart.getId());
+        shown.setVersion(depthChart.getVersion());
+        return shown;
+    }
+
+
+    /**
+     * Upserts the added players in the same transaction as the depth chart writes, so a failed batch leaves no players
+     * behind and concurrent batches adding the same new player are serialized by their position locks.
+     */
+    public Map<Position, List<Player>> applyDepthChartOperations(Team team, List<DepthChartOperation> operations) {
+        List<DepthChartKey> keys = operations.stream()
+                .map(operation -> DepthChartKey.of(team, operation.position()))
+                .distinct()
+                .toList();
+        return metrics.timeOperation("batch", DepthChartMetrics.ALL_POSITIONS,
+                () -> writeCoordinator.execute(keys, () -> applyOperations(team, withSavedPlayers(playerService, team, operations))));
+    }
+
+    /**
+     * The operations with each ADD's player replaced by the saved one. Only copies of the players are saved, so a retry
+     * after a rolled back attempt does not see ids that were never committed.
+     */
+    static List<DepthChartOperation> withSavedPlayers(PlayerService playerService, Team team, List<DepthChartOperation> operations) {
+        List<Player> addedPlayers = operations.stream()
+                .filter(operation -> operation.type() == OperationType.ADD)
+                .map(operation -> copyOf(operation.player()))
+                .toList();
+        if (addedPlayers.isEmpty()) {
+            return operations;
+        }
+        Map<Long, Player> savedPlayers = playerService.savePlayers(team, addedPlayers).stream()
+                .collect(Collectors.toMap(Player::getNumber, Function.identity()));
+        return operations.stream()
+                .map(operation -> operation.type() == OperationType.ADD
+                        ? operation.withPlayer(savedPlayers.get(operation.player().getNumber()))
+                        : operation)
+                .toList();
+    }
+
+    private static Player copyOf(Player player) {
+        Player copy = new Player();
+        copy.setNumber(player.getNumber());
+        copy.setName(player.getName());
+        copy.setPosition(player.getPosition());
+        return copy;
+    }
+
+    /**
+     * Loads each affected position once, replays the operations in order against the in-memory copies and then writes
+     * only the rows whose depth changed, so the whole batch is flushed as one set of batched statements.
+     */
+    private Map<Position, List<Player>> applyOperations(Team team, List<DepthChartOperation> operations) {
+        Map<Position, PositionDepthChart> positions = new EnumMap<>(Position.class);
+
+        for (DepthChartOperation operation : operations) {
+            PositionDepthChart depthChart = positions.computeIfAbsent(operation.position(),
+                    position -> new PositionDepthChart(depthChartRepository.findByTeamAndPositionOrderByPositionDepth(team, position), sparse));
+            applyOperation(team, depthChart, operation);
+        }
+        if (sparse) {
+            positions.values().forEach(PositionDepthChart::assignSparseRanks);
+        }
+
+        List<DepthChart> removed = positions.values().stream().flatMap(dc -> dc.getRemoved().stream()).toList();
+        List<DepthChart> changed = positions.values().stream().flatMap(dc -> dc.getChanged().stream()).toList();
+        depthChartRepository.deleteAll(removed);
+        depthChartRepository.saveAll(changed);
+
+        if (log.isInfoEnabled()) {
+            log.info("Applied {} depthChart operations to {} positions: {} rows written, {} rows deleted", operations.size(), positions.size(), changed.size(), removed.size());
+        }
+        positions.keySet().forEach(position -> {
+            eventPublisher.publishEvent(new DepthChartChangedEvent(team.getId(), position));
+            eventPublisher.publishEvent(new DepthChartReplacedEvent(team, position));
+        });
+
+        Map<Position, List<Player>> updatedDepthCharts = new EnumMap<>(Position.class);
+        positions.forEach((position, depthChart) -> updatedDepthCharts.put(position,
+                depthChart.getDepthCharts().stream().map(DepthChart::getPlayer).toList()));
         return updatedDepthCharts;
     }
 
+    private static void applyOperation(Team team, PositionDepthChart depthChart, DepthChartOperation operation) {
+        Long playerNumber = operation.player().getNumber();
+        switch (operation.type()) {
+            case ADD -> depthChart.addOrMove(playerNumber, operation.positionDepth(),
+                    // the depth is assigned by PositionDepthChart
+                    () -> getNewDepthChart(team, operation.position(), operation.player(), 0));
+            case REMOVE -> depthChart.remove(playerNumber);
+            case MOVE -> depthChart.move(playerNumber, operation.positionDepth());
+        }
+    }
 
-    public List<Player> getBackups(Position position, Player player) {
-        Optional<DepthChart> depthChart = depthChartRepository.findByPositionAndPlayerNumber(position, player.getNumber());
+
+    public List<DepthChartEntry> getBackups(Team team, Position position, Player player) {
+        return metrics.timeOperation("backups", position, () -> findBackups(team, position, player));
+    }
+
+    /**
+     * Served from the cached chart, or else from the player's row and the rows below it, as the same entries either way.
+     */
+    private List<DepthChartEntry> findBackups(Team team, Position position, Player player) {
+        if (depthChartCache.isEnabled()) {
+            return getBackupsFromCachedDepthChart(team, position, player);
+        }
+
+        Optional<DepthChart> depthChart = depthChartRepository.findByTeamAndPositionAndPlayerNumber(team, position, player.getNumber());
 
         if (depthChart.isEmpty()) {
-            log.info("Player {} is not in the depth chart for {} position", player.getNumber(), position);
+            log.debug("Player {} is not in the depth chart for {} position", player.getNumber(), position);
         }
 
-        return depthChart.<List<Player>>map(chart -> depthChartRepository.findByPositionAndPositionDepthGreaterThanOrderByPositionDepth(position, chart.getPositionDepth())
-                        .stream()
-                        .map(DepthChart::getPlayer)
-                        .collect(ArrayList::new, ArrayList::add, ArrayList::addAll))
+        return depthChart.<List<DepthChartEntry>>map(chart -> {
+                    List<DepthChart> backups = depthChartRepository.findByTeamAndPositionAndPositionDepthGreaterThanOrderByPositionDepth(team, position, chart.getPositionDepth());
+                    int firstDepth = denseDepthOf(chart) + 1;
+                    List<DepthChartEntry> entries = new ArrayList<>(backups.size());
+                    for (DepthChart backup : backups) {
+                        entries.add(new DepthChartEntry(position, firstDepth + entries.size(), backup.getPlayer().getId(),
+                                backup.getPlayer().getNumber(), backup.getPlayer().getName()));
+                    }
+                    return entries;
+                })
                 .orElseGet(() -> {
-                    log.info("No backups found for player {} in position {}", player.getNumber(), position);
+                    log.debug("No backups found for player {} in position {}", player.getNumber(), position);
                     return new ArrayList<>();
                 });
     }
 
 
-    public Map<Position, List<Player>> getFullDepthChart() {
-        var fullDepthChart = groupDepthChart();
+    private List<DepthChartEntry> getBackupsFromCachedDepthChart(Team team, Position position, Player player) {
+        List<DepthChartEntry> entries = depthChartCache.getOrLoad(team.getId(), () -> groupDepthChart(team))
+                .getOrDefault(position, List.of());
 
-        fullDepthChart.forEach((position, players) -> {
-            String formattedPlayers = players.stream()
-                    .map(player -> String.format("(#%d, %s)", player.getNumber(), player.getName()))
-                    .collect(Collectors.joining(", "));
-            log.info("{} - {}", position, formattedPlayers);
-        });
+        for (int i = 0; i < entries.size(); i++) {
+            if (Objects.equals(entries.get(i).number(), player.getNumber())) {
+                return new ArrayList<>(entries.subList(i + 1, entries.size()));
+            }
+        }
+
+        log.debug("Player {} is not in the depth chart for {} position", player.getNumber(), position);
+        return new ArrayList<>();
+    }
+
+
+    public Map<Position, List<DepthChartEntry>> getFullDepthChart(Team team) {
+        return metrics.timeOperation("full", DepthChartMetrics.ALL_POSITIONS, () -> findFullDepthChart(team));
+    }
+
+    private Map<Position, List<DepthChartEntry>> findFullDepthChart(Team team) {
+        var fullDepthChart = depthChartCache.getOrLoad(team.getId(), () -> groupDepthChart(team));
+
+        if (shouldDumpFullDepthChart()) {
+            fullDepthChart.forEach((position, players) -> log.debug("{} - {}", position, formatPlayers(players)));
+        }
 
         return fullDepthChart;
     }
 
-    private Map<Position, List<Player>> groupDepthChart() {
-        List<DepthChart> depthCharts = depthChartRepository.findAll();
-        return depthCharts.stream()
-                .collect(Collectors.groupingBy(DepthChart::getPosition,
-                        Collectors.collectingAndThen(
-                                Collectors.toList(),
-                                list -> list.stream()
-                                        .sorted(Comparator.comparingInt(DepthChart::getPositionDepth))
-                                        .map(DepthChart::getPlayer)
-                                        .toList()
-                        )));
+    /**
+     * Full depth chart dumps are only built at DEBUG, and then only for every {@code chartDumpInterval}-th call, so
+     * polling clients do not pay for formatting the whole chart on every request.
+     */
+    private boolean shouldDumpFullDepthChart() {
+        return chartDumpInterval > 0 && log.isDebugEnabled()
+                && fullDepthChartCalls.getAndIncrement() % chartDumpInterval == 0;
     }
 
-    private static void logUpdatedDepthCharts(String s, Position position, List<DepthChart> updatedDepthCharts) {
-        log.info(s, position,
-                updatedDepthCharts.stream()
-                        .sorted(Comparator.comparingInt(DepthChart::getPositionDepth))
-                        .map(dc -> String.format("(PositionDepth=%d,PlayerNumber=%d)", dc.getPositionDepth(), dc.getPlayer().getNumber()))
-                        .collect(Collectors.joining(", ")));
+    private static String formatPlayers(List<DepthChartEntry> entries) {
+        StringBuilder formatted = new StringBuilder(entries.size() * 16);
+        for (DepthChartEntry entry : entries) {
+            if (!formatted.isEmpty()) {
+                formatted.append(", ");
+            }
+            formatted.append("(#").append(entry.number()).append(", ").append(entry.name()).append(')');
+        }
+        return formatted.toString();
     }
 
-    private static DepthChart getNewDepthChart(Position position, Player player, Integer positionDepth) {
+    /**
+     * The entries arrive ordered by position and depth, so each position's list is built by appending in one pass. In
+     * the SPARSE ordering they arrive ordered by rank and are given their depths here.
+     */
+    private Map<Position, List<DepthChartEntry>> groupDepthChart(Team team) {
+        Map<Position, List<DepthChartEntry>> depthChart = new EnumMap<>(Position.class);
+        for (DepthChartEntry entry : depthChartRepository.findEntriesByTeam(team)) {
+            depthChart.computeIfAbsent(entry.position(), position -> new ArrayList<>()).add(entry);
+        }
+        depthChart.replaceAll((position, entries) ->
+                Collections.unmodifiableList(sparse ? SparseRanks.withDenseDepths(entries) : entries));
+        return depthChart;
+    }
+
+    private static DepthChart getNewDepthChart(Team team, Position position, Player player, Integer positionDepth) {
         DepthChart newDepthChart = new DepthChart();
+        newDepthChart.setTeam(team);
         newDepthChart.setPosition(position);
         newDepthChart.setPlayer(player);
         newDepthChart.setPositionDepth(positionDepth);
         return newDepthChart;
     }
 
-    private static List<DepthChart> adjustDepthPositionsByShiftingForward(Integer positionDepth, List<DepthChart> depthCharts) {
-        return depthCharts.stream()
-                .filter(dc -> dc.getPositionDepth() >= positionDepth)
-                .map(dc -> {
-                    dc.setPositionDepth(dc.getPositionDepth() + 1);
-                    return dc;
-                })
-                .collect(Collectors.toCollection(LinkedList::new));
-    }
-
 }
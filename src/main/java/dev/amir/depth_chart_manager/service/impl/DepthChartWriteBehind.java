@@ -0,0 +1,352 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import dev.amir.depth_chart_manager.concurrency.DepthChartKey;
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
+import dev.amir.depth_chart_manager.entity.DepthChart;
+import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.journal.DepthChartJournal;
+import dev.amir.depth_chart_manager.journal.DepthChartSnapshot;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import dev.amir.depth_chart_manager.repository.DepthChartRepository;
+import dev.amir.depth_chart_manager.repository.PlayerRepository;
+import dev.amir.depth_chart_manager.repository.TeamRepository;
+import dev.amir.depth_chart_manager.service.DepthChartHistoryService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Writes positions changed in the {@link InMemoryDepthChartServiceImpl} back to the database on a single background
+ * thread. A change only marks its (team, position) dirty; every {@code flush-interval} the flusher writes each dirty
+ * position once, with its in-memory state as of the flush, in one transaction. A position reshuffled many times
+ * between two flushes is written once, and enters the {@link DepthChartHistoryService} once, as of its last change.
+ * <p>
+ * With the journal enabled, every change is also appended to a {@link DepthChartJournal} before it is acknowledged.
+ * A flush first rotates the journal and deletes the rotated segments only after its transaction commits, and on startup
+ * whatever is left in the journal is written to the database before any team is loaded, so a crash between two flushes
+ * loses nothing.
+ * <p>
+ * With snapshots on as well, every {@code snapshot-interval} a flush also writes a {@link DepthChartSnapshot} of every
+ * team in memory, and flushed segments are only deleted once a snapshot covers them. On startup the snapshot is loaded
+ * and the segments after it replayed on top, which hands the service its teams warm instead of through database scans.
+ */
+@Component
+@ConditionalOnProperty(prefix = "depth-chart", name = "engine", havingValue = "IN_MEMORY")
+@Slf4j
+public class DepthChartWriteBehind {
+
+    private static final String SNAPSHOT_FILE = "depth-chart.snapshot";
+
+    private final DepthChartRepository depthChartRepository;
+    private final TeamRepository teamRepository;
+    private final PlayerRepository playerRepository;
+    private final DepthChartHistoryService historyService;
+    private final TransactionTemplate transactionTemplate;
+    private final long flushIntervalMillis;
+    private final DepthChartJournal journal;
+    private final Path snapshotFile;
+    private final long snapshotIntervalMillis;
+    private long lastSnapshotAt;
+    private long snapshotCoveredSegment;
+    private volatile boolean snapshotRequested;
+    private volatile Map<Long, TeamDepthChart> liveDepthCharts = Map.of();
+    private Map<Long, Map<Position, List<DepthChartJournal.JournaledPlayer>>> recovered = Map.of();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("depth-chart-write-behind").daemon().factory());
+
+    // changes hold the read lock while they journal and mark their position, a flush holds the write lock while it
+    // rotates the journal and takes the dirty positions, so a rotated segment only records positions that flush writes
+    private final ReentrantReadWriteLock rotationLock = new ReentrantReadWriteLock();
+    private Map<DepthChartKey, PendingWrite> dirty = new ConcurrentHashMap<>();
+    private final List<Path> retainedSegments = new ArrayList<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final LongAdder changes = new LongAdder();
+
+    public DepthChartWriteBehind(DepthChartRepository depthChartRepository, TeamRepository teamRepository,
+                                 PlayerRepository playerRepository, DepthChartHistoryService historyService,
+                                 PlatformTransactionManager transactionManager, DepthChartProperties properties) throws IOException {
+        this.depthChartRepository = depthChartRepository;
+        this.teamRepository = teamRepository;
+        this.playerRepository = playerRepository;
+        this.historyService = historyService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        DepthChartProperties.WriteBehind writeBehind = properties.getWriteBehind();
+        this.flushIntervalMillis = writeBehind.getFlushInterval().toMillis();
+        DepthChartProperties.Journal journalProperties = writeBehind.getJournal();
+        this.journal = journalProperties.isEnabled()
+                ? new DepthChartJournal(Path.of(journalProperties.getDirectory()), journalProperties.isFsync())
+                : null;
+        this.snapshotIntervalMillis = journal == null ? 0 : journalProperties.getSnapshotInterval().toMillis();
+        this.snapshotFile = Path.of(journalProperties.getDirectory(), SNAPSHOT_FILE);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (journal != null) {
+            recover();
+        }
+        if (flushIntervalMillis > 0) {
+            flusher.scheduleWithFixedDelay(this::flushDirty, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Teams recovered from the snapshot and journal on startup, with their positions' players in depth order; empty
+     * without snapshots, in which case teams are loaded from the database.
+     */
+    Map<Long, Map<Position, List<DepthChartJournal.JournaledPlayer>>> recovered() {
+        return recovered;
+    }
+
+    /**
+     * The service's teams, which every snapshot is taken of.
+     */
+    void snapshotFrom(Map<Long, TeamDepthChart> depthCharts) {
+        this.liveDepthCharts = depthCharts;
+    }
+
+    /**
+     * Has the next flush, which starts right away, write a snapshot, for teams the service dropped after a write that
+     * bypassed it, whose state in the last snapshot is stale.
+     */
+    void requestSnapshot() {
+        if (snapshotIntervalMillis > 0) {
+            snapshotRequested = true;
+            flusher.execute(this::flushDirty);
+        }
+    }
+
+    /**
+     * Records a change to the position. Has to be called inside {@link TeamDepthChart#write}, right after the change,
+     * so journal records of a position are in the order of its changes.
+     */
+    void schedule(Team team, Position position, TeamDepthChart depthChart) {
+        rotationLock.readLock().lock();
+        try {
+            dirty.put(new DepthChartKey(team.getId(), position), new PendingWrite(team, position, depthChart, Instant.now()));
+            changes.increment();
+            if (journal != null) {
+                journal.append(new DepthChartJournal.Entry(team.getId(), position, journaled(depthChart.players(position))));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal the " + position + " depth chart of team " + team.getId(), e);
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+        if (flushIntervalMillis <= 0 && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(this::flushDirty);
+        }
+    }
+
+    /**
+     * Writes every position changed so far and waits until that is done.
+     */
+    public void flush() throws InterruptedException {
+        try {
+            flusher.submit(this::flushDirty).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException, IOException {
+        flusher.execute(this::flushDirty);
+        flusher.shutdown();
+        if (!flusher.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Depth chart write-behind did not finish within 30s, the journal keeps what was not written");
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private void flushDirty() {
+        try {
+            writeDirty();
+        } catch (RuntimeException e) {
+            // keeps the scheduled flusher alive, which stops rescheduling after an exception
+            log.error("Depth chart write-behind flush failed", e);
+        }
+    }
+
+    private void writeDirty() {
+        flushScheduled.set(false);
+        Map<DepthChartKey, PendingWrite> pending;
+        long coalesced;
+        rotationLock.writeLock().lock();
+        try {
+            if (journal != null) {
+                rotateJournal();
+            }
+            pending = dirty;
+            dirty = new ConcurrentHashMap<>();
+            coalesced = changes.sumThenReset();
+        } finally {
+            rotationLock.writeLock().unlock();
+        }
+        if (pending.isEmpty() && retainedSegments.isEmpty() && !snapshotRequested) {
+            return;
+        }
+
+        try {
+            // in the order of the changes, so a team's history baseline taken at its first revision precedes the others
+            transactionTemplate.executeWithoutResult(status -> pending.values().stream()
+                    .sorted(Comparator.comparing(PendingWrite::changedAt))
+                    .forEach(this::writePosition));
+            log.debug("Wrote {} depth chart positions for {} changes", pending.size(), coalesced);
+            if (snapshotIntervalMillis <= 0) {
+                deleteRetainedSegments();
+            } else if (snapshotRequested
+                    || (!retainedSegments.isEmpty() && System.currentTimeMillis() - lastSnapshotAt >= snapshotIntervalMillis)) {
+                writeSnapshot();
+            }
+        } catch (RuntimeException e) {
+            log.error("Write-behind of {} depth chart positions failed, retrying on the next flush", pending.size(), e);
+            pending.forEach(dirty::putIfAbsent);
+        }
+    }
+
+    private void writePosition(PendingWrite write) {
+        List<DepthChart> rows = write.depthChart().rows(write.team(), write.position());
+        replacePosition(write.team(), write.position(), rows);
+        historyService.recordRevision(write.team(), write.position(), write.changedAt(), rows.stream()
+                .map(row -> new DepthChartEntry(row.getPosition(), row.getPositionDepth(), row.getPlayer().getId(),
+                        row.getPlayer().getNumber(), row.getPlayer().getName()))
+                .toList());
+    }
+
+    private void replacePosition(Team team, Position position, List<DepthChart> rows) {
+        depthChartRepository.deleteByTeamAndPositionInBulk(team, List.of(position));
+        depthChartRepository.saveAll(rows);
+    }
+
+    /**
+     * Writes the last journaled state of every position left over from before a restart and, with snapshots on, loads
+     * the snapshot and replays those positions over it.
+     */
+    private void recover() throws IOException {
+        long startedAt = System.nanoTime();
+        List<Path> segments = journal.rotate();
+        Optional<DepthChartSnapshot.Contents> snapshot = snapshotIntervalMillis > 0 ? DepthChartSnapshot.read(snapshotFile) : Optional.empty();
+        long coveredSegment = snapshot.map(DepthChartSnapshot.Contents::coveredSegment).orElse(0L);
+        journal.numberAfter(coveredSegment);
+        // segments up to the snapshot were flushed before it was taken
+        List<Path> tail = segments.stream().filter(segment -> DepthChartJournal.segmentNumberOf(segment) > coveredSegment).toList();
+
+        Map<DepthChartKey, DepthChartJournal.Entry> latest = new LinkedHashMap<>();
+        for (DepthChartJournal.Entry entry : DepthChartJournal.read(tail)) {
+            latest.put(new DepthChartKey(entry.teamId(), entry.position()), entry);
+        }
+        if (!latest.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> latest.values().forEach(this::replacePosition));
+        }
+
+        if (snapshotIntervalMillis > 0) {
+            Map<Long, Map<Position, List<DepthChartJournal.JournaledPlayer>>> teams = new HashMap<>();
+            snapshot.ifPresent(contents -> teams.putAll(contents.teams()));
+            latest.values().forEach(entry -> teams.computeIfAbsent(entry.teamId(), teamId -> new EnumMap<>(Position.class))
+                    .put(entry.position(), entry.players()));
+            snapshotCoveredSegment = segments.isEmpty() ? coveredSegment : DepthChartJournal.segmentNumberOf(segments.getLast());
+            if (!segments.isEmpty()) {
+                DepthChartSnapshot.write(snapshotFile, new DepthChartSnapshot.Contents(snapshotCoveredSegment, teams));
+            }
+            recovered = teams;
+        }
+        lastSnapshotAt = System.currentTimeMillis();
+        journal.delete(segments);
+        log.info("Recovered {} teams and {} journaled positions from {} journal segments in {} ms", recovered.size(),
+                latest.size(), tail.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private void replacePosition(DepthChartJournal.Entry entry) {
+        Team team = teamRepository.getReferenceById(entry.teamId());
+        List<DepthChart> rows = new ArrayList<>(entry.players().size());
+        for (DepthChartJournal.JournaledPlayer player : entry.players()) {
+            DepthChart row = new DepthChart();
+            row.setTeam(team);
+            row.setPosition(entry.position());
+            row.setPlayer(player.id() == null ? null : playerRepository.getReferenceById(player.id()));
+            row.setPositionDepth(rows.size() + 1);
+            rows.add(row);
+        }
+        replacePosition(team, entry.position(), rows);
+    }
+
+    private void rotateJournal() {
+        try {
+            for (Path segment : journal.rotate()) {
+                if (!retainedSegments.contains(segment)) {
+                    retainedSegments.add(segment);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not rotate the depth chart journal", e);
+        }
+    }
+
+    /**
+     * Runs right after a flush, when every retained segment is in the database and in memory, so the snapshot covers
+     * them; changes made since the flush are in later segments and replayed over the snapshot on startup.
+     */
+    private void writeSnapshot() {
+        snapshotRequested = false;
+        long coveredSegment = retainedSegments.isEmpty()
+                ? snapshotCoveredSegment
+                : DepthChartJournal.segmentNumberOf(retainedSegments.getLast());
+        Map<Long, Map<Position, List<DepthChartJournal.JournaledPlayer>>> teams = new HashMap<>();
+        liveDepthCharts.forEach((teamId, depthChart) -> {
+            Map<Position, List<DepthChartJournal.JournaledPlayer>> positions = new EnumMap<>(Position.class);
+            depthChart.positions().forEach((position, players) -> positions.put(position, journaled(players)));
+            teams.put(teamId, positions);
+        });
+        try {
+            DepthChartSnapshot.write(snapshotFile, new DepthChartSnapshot.Contents(coveredSegment, teams));
+            lastSnapshotAt = System.currentTimeMillis();
+            snapshotCoveredSegment = coveredSegment;
+            log.debug("Wrote depth chart snapshot of {} teams covering journal segment {}", teams.size(), coveredSegment);
+            deleteRetainedSegments();
+        } catch (IOException e) {
+            log.warn("Could not write the depth chart snapshot, keeping the journal", e);
+        }
+    }
+
+    private void deleteRetainedSegments() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.delete(retainedSegments);
+            retainedSegments.clear();
+        } catch (IOException e) {
+            log.warn("Could not delete flushed depth chart journal segments, they are replayed on restart", e);
+        }
+    }
+
+    private static List<DepthChartJournal.JournaledPlayer> journaled(Player[] players) {
+        List<DepthChartJournal.JournaledPlayer> journaled = new ArrayList<>(players.length);
+        for (Player player : players) {
+            journaled.add(new DepthChartJournal.JournaledPlayer(player.getId(), player.getNumber(), player.getName()));
+        }
+        return journaled;
+    }
+
+    private record PendingWrite(Team team, Position position, TeamDepthChart depthChart, Instant changedAt) {
+    }
+}
@@ -0,0 +1,348 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import dev.amir.depth_chart_manager.entity.DepthChart;
+import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.event.DepthChartChangedEvent;
+import dev.amir.depth_chart_manager.event.DepthChartReplacedEvent;
+import dev.amir.depth_chart_manager.event.PlayerDepthChangedEvent;
+import dev.amir.depth_chart_manager.journal.DepthChartJournal;
+import dev.amir.depth_chart_manager.metrics.DepthChartMetrics;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.dto.DepthChartOperation;
+import dev.amir.depth_chart_manager.model.enums.OperationType;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import dev.amir.depth_chart_manager.repository.DepthChartRepository;
+import dev.amir.depth_chart_manager.service.DepthChartService;
+import dev.amir.depth_chart_manager.service.PlayerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Depth chart service that serves every read and write from a {@link TeamDepthChart} per team, loaded from the
+ * database on the team's first use, or recovered by the write-behind on startup, and hands every changed position to the {@link DepthChartWriteBehind} while it
+ * still holds the team's write lock.
+ * <p>
+ * Depths are always dense: a requested depth past the end of a position puts the player at its end.
+ */
+@Service
+@ConditionalOnProperty(prefix = "depth-chart", name = "engine", havingValue = "IN_MEMORY")
+@Slf4j
+public class InMemoryDepthChartServiceImpl implements DepthChartService {
+
+    private final DepthChartRepository depthChartRepository;
+    private final PlayerService playerService;
+    private final DepthChartWriteBehind writeBehind;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DepthChartMetrics metrics;
+    private final Map<Long, TeamDepthChart> depthCharts = new ConcurrentHashMap<>();
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    public InMemoryDepthChartServiceImpl(DepthChartRepository depthChartRepository, PlayerService playerService,
+                                         DepthChartWriteBehind writeBehind, ApplicationEventPublisher eventPublisher,
+                                         DepthChartMetrics metrics) {
+        this.depthChartRepository = depthChartRepository;
+        this.playerService = playerService;
+        this.writeBehind = writeBehind;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+        writeBehind.recovered().forEach((teamId, positions) -> depthCharts.put(teamId, recoveredDepthChart(positions)));
+        writeBehind.snapshotFrom(depthCharts);
+        if (!depthCharts.isEmpty()) {
+            log.info("Serving {} recovered depth charts", depthCharts.size());
+        }
+    }
+
+    @Override
+    public void addPlayerToDepthChart(Team team, Position position, Player player, Integer positionDepth) {
+        metrics.timeOperation("add", position, () -> {
+            TeamDepthChart depthChart = depthChartOf(team);
+            int shiftedRows = depthChart.write(() -> {
+                if (depthChart.depthOf(position, player.getNumber()) > 0) {
+                    throw new DataIntegrityViolationException("UNQ_TEAM_POSITION_PLAYERNUMBER: player " + player.getNumber()
+                            + " is already in the depth chart of " + position);
+                }
+                int depth = depthChart.insert(position, snapshotOf(team, position, player), positionDepth);
+                writeBehind.schedule(team, position, depthChart);
+                publishChange(team, position, player, null, depth);
+                return depthChart.size(position) - depth;
+            });
+            metrics.recordRowsShifted("add", position, shiftedRows);
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<DepthChart> removePlayerFromDepthChart(Team team, Position position, Player player) {
+        return metrics.timeOperation("remove", position, () -> {
+            TeamDepthChart depthChart = depthChartOf(team);
+            Optional<DepthChart> removed = depthChart.write(() -> {
+                int depth = depthChart.depthOf(position, player.getNumber());
+                if (depth == 0) {
+                    return Optional.empty();
+                }
+                Player removedPlayer = depthChart.removeAt(position, depth);
+                writeBehind.schedule(team, position, depthChart);
+                metrics.recordRowsShifted("remove", position, depthChart.size(position) - depth + 1);
+                publishChange(team, position, removedPlayer, depth, null);
+                return Optional.of(toDepthChart(team, position, removedPlayer, depth));
+            });
+            return removed;
+        });
+    }
+
+    @Override
+    public Map<Position, Integer> getPlayerPositions(Team team, Long playerNumber) {
+        return metrics.timeOperation("positions", DepthChartMetrics.ALL_POSITIONS, () -> depthChartOf(team).positionsOf(playerNumber));
+    }
+
+    /**
+     * Removes the player from every position the reverse index lists under one write, whose positions the next flush
+     * writes back together.
+     */
+    @Override
+    public List<DepthChart> removePlayerFromAllDepthCharts(Team team, Long playerNumber) {
+        return metrics.timeOperation("removeAll", DepthChartMetrics.ALL_POSITIONS, () -> {
+            TeamDepthChart depthChart = depthChartOf(team);
+            return depthChart.write(() -> {
+                List<DepthChart> removed = new ArrayList<>();
+                depthChart.heldPositions(playerNumber).forEach((position, depth) -> {
+                    Player removedPlayer = depthChart.removeAt(position, depth);
+                    writeBehind.schedule(team, position, depthChart);
+                    publishChange(team, position, removedPlayer, depth, null);
+                    removed.add(toDepthChart(team, position, removedPlayer, depth));
+                });
+                return removed;
+            });
+        });
+    }
+
+    @Override
+    public Optional<DepthChart> movePlayerInDepthChart(Team team, Position position, Player player, Integer positionDepth) {
+        return metrics.timeOperation("move", position, () -> {
+            TeamDepthChart depthChart = depthChartOf(team);
+            return depthChart.write(() -> {
+                int depth = depthChart.depthOf(position, player.getNumber());
+                if (depth == 0) {
+                    return Optional.<DepthChart>empty();
+                }
+                int newDepth = depthChart.move(position, depth, positionDepth);
+                Player movedPlayer = depthChart.playerAt(position, newDepth);
+                if (newDepth != depth) {
+                    writeBehind.schedule(team, position, depthChart);
+                    metrics.recordRowsShifted("move", position, Math.abs(newDepth - depth));
+                    publishChange(team, position, movedPlayer, depth, newDepth);
+                }
+                return Optional.of(toDepthChart(team, position, movedPlayer, newDepth));
+            });
+        });
+    }
+
+    @Override
+    public List<DepthChart> swapPlayersInDepthChart(Team team, Position position, Player player, Player otherPlayer) {
+        return metrics.timeOperation("swap", position, () -> {
+            TeamDepthChart depthChart = depthChartOf(team);
+            return depthChart.write(() -> {
+                int depth = depthChart.depthOf(position, player.getNumber());
+                int otherDepth = depthChart.depthOf(position, otherPlayer.getNumber());
+                if (depth == 0 || otherDepth == 0) {
+                    return List.<DepthChart>of();
+                }
+                if (depth != otherDepth) {
+                    depthChart.swap(position, depth, otherDepth);
+                    writeBehind.schedule(team, position, depthChart);
+                    metrics.recordRowsShifted("swap", position, 0);
+                    eventPublisher.publishEvent(new DepthChartChangedEvent(team.getId(), position));
+                    eventPublisher.publishEvent(new PlayerDepthChangedEvent(team, position, depthChart.playerAt(position, otherDepth), depth, otherDepth));
+                    eventPublisher.publishEvent(new PlayerDepthChangedEvent(team, position, depthChart.playerAt(position, depth), otherDepth, depth));
+                }
+                return List.of(toDepthChart(team, position, depthChart.playerAt(position, otherDepth), otherDepth),
+                        toDepthChart(team, position, depthChart.playerAt(position, depth), depth));
+            });
+        });
+    }
+
+    @Override
+    public List<DepthChartEntry> getBackups(Team team, Position position, Player player) {
+        return metrics.timeOperation("backups", position, () -> depthChartOf(team).backups(position, player.getNumber()));
+    }
+
+    @Override
+    public Map<Position, List<DepthChartEntry>> getFullDepthChart(Team team) {
+        return metrics.timeOperation("full", DepthChartMetrics.ALL_POSITIONS, () -> depthChartOf(team).fullDepthChart());
+    }
+
+    /**
+     * Applies the operations with the same rules as the database batch: ADD moves a player already in the position,
+     * REMOVE and MOVE of a player not in it do nothing. The added players are saved before the chart is changed.
+     */
+    @Override
+    public Map<Position, List<Player>> applyDepthChartOperations(Team team, List<DepthChartOperation> requestedOperations) {
+        return metrics.timeOperation("batch", DepthChartMetrics.ALL_POSITIONS, () -> {
+            List<DepthChartOperation> operations = DepthChartServiceImpl.withSavedPlayers(playerService, team, requestedOperations);
+            TeamDepthChart depthChart = depthChartOf(team);
+            return depthChart.write(() -> {
+                Set<Position> positions = EnumSet.noneOf(Position.class);
+                for (DepthChartOperation operation : operations) {
+                    applyOperation(team, depthChart, operation);
+                    positions.add(operation.position());
+                }
+                Map<Position, List<Player>> updated = new EnumMap<>(Position.class);
+                for (Position position : positions) {
+                    updated.put(position, Arrays.asList(depthChart.players(position)));
+                    writeBehind.schedule(team, position, depthChart);
+                    eventPublisher.publishEvent(new DepthChartChangedEvent(team.getId(), position));
+                    eventPublisher.publishEvent(new DepthChartReplacedEvent(team, position));
+                }
+                return updated;
+            });
+        });
+    }
+
+    /**
+     * Applies one chunk of a roster import under a single write: clears the positions the import has not written yet,
+     * then puts each imported row at its depth, moving a player the chunk lists twice. Imports go through here rather
+     * than straight to the database, where the next flush of this engine's state of the team would overwrite them.
+     */
+    public void importDepthCharts(Team team, Set<Position> replacedPositions, List<DepthChart> rows) {
+        metrics.timeOperation("import", DepthChartMetrics.ALL_POSITIONS, () -> {
+            TeamDepthChart depthChart = depthChartOf(team);
+            depthChart.write(() -> {
+                Set<Position> positions = EnumSet.noneOf(Position.class);
+                for (Position position : replacedPositions) {
+                    for (int size = depthChart.size(position); size > 0; size--) {
+                        depthChart.removeAt(position, size);
+                    }
+                    positions.add(position);
+                }
+                for (DepthChart row : rows) {
+                    applyOperation(team, depthChart, new DepthChartOperation(OperationType.ADD, row.getPosition(), row.getPlayer(), row.getPositionDepth()));
+                    positions.add(row.getPosition());
+                }
+                for (Position position : positions) {
+                    writeBehind.schedule(team, position, depthChart);
+                    eventPublisher.publishEvent(new DepthChartChangedEvent(team.getId(), position));
+                    eventPublisher.publishEvent(new DepthChartReplacedEvent(team, position));
+                }
+                return null;
+            });
+            return null;
+        });
+    }
+
+    /**
+     * A depth chart write committed to the database without going through this engine makes the team reload on its
+     * next use. This engine's own writes publish outside of any transaction and never reach this listener, and neither
+     * do the changes of other instances republished by the {@code DepthChartInvalidationBus}, which only keeps the JPA
+     * engine's cache coherent.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDepthChartChanged(DepthChartChangedEvent event) {
+        if (depthCharts.remove(event.teamId()) != null) {
+            writeBehind.requestSnapshot();
+            log.debug("Dropped in-memory depth chart of team {} after a database write to {}", event.teamId(), event.position());
+        }
+    }
+
+    private static void applyOperation(Team team, TeamDepthChart depthChart, DepthChartOperation operation) {
+        Position position = operation.position();
+        int depth = depthChart.depthOf(position, operation.player().getNumber());
+        switch (operation.type()) {
+            case ADD -> {
+                if (depth > 0) {
+                    depthChart.move(position, depth, operation.positionDepth());
+                } else {
+                    depthChart.insert(position, snapshotOf(team, position, operation.player()), operation.positionDepth());
+                }
+            }
+            case REMOVE -> {
+                if (depth > 0) {
+                    depthChart.removeAt(position, depth);
+                }
+            }
+            case MOVE -> {
+                if (depth > 0) {
+                    depthChart.move(position, depth, operation.positionDepth());
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads under a {@link ReentrantLock} rather than in a {@code computeIfAbsent} callback, so a virtual thread blocked
+     * on the query does not pin its carrier thread. Recovered charts only get their team here.
+     */
+    private TeamDepthChart depthChartOf(Team team) {
+        TeamDepthChart depthChart = depthCharts.get(team.getId());
+        if (depthChart != null && depthChart.isAttached()) {
+            return depthChart;
+        }
+        loadLock.lock();
+        try {
+            depthChart = depthCharts.get(team.getId());
+            if (depthChart == null) {
+                List<DepthChart> rows = depthChartRepository.findByTeamOrderByPositionAscPositionDepthAsc(team);
+                rows.forEach(row -> row.setPlayer(snapshotOf(team, row.getPosition(), row.getPlayer())));
+                depthChart = TeamDepthChart.of(rows);
+                depthCharts.put(team.getId(), depthChart);
+                log.debug("Loaded depth chart of team {} with {} players", team.getId(), rows.size());
+            }
+            if (!depthChart.isAttached()) {
+                depthChart.attach(team);
+            }
+            return depthChart;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private static TeamDepthChart recoveredDepthChart(Map<Position, List<DepthChartJournal.JournaledPlayer>> positions) {
+        TeamDepthChart depthChart = new TeamDepthChart();
+        positions.forEach((position, players) -> players.forEach(journaled -> {
+            Player player = new Player();
+            player.setId(journaled.id());
+            player.setNumber(journaled.number());
+            player.setName(journaled.name());
+            player.setPosition(position);
+            depthChart.insert(position, player, null);
+        }));
+        return depthChart;
+    }
+
+    private void publishChange(Team team, Position position, Player player, Integer oldDepth, Integer newDepth) {
+        eventPublisher.publishEvent(new DepthChartChangedEvent(team.getId(), position));
+        eventPublisher.publishEvent(new PlayerDepthChangedEvent(team, position, player, oldDepth, newDepth));
+    }
+
+    /**
+     * Detached copy of the player that only carries what the chart serves and writes back, so callers mutating the
+     * player they passed in or got back cannot change the chart.
+     */
+    private static Player snapshotOf(Team team, Position position, Player player) {
+        Player snapshot = new Player();
+        snapshot.setId(player.getId());
+        snapshot.setNumber(player.getNumber());
+        snapshot.setName(player.getName());
+        snapshot.setPosition(position);
+        snapshot.setTeam(team);
+        return snapshot;
+    }
+
+    private static DepthChart toDepthChart(Team team, Position position, Player player, int depth) {
+        DepthChart depthChart = new DepthChart();
+        depthChart.setTeam(team);
+        depthChart.setPosition(position);
+        depthChart.setPlayer(player);
+        depthChart.setPositionDepth(depth);
+        return depthChart;
+    }
+}
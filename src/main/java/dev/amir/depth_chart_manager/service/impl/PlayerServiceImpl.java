@@ -1,10 +1,17 @@
 package dev.amir.depth_chart_manager.service.impl;
 
 import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
 import dev.amir.depth_chart_manager.repository.PlayerRepository;
 import dev.amir.depth_chart_manager.service.PlayerService;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 public class PlayerServiceImpl implements PlayerService {
 
@@ -14,8 +21,47 @@ public class PlayerServiceImpl implements PlayerService {
         this.playerRepository = playerRepository;
     }
 
+    /**
+     * Players are unique by (team, number), so a player already on the team's roster is updated instead of
+     * inserted again when they are added to another position.
+     */
     @Override
     public Player savePlayer(Player player) {
-        return playerRepository.save(player);
+        if (player.getTeam() == null || player.getNumber() == null) {
+            return playerRepository.save(player);
+        }
+        return playerRepository.findByTeamAndNumber(player.getTeam(), player.getNumber())
+                .map(existing -> {
+                    existing.setName(player.getName());
+                    existing.setPosition(player.getPosition());
+                    return playerRepository.save(existing);
+                })
+                .orElseGet(() -> playerRepository.save(player));
+    }
+
+    /**
+     * Upserts a team's players with one lookup for all numbers and one (batched) write, returning one saved player per
+     * distinct number; the last occurrence of a number wins.
+     */
+    @Override
+    public List<Player> savePlayers(Team team, List<Player> players) {
+        Map<Long, Player> playersByNumber = players.stream()
+                .collect(Collectors.toMap(Player::getNumber, Function.identity(), (first, last) -> last, LinkedHashMap::new));
+        Map<Long, Player> existingPlayers = playerRepository.findByTeamAndNumberIn(team, playersByNumber.keySet()).stream()
+                .collect(Collectors.toMap(Player::getNumber, Function.identity()));
+
+        List<Player> upserts = playersByNumber.values().stream()
+                .map(player -> {
+                    Player existing = existingPlayers.get(player.getNumber());
+                    if (existing == null) {
+                        player.setTeam(team);
+                        return player;
+                    }
+                    existing.setName(player.getName());
+                    existing.setPosition(player.getPosition());
+                    return existing;
+                })
+                .toList();
+        return playerRepository.saveAll(upserts);
     }
 }
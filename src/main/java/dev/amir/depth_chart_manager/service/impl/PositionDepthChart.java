@@ -0,0 +1,125 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import dev.amir.depth_chart_manager.entity.DepthChart;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * In-memory copy of one position of a team's depth chart that applies adds, removals and moves with exactly the same
+ * shifting rules as the single-operation SQL paths, so a batch ends with the depths the same calls one by one would
+ * have produced.
+ * <p>
+ * In the SPARSE ordering the rows are loaded with their ranks, worked on with their 1..N depths, and given ranks again
+ * by {@link #assignSparseRanks()} before they are written, keeping the loaded rank of every row still in order.
+ */
+class PositionDepthChart {
+
+    private final List<DepthChart> depthCharts;
+    private final Map<Long, Integer> loadedDepths = new HashMap<>();
+    private final List<DepthChart> removed = new ArrayList<>();
+
+    PositionDepthChart(List<DepthChart> orderedDepthCharts) {
+        this(orderedDepthCharts, false);
+    }
+
+    PositionDepthChart(List<DepthChart> orderedDepthCharts, boolean sparse) {
+        this.depthCharts = new ArrayList<>(orderedDepthCharts);
+        orderedDepthCharts.forEach(dc -> loadedDepths.put(dc.getId(), dc.getPositionDepth()));
+        if (sparse) {
+            for (int i = 0; i < depthCharts.size(); i++) {
+                depthCharts.get(i).setPositionDepth(i + 1);
+            }
+        }
+    }
+
+    /**
+     * Adds the row at {@code positionDepth}, clamped to the position like a single add, or at the end when it is null.
+     */
+    void add(DepthChart newDepthChart, Integer positionDepth) {
+        int depth = positionDepth == null ? depthCharts.size() + 1 : Math.clamp(positionDepth, 1, depthCharts.size() + 1);
+        depthCharts.stream()
+                .filter(dc -> dc.getPositionDepth() >= depth)
+                .forEach(dc -> dc.setPositionDepth(dc.getPositionDepth() + 1));
+        newDepthChart.setPositionDepth(depth);
+        depthCharts.add(insertionIndex(depth), newDepthChart);
+    }
+
+    /**
+     * Moves the player if they are already in the depth chart (or were removed earlier in the same batch, in which case
+     * their row is reused), otherwise adds a new row for them.
+     */
+    void addOrMove(Long playerNumber, Integer positionDepth, Supplier<DepthChart> newDepthChart) {
+        if (move(playerNumber, positionDepth)) {
+            return;
+        }
+        Optional<DepthChart> removedDepthChart = removed.stream()
+                .filter(dc -> Objects.equals(dc.getPlayer().getNumber(), playerNumber))
+                .findFirst();
+        removedDepthChart.ifPresent(removed::remove);
+        add(removedDepthChart.orElseGet(newDepthChart), positionDepth);
+    }
+
+    Optional<DepthChart> remove(Long playerNumber) {
+        Optional<DepthChart> depthChart = find(playerNumber);
+        depthChart.ifPresent(removedDepthChart -> {
+            depthCharts.remove(removedDepthChart);
+            depthCharts.stream()
+                    .filter(dc -> dc.getPositionDepth() > removedDepthChart.getPositionDepth())
+                    .forEach(dc -> dc.setPositionDepth(dc.getPositionDepth() - 1));
+            if (removedDepthChart.getId() != null) {
+                removed.add(removedDepthChart);
+            }
+        });
+        return depthChart;
+    }
+
+    boolean move(Long playerNumber, Integer positionDepth) {
+        Optional<DepthChart> depthChart = remove(playerNumber);
+        depthChart.ifPresent(movedDepthChart -> {
+            removed.remove(movedDepthChart);
+            add(movedDepthChart, positionDepth);
+        });
+        return depthChart.isPresent();
+    }
+
+    Optional<DepthChart> find(Long playerNumber) {
+        return depthCharts.stream()
+                .filter(dc -> Objects.equals(dc.getPlayer().getNumber(), playerNumber))
+                .findFirst();
+    }
+
+    List<DepthChart> getDepthCharts() {
+        return Collections.unmodifiableList(depthCharts);
+    }
+
+    /**
+     * New rows and loaded rows whose depth differs from the one they were loaded with.
+     */
+    List<DepthChart> getChanged() {
+        return depthCharts.stream()
+                .filter(dc -> dc.getId() == null || !Objects.equals(loadedDepths.get(dc.getId()), dc.getPositionDepth()))
+                .toList();
+    }
+
+    void assignSparseRanks() {
+        int[] ranks = SparseRanks.reassign(depthCharts.stream()
+                .map(dc -> dc.getId() == null ? null : loadedDepths.get(dc.getId()))
+                .toList());
+        for (int i = 0; i < ranks.length; i++) {
+            depthCharts.get(i).setPositionDepth(ranks[i]);
+        }
+    }
+
+    List<DepthChart> getRemoved() {
+        return Collections.unmodifiableList(removed);
+    }
+
+    private int insertionIndex(int depth) {
+        int index = 0;
+        while (index < depthCharts.size() && depthCharts.get(index).getPositionDepth() < depth) {
+            index++;
+        }
+        return index;
+    }
+}
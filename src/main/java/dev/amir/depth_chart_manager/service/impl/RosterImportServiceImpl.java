@@ -0,0 +1,213 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.amir.depth_chart_manager.concurrency.DepthChartKey;
+import dev.amir.depth_chart_manager.concurrency.DepthChartWriteCoordinator;
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
+import dev.amir.depth_chart_manager.entity.DepthChart;
+import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.event.DepthChartChangedEvent;
+import dev.amir.depth_chart_manager.event.DepthChartReplacedEvent;
+import dev.amir.depth_chart_manager.importer.ImportFormat;
+import dev.amir.depth_chart_manager.importer.RosterRecordReader;
+import dev.amir.depth_chart_manager.model.dto.ImportResult;
+import dev.amir.depth_chart_manager.model.dto.RosterRecord;
+import dev.amir.depth_chart_manager.model.enums.DepthChartOrdering;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import dev.amir.depth_chart_manager.repository.DepthChartRepository;
+import dev.amir.depth_chart_manager.service.PlayerService;
+import dev.amir.depth_chart_manager.service.RosterImportService;
+import dev.amir.depth_chart_manager.service.TeamService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Streams a league roster file into the database in chunks. Each chunk is written in its own transaction with batched
+ * player upserts and depth chart inserts; a (team, position) found in the file has its existing depth chart replaced
+ * by the imported one. The depths of the file only order a position's players, which are numbered 1..N in that order
+ * (a record without a depth following the record before it), so gaps, duplicates or a 0 in the file never reach the
+ * stored chart; a position spread over several chunks has each chunk's players appended after the earlier ones. In
+ * the SPARSE ordering the imported depths are stored as ranks {@link SparseRanks#GAP} apart, so
+ * later inserts between imported players find room.
+ * <p>
+ * With the {@link InMemoryDepthChartServiceImpl} engine only the players are written here: each chunk's depth charts
+ * are handed to the engine once the players are committed, and reach the database through its write-behind, which
+ * would otherwise overwrite them with the engine's own state of the team.
+ */
+@Service
+@Slf4j
+public class RosterImportServiceImpl implements RosterImportService {
+
+    private final TeamService teamService;
+    private final PlayerService playerService;
+    private final DepthChartRepository depthChartRepository;
+    private final DepthChartWriteCoordinator writeCoordinator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final InMemoryDepthChartServiceImpl inMemoryEngine;
+    private final boolean sparse;
+    private final int chunkSize;
+
+    public RosterImportServiceImpl(TeamService teamService, PlayerService playerService, DepthChartRepository depthChartRepository,
+                                   DepthChartWriteCoordinator writeCoordinator, ApplicationEventPublisher eventPublisher,
+                                   ObjectMapper objectMapper, ObjectProvider<InMemoryDepthChartServiceImpl> inMemoryEngine,
+                                   DepthChartProperties properties) {
+        this.teamService = teamService;
+        this.playerService = playerService;
+        this.depthChartRepository = depthChartRepository;
+        this.writeCoordinator = writeCoordinator;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.inMemoryEngine = inMemoryEngine.getIfAvailable();
+        this.sparse = this.inMemoryEngine == null && properties.getOrdering() == DepthChartOrdering.SPARSE;
+        this.chunkSize = properties.getRosterImport().getChunkSize();
+    }
+
+    @Override
+    public ImportResult importRoster(ImportFormat format, InputStream inputStream) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        ImportProgress progress = new ImportProgress();
+
+        try (RosterRecordReader reader = RosterRecordReader.open(format, inputStream, objectMapper)) {
+            List<RosterRecord> chunk = new ArrayList<>(chunkSize);
+            while (reader.hasNext()) {
+                chunk.add(reader.next());
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, progress);
+                    chunk.clear();
+                    log.info("Roster import progress: {} records, {} players, {} depthCharts in {} ms",
+                            progress.records, progress.players, progress.depthCharts, System.currentTimeMillis() - startedAt);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, progress);
+            }
+        }
+
+        ImportResult result = new ImportResult(progress.records, progress.players, progress.depthCharts,
+                progress.teams.size(), System.currentTimeMillis() - startedAt);
+        log.info("Roster import finished: {}", result);
+        return result;
+    }
+
+    private void importChunk(List<RosterRecord> chunk, ImportProgress progress) {
+        Map<String, Team> teams = new HashMap<>();
+        Map<DepthChartKey, List<RosterRecord>> recordsByKey = new LinkedHashMap<>();
+        for (RosterRecord rosterRecord : chunk) {
+            Team team = teams.computeIfAbsent(rosterRecord.sport() + '/' + rosterRecord.team(),
+                    key -> progress.teams.computeIfAbsent(key, k -> teamService.findOrCreateTeam(rosterRecord.sport(), rosterRecord.team())));
+            recordsByKey.computeIfAbsent(DepthChartKey.of(team, rosterRecord.position()), key -> new ArrayList<>()).add(rosterRecord);
+        }
+        Map<Long, Team> teamsById = teams.values().stream().collect(Collectors.toMap(Team::getId, Function.identity()));
+
+        Map<Long, Set<Position>> replacedPositions = positionsSeenFirstTime(recordsByKey.keySet(), progress);
+        List<DepthChart> depthCharts = new ArrayList<>(chunk.size());
+        writeCoordinator.run(recordsByKey.keySet(), () -> {
+            depthCharts.clear();
+            if (inMemoryEngine == null) {
+                replacedPositions.forEach((teamId, positions) ->
+                        depthChartRepository.deleteByTeamAndPositionInBulk(teamsById.get(teamId), List.copyOf(positions)));
+            }
+
+            Map<Long, Map<Long, Player>> playersByTeam = new HashMap<>();
+            teamsById.values().forEach(team -> {
+                List<Player> players = chunk.stream()
+                        .filter(rosterRecord -> teams.get(rosterRecord.sport() + '/' + rosterRecord.team()) == team)
+                        .map(RosterImportServiceImpl::toPlayer)
+                        .toList();
+                List<Player> savedPlayers = playerService.savePlayers(team, players);
+                progress.players += savedPlayers.size();
+                playersByTeam.put(team.getId(), savedPlayers.stream().collect(Collectors.toMap(Player::getNumber, Function.identity())));
+            });
+
+            recordsByKey.forEach((key, rosterRecords) -> {
+                Team team = teamsById.get(key.teamId());
+                int[] lastDepth = progress.lastDepths.get(key);
+                for (RosterRecord rosterRecord : inDepthOrder(rosterRecords)) {
+                    int depth = ++lastDepth[0];
+                    depthCharts.add(newDepthChart(team, key.position(), playersByTeam.get(team.getId()).get(rosterRecord.number()),
+                            sparse ? SparseRanks.spaced(depth - 1) : depth));
+                }
+                if (inMemoryEngine == null) {
+                    eventPublisher.publishEvent(new DepthChartChangedEvent(team.getId(), key.position()));
+                    eventPublisher.publishEvent(new DepthChartReplacedEvent(team, key.position()));
+                }
+            });
+            if (inMemoryEngine == null) {
+                depthChartRepository.saveAll(depthCharts);
+            }
+            progress.depthCharts += depthCharts.size();
+        });
+        if (inMemoryEngine != null) {
+            depthCharts.stream()
+                    .collect(Collectors.groupingBy(depthChart -> depthChart.getTeam().getId(), LinkedHashMap::new, Collectors.toList()))
+                    .forEach((teamId, rows) -> inMemoryEngine.importDepthCharts(teamsById.get(teamId),
+                            replacedPositions.getOrDefault(teamId, Set.of()), rows));
+        }
+        progress.records += chunk.size();
+    }
+
+    /**
+     * The positions of each team this import has not written yet, whose existing depth chart the chunk replaces; with
+     * the database engine they are cleared with one statement per team before anything else is written.
+     */
+    private static Map<Long, Set<Position>> positionsSeenFirstTime(Collection<DepthChartKey> keys, ImportProgress progress) {
+        Map<Long, Set<Position>> newPositionsByTeam = new HashMap<>();
+        keys.stream()
+                .filter(key -> progress.lastDepths.putIfAbsent(key, new int[1]) == null)
+                .forEach(key -> newPositionsByTeam.computeIfAbsent(key.teamId(), id -> EnumSet.noneOf(Position.class)).add(key.position()));
+        return newPositionsByTeam;
+    }
+
+    /**
+     * The records of one position ordered by the depths given in the file, keeping the file order among equal depths.
+     */
+    private static List<RosterRecord> inDepthOrder(List<RosterRecord> rosterRecords) {
+        int[] requestedDepths = new int[rosterRecords.size()];
+        int previousDepth = 0;
+        for (int i = 0; i < requestedDepths.length; i++) {
+            Integer positionDepth = rosterRecords.get(i).positionDepth();
+            previousDepth = positionDepth == null ? previousDepth + 1 : positionDepth;
+            requestedDepths[i] = previousDepth;
+        }
+        return IntStream.range(0, requestedDepths.length).boxed()
+                .sorted(Comparator.comparingInt(i -> requestedDepths[i]))
+                .map(rosterRecords::get)
+                .toList();
+    }
+
+    private static Player toPlayer(RosterRecord rosterRecord) {
+        Player player = new Player();
+        player.setNumber(rosterRecord.number());
+        player.setName(rosterRecord.name());
+        player.setPosition(rosterRecord.position());
+        return player;
+    }
+
+    private static DepthChart newDepthChart(Team team, Position position, Player player, int positionDepth) {
+        DepthChart depthChart = new DepthChart();
+        depthChart.setTeam(team);
+        depthChart.setPosition(position);
+        depthChart.setPlayer(player);
+        depthChart.setPositionDepth(positionDepth);
+        return depthChart;
+    }
+
+    private static class ImportProgress {
+        private final Map<String, Team> teams = new HashMap<>();
+        private final Map<DepthChartKey, int[]> lastDepths = new HashMap<>();
+        private long records;
+        private long players;
+        private long depthCharts;
+    }
+}
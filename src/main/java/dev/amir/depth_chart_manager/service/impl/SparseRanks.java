@@ -0,0 +1,132 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Ranks of the SPARSE ordering, where {@code position_depth} holds a rank that only has to sort the rows of a position
+ * rather than their 1..N depth. Ranks are handed out {@link #GAP} apart, a row inserted between two others takes the
+ * midpoint of their ranks, and only once two neighbours are adjacent is the whole position spread out again.
+ */
+final class SparseRanks {
+
+    static final int GAP = 1 << 10;
+
+    private SparseRanks() {
+    }
+
+    /**
+     * Rank of the row at {@code index} of a position that was just rebalanced.
+     */
+    static int spaced(int index) {
+        return (index + 1) * GAP;
+    }
+
+    /**
+     * A rank sorting between {@code before} and {@code after}, either of which is null at that end of the position,
+     * or empty when there is no room left between them and the position has to be rebalanced.
+     */
+    static OptionalInt between(Integer before, Integer after) {
+        if (before == null && after == null) {
+            return OptionalInt.of(GAP);
+        }
+        long low = before != null ? before : (long) after - 2 * GAP;
+        long high = after != null ? after : (long) before + 2 * GAP;
+        if (high - low < 2 || low < Integer.MIN_VALUE || high > Integer.MAX_VALUE) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of((int) Math.floorDiv(low + high, 2));
+    }
+
+    /**
+     * Ranks for the rows of a position in their new order, given the rank each was loaded with or null for new rows.
+     * The longest run of rows whose loaded ranks are still in order keeps them, so only the rows that were added or
+     * moved are written; they are spread evenly between their kept neighbours, and if one of those gaps is too small
+     * the whole position is rebalanced.
+     */
+    static int[] reassign(List<Integer> loadedRanks) {
+        int size = loadedRanks.size();
+        boolean[] kept = longestIncreasingRun(loadedRanks);
+        int[] ranks = new int[size];
+        int previous = -1;
+        for (int next = 0; next <= size; next++) {
+            if (next < size && !kept[next]) {
+                continue;
+            }
+            int count = next - previous - 1;
+            if (count > 0 && !fill(ranks, loadedRanks, previous, next, count)) {
+                Arrays.setAll(ranks, SparseRanks::spaced);
+                return ranks;
+            }
+            if (next < size) {
+                ranks[next] = loadedRanks.get(next);
+            }
+            previous = next;
+        }
+        return ranks;
+    }
+
+    /**
+     * The entries of one position in rank order, with their rank replaced by their 1..N depth.
+     */
+    static List<DepthChartEntry> withDenseDepths(List<DepthChartEntry> entries) {
+        List<DepthChartEntry> dense = new ArrayList<>(entries.size());
+        for (DepthChartEntry entry : entries) {
+            dense.add(new DepthChartEntry(entry.position(), dense.size() + 1, entry.playerId(), entry.number(), entry.name()));
+        }
+        return dense;
+    }
+
+    private static boolean fill(int[] ranks, List<Integer> loadedRanks, int previous, int next, int count) {
+        boolean first = previous < 0;
+        boolean last = next == ranks.length;
+        long low = first ? (last ? 0 : (long) loadedRanks.get(next) - (long) (count + 1) * GAP) : loadedRanks.get(previous);
+        long high = last ? low + (long) (count + 1) * GAP : loadedRanks.get(next);
+        long step = (high - low) / (count + 1);
+        if (step < 1 || low < Integer.MIN_VALUE || high > Integer.MAX_VALUE) {
+            return false;
+        }
+        for (int i = 1; i <= count; i++) {
+            ranks[previous + i] = (int) (low + step * i);
+        }
+        return true;
+    }
+
+    /**
+     * Marks a longest strictly increasing subsequence of the non-null ranks, found by patience sorting.
+     */
+    private static boolean[] longestIncreasingRun(List<Integer> ranks) {
+        int size = ranks.size();
+        int[] tails = new int[size];
+        int[] predecessors = new int[size];
+        int length = 0;
+        for (int i = 0; i < size; i++) {
+            Integer rank = ranks.get(i);
+            if (rank == null) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (ranks.get(tails[middle]) < rank) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            predecessors[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            length = Math.max(length, low + 1);
+        }
+        boolean[] kept = new boolean[size];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = predecessors[i]) {
+            kept[i] = true;
+        }
+        return kept;
+    }
+}
@@ -0,0 +1,340 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import dev.amir.depth_chart_manager.entity.DepthChart;
+import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.enums.Position;
+
+import java.util.*;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * One team's depth chart as primitive arrays: for every position, indexed by ordinal, the player numbers in depth
+ * order and the players at the same indexes. The depth of a player is its index + 1, so the chart is always dense.
+ * <p>
+ * Writes run through {@link #write} under the write lock of a {@link StampedLock} and shift players in place with
+ * {@link System#arraycopy}; arrays are only reallocated when a position outgrows them. Backups are scanned under an
+ * optimistic read that falls back to the read lock when a write got in between, and the full chart is built once per
+ * write and then shared by every read.
+ * <p>
+ * A reverse index keeps, per player number, a bit per position ordinal the player holds, so finding every position of
+ * a player only scans those positions.
+ */
+final class TeamDepthChart {
+
+    private static final Position[] POSITIONS = Position.values();
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final StampedLock lock = new StampedLock();
+    private final long[][] numbers = new long[POSITIONS.length][];
+    private final Player[][] players = new Player[POSITIONS.length][];
+    private final int[] sizes = new int[POSITIONS.length];
+    private final Map<Long, Long> positionsByPlayer = new HashMap<>();
+    private volatile Map<Position, List<DepthChartEntry>> fullDepthChart;
+    private volatile Team team;
+
+    TeamDepthChart() {
+        for (int position = 0; position < POSITIONS.length; position++) {
+            numbers[position] = new long[INITIAL_CAPACITY];
+            players[position] = new Player[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Builds the chart from rows ordered by position and depth.
+     */
+    static TeamDepthChart of(List<DepthChart> orderedDepthCharts) {
+        TeamDepthChart depthChart = new TeamDepthChart();
+        for (DepthChart row : orderedDepthCharts) {
+            depthChart.insert(row.getPosition(), row.getPlayer(), null);
+        }
+        return depthChart;
+    }
+
+    /**
+     * Whether the players carry their team, which charts recovered from a snapshot only get on the team's first use.
+     */
+    boolean isAttached() {
+        return team != null;
+    }
+
+    void attach(Team team) {
+        write(() -> {
+            for (int p = 0; p < POSITIONS.length; p++) {
+                for (int index = 0; index < sizes[p]; index++) {
+                    players[p][index].setTeam(team);
+                }
+            }
+            this.team = team;
+            return null;
+        });
+    }
+
+    <T> T write(Supplier<T> action) {
+        long stamp = lock.writeLock();
+        try {
+            fullDepthChart = null;
+            return action.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // the methods up to backups must only be called inside write
+
+    int size(Position position) {
+        return sizes[position.ordinal()];
+    }
+
+    /**
+     * Depth of the player in the position, or 0 when they are not in it.
+     */
+    int depthOf(Position position, long playerNumber) {
+        int p = position.ordinal();
+        long[] positionNumbers = numbers[p];
+        for (int index = 0; index < sizes[p]; index++) {
+            if (positionNumbers[index] == playerNumber) {
+                return index + 1;
+            }
+        }
+        return 0;
+    }
+
+    Player playerAt(Position position, int depth) {
+        return players[position.ordinal()][depth - 1];
+    }
+
+    Player[] players(Position position) {
+        int p = position.ordinal();
+        return Arrays.copyOf(players[p], sizes[p]);
+    }
+
+    /**
+     * Inserts the player at {@code positionDepth}, clamped to the chart, or at the end when it is null, shifting the
+     * players at and below it down, and returns the depth they were given.
+     */
+    int insert(Position position, Player player, Integer positionDepth) {
+        int p = position.ordinal();
+        int size = sizes[p];
+        int index = positionDepth == null ? size : Math.clamp(positionDepth - 1, 0, size);
+        if (size == numbers[p].length) {
+            numbers[p] = Arrays.copyOf(numbers[p], size * 2);
+            players[p] = Arrays.copyOf(players[p], size * 2);
+        }
+        System.arraycopy(numbers[p], index, numbers[p], index + 1, size - index);
+        System.arraycopy(players[p], index, players[p], index + 1, size - index);
+        numbers[p][index] = player.getNumber();
+        players[p][index] = player;
+        sizes[p] = size + 1;
+        positionsByPlayer.merge(player.getNumber(), 1L << p, (held, added) -> held | added);
+        return index + 1;
+    }
+
+    /**
+     * Removes the player at {@code depth}, shifting the players below it up.
+     */
+    Player removeAt(Position position, int depth) {
+        int p = position.ordinal();
+        int index = depth - 1;
+        int size = sizes[p];
+        Player removed = players[p][index];
+        System.arraycopy(numbers[p], index + 1, numbers[p], index, size - index - 1);
+        System.arraycopy(players[p], index + 1, players[p], index, size - index - 1);
+        players[p][size - 1] = null;
+        sizes[p] = size - 1;
+        positionsByPlayer.computeIfPresent(removed.getNumber(), (number, held) -> {
+            long remaining = held & ~(1L << p);
+            return remaining == 0 ? null : remaining;
+        });
+        return removed;
+    }
+
+    /**
+     * Moves the player at {@code fromDepth} to {@code positionDepth}, clamped to the chart, or to the end when it is
+     * null, shifting only the players in between, and returns the depth they were given.
+     */
+    int move(Position position, int fromDepth, Integer positionDepth) {
+        int p = position.ordinal();
+        int from = fromDepth - 1;
+        int to = positionDepth == null ? sizes[p] - 1 : Math.clamp(positionDepth - 1, 0, sizes[p] - 1);
+        long movedNumber = numbers[p][from];
+        Player movedPlayer = players[p][from];
+        if (from < to) {
+            System.arraycopy(numbers[p], from + 1, numbers[p], from, to - from);
+            System.arraycopy(players[p], from + 1, players[p], from, to - from);
+        } else if (from > to) {
+            System.arraycopy(numbers[p], to, numbers[p], to + 1, from - to);
+            System.arraycopy(players[p], to, players[p], to + 1, from - to);
+        }
+        numbers[p][to] = movedNumber;
+        players[p][to] = movedPlayer;
+        return to + 1;
+    }
+
+    /**
+     * The positions the player holds, each with the player's depth there, for readers outside of {@link #write}.
+     */
+    Map<Position, Integer> positionsOf(long playerNumber) {
+        long stamp = lock.readLock();
+        try {
+            return heldPositions(playerNumber);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * The positions the player holds, each with the player's depth there.
+     */
+    Map<Position, Integer> heldPositions(long playerNumber) {
+        Map<Position, Integer> positions = new EnumMap<>(Position.class);
+        long held = positionsByPlayer.getOrDefault(playerNumber, 0L);
+        while (held != 0) {
+            Position position = POSITIONS[Long.numberOfTrailingZeros(held)];
+            positions.put(position, depthOf(position, playerNumber));
+            held &= held - 1;
+        }
+        return positions;
+    }
+
+    /**
+     * Exchanges the players at the two depths.
+     */
+    void swap(Position position, int depth, int otherDepth) {
+        int p = position.ordinal();
+        long number = numbers[p][depth - 1];
+        Player player = players[p][depth - 1];
+        numbers[p][depth - 1] = numbers[p][otherDepth - 1];
+        players[p][depth - 1] = players[p][otherDepth - 1];
+        numbers[p][otherDepth - 1] = number;
+        players[p][otherDepth - 1] = player;
+    }
+
+    /**
+     * The players below the given one, or an empty list when they are not in the position.
+     */
+    List<DepthChartEntry> backups(Position position, long playerNumber) {
+        int p = position.ordinal();
+        long stamp = lock.tryOptimisticRead();
+        Backups backups = copyBackups(p, playerNumber);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                backups = copyBackups(p, playerNumber);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (backups == null) {
+            return List.of();
+        }
+        DepthChartEntry[] entries = new DepthChartEntry[backups.players().length];
+        for (int index = 0; index < entries.length; index++) {
+            entries[index] = entryOf(position, backups.firstDepth() + index, backups.players()[index]);
+        }
+        return List.of(entries);
+    }
+
+    Map<Position, List<DepthChartEntry>> fullDepthChart() {
+        Map<Position, List<DepthChartEntry>> current = fullDepthChart;
+        if (current != null) {
+            return current;
+        }
+        long stamp = lock.readLock();
+        try {
+            current = fullDepthChart;
+            if (current == null) {
+                current = buildFullDepthChart();
+                fullDepthChart = current;
+            }
+            return current;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Every non-empty position with its players in depth order, for snapshots.
+     */
+    Map<Position, Player[]> positions() {
+        long stamp = lock.readLock();
+        try {
+            Map<Position, Player[]> positions = new EnumMap<>(Position.class);
+            for (Position position : POSITIONS) {
+                int p = position.ordinal();
+                if (sizes[p] > 0) {
+                    positions.put(position, Arrays.copyOf(players[p], sizes[p]));
+                }
+            }
+            return positions;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * The position as depth chart rows, for writing it back to the database.
+     */
+    List<DepthChart> rows(Team team, Position position) {
+        int p = position.ordinal();
+        long stamp = lock.readLock();
+        try {
+            List<DepthChart> rows = new ArrayList<>(sizes[p]);
+            for (int index = 0; index < sizes[p]; index++) {
+                DepthChart row = new DepthChart();
+                row.setTeam(team);
+                row.setPosition(position);
+                row.setPlayer(players[p][index]);
+                row.setPositionDepth(index + 1);
+                rows.add(row);
+            }
+            return rows;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Bounded by the array lengths as well as the size, since an optimistic read may see a size and arrays from
+     * different writes; such a result is thrown away by the caller.
+     */
+    private Backups copyBackups(int p, long playerNumber) {
+        long[] positionNumbers = numbers[p];
+        Player[] positionPlayers = players[p];
+        int size = Math.min(sizes[p], Math.min(positionNumbers.length, positionPlayers.length));
+        for (int index = 0; index < size; index++) {
+            if (positionNumbers[index] == playerNumber) {
+                return new Backups(index + 2, Arrays.copyOfRange(positionPlayers, index + 1, size));
+            }
+        }
+        return null;
+    }
+
+    private Map<Position, List<DepthChartEntry>> buildFullDepthChart() {
+        Map<Position, List<DepthChartEntry>> depthChart = new EnumMap<>(Position.class);
+        for (Position position : POSITIONS) {
+            int p = position.ordinal();
+            if (sizes[p] == 0) {
+                continue;
+            }
+            DepthChartEntry[] entries = new DepthChartEntry[sizes[p]];
+            for (int index = 0; index < sizes[p]; index++) {
+                entries[index] = entryOf(position, index + 1, players[p][index]);
+            }
+            depthChart.put(position, List.of(entries));
+        }
+        return Collections.unmodifiableMap(depthChart);
+    }
+
+    private static DepthChartEntry entryOf(Position position, int depth, Player player) {
+        return new DepthChartEntry(position, depth, player.getId(), player.getNumber(), player.getName());
+    }
+
+    /**
+     * Players copied from below a player, the first of them at {@code firstDepth}.
+     */
+    private record Backups(int firstDepth, Player[] players) {
+    }
+}
@@ -0,0 +1,79 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import dev.amir.depth_chart_manager.entity.Sport;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.repository.SportRepository;
+import dev.amir.depth_chart_manager.repository.TeamRepository;
+import dev.amir.depth_chart_manager.service.TeamService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resolves the {sport}/{team} path variables to a {@link Team}. Teams are practically immutable, so resolved teams
+ * are kept in memory and every depth chart request after the first one only pays for its own team's rows.
+ */
+@Service
+@Slf4j
+public class TeamServiceImpl implements TeamService {
+
+    private final SportRepository sportRepository;
+    private final TeamRepository teamRepository;
+    private final Map<String, Team> resolvedTeams = new ConcurrentHashMap<>();
+    private final Lock createTeamLock = new ReentrantLock();
+
+    public TeamServiceImpl(SportRepository sportRepository, TeamRepository teamRepository) {
+        this.sportRepository = sportRepository;
+        this.teamRepository = teamRepository;
+    }
+
+    @Override
+    public Optional<Team> findTeam(String sport, String team) {
+        Team resolved = resolvedTeams.get(teamKey(sport, team));
+        if (resolved != null) {
+            return Optional.of(resolved);
+        }
+        Optional<Team> found = teamRepository.findBySportNameAndName(sport, team);
+        found.ifPresent(t -> resolvedTeams.put(teamKey(sport, team), t));
+        return found;
+    }
+
+    @Override
+    public Team findOrCreateTeam(String sport, String team) {
+        return findTeam(sport, team).orElseGet(() -> createTeam(sport, team));
+    }
+
+    /**
+     * Guarded by a {@link ReentrantLock} rather than {@code synchronized} or a {@code computeIfAbsent} callback, so a
+     * virtual thread blocked on the inserts does not pin its carrier thread.
+     */
+    private Team createTeam(String sport, String team) {
+        createTeamLock.lock();
+        try {
+            Team resolved = resolvedTeams.get(teamKey(sport, team));
+            if (resolved != null) {
+                return resolved;
+            }
+            Team created = teamRepository.findBySportNameAndName(sport, team)
+                    .orElseGet(() -> {
+                        Sport teamSport = sportRepository.findByName(sport)
+                                .orElseGet(() -> sportRepository.save(new Sport(0, null, sport, null)));
+                        log.info("Creating team {} in sport {}", team, sport);
+                        return teamRepository.save(new Team(0, null, team, teamSport, null));
+                    });
+            resolvedTeams.put(teamKey(sport, team), created);
+            return created;
+        } finally {
+            createTeamLock.unlock();
+        }
+    }
+
+    private static String teamKey(String sport, String team) {
+        return sport + '/' + team;
+    }
+}
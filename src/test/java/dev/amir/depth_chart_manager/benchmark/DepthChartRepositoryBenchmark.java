@@ -0,0 +1,71 @@
+package dev.amir.depth_chart_manager.benchmark;
+
+import dev.amir.depth_chart_manager.entity.DepthChart;
+import dev.amir.depth_chart_manager.entity.Team;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static dev.amir.depth_chart_manager.benchmark.LeagueState.BENCHMARK_POSITION;
+
+/**
+ * Measures the repository queries behind the service hot paths in isolation. The depth shifting benchmark runs in a
+ * transaction that is rolled back, so the charts keep their imported order.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DepthChartRepositoryBenchmark {
+
+    private TransactionTemplate transactionTemplate;
+    private int next;
+    private Team team;
+
+    @Setup(Level.Trial)
+    public void setUp(LeagueState league) {
+        transactionTemplate = new TransactionTemplate(league.transactionManager);
+    }
+
+    @Setup(Level.Invocation)
+    public void nextTeam(LeagueState league) {
+        team = league.team(next++ % league.teamCount());
+    }
+
+    @Benchmark
+    public List<DepthChart> findByTeamAndPositionOrderByPositionDepth(LeagueState league) {
+        return league.depthChartRepository.findByTeamAndPositionOrderByPositionDepth(team, BENCHMARK_POSITION);
+    }
+
+    @Benchmark
+    public List<DepthChart> findByTeam(LeagueState league) {
+        return league.depthChartRepository.findByTeam(team);
+    }
+
+    @Benchmark
+    public long countByTeamAndPosition(LeagueState league) {
+        return league.depthChartRepository.countByTeamAndPosition(team, BENCHMARK_POSITION);
+    }
+
+    @Benchmark
+    public int shiftDepthsForwardFromHead(LeagueState league) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return league.depthChartRepository.shiftDepthsForwardFrom(team, BENCHMARK_POSITION, 1);
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package dev.amir.depth_chart_manager.benchmark;
+
+import dev.amir.depth_chart_manager.entity.DepthChart;
+import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static dev.amir.depth_chart_manager.benchmark.LeagueState.BENCHMARK_POSITION;
+
+/**
+ * Measures the {@link dev.amir.depth_chart_manager.service.DepthChartService} operations end to end, including the
+ * transaction, write locks and SQL. Every invocation works on the next team of the league, so with several teams the
+ * database sees the same spread of keys as in production.
+ * <p>
+ * The write benchmarks leave the charts as they found them: the player added by an {@code add*} benchmark is removed
+ * again, and the player removed by {@link #removePlayerFromDepthChart} is added beforehand, outside of the measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DepthChartServiceBenchmark {
+
+    @State(Scope.Thread)
+    public static class TeamCursor {
+        private int next;
+        int index;
+
+        @Setup(Level.Invocation)
+        public void nextTeam(LeagueState league) {
+            index = next++ % league.teamCount();
+        }
+    }
+
+    /** Removes the player added by the measured invocation. */
+    @State(Scope.Thread)
+    public static class AddedPlayer {
+        @TearDown(Level.Invocation)
+        public void remove(LeagueState league, TeamCursor cursor) {
+            league.depthChartService.removePlayerFromDepthChart(league.team(cursor.index), BENCHMARK_POSITION,
+                    league.benchmarkPlayer(cursor.index));
+        }
+    }
+
+    /** Adds the player removed by the measured invocation to the middle of the chart. */
+    @State(Scope.Thread)
+    public static class PlayerToRemove {
+        @Setup(Level.Invocation)
+        public void add(LeagueState league, TeamCursor cursor) {
+            league.depthChartService.addPlayerToDepthChart(league.team(cursor.index), BENCHMARK_POSITION,
+                    league.benchmarkPlayer(cursor.index), league.chartSize / 2 + 1);
+        }
+    }
+
+    @Benchmark
+    public void addPlayerToDepthChartHead(LeagueState league, TeamCursor cursor, AddedPlayer added) {
+        add(league, cursor, 1);
+    }
+
+    @Benchmark
+    public void addPlayerToDepthChartMiddle(LeagueState league, TeamCursor cursor, AddedPlayer added) {
+        add(league, cursor, league.chartSize / 2 + 1);
+    }
+
+    @Benchmark
+    public void addPlayerToDepthChartTail(LeagueState league, TeamCursor cursor, AddedPlayer added) {
+        add(league, cursor, null);
+    }
+
+    @Benchmark
+    public Optional<DepthChart> removePlayerFromDepthChart(LeagueState league, TeamCursor cursor,
+                                                           PlayerToRemove toRemove) {
+        return league.depthChartService.removePlayerFromDepthChart(league.team(cursor.index), BENCHMARK_POSITION,
+                league.benchmarkPlayer(cursor.index));
+    }
+
+    @Benchmark
+    public List<DepthChartEntry> getBackups(LeagueState league, TeamCursor cursor) {
+        return league.depthChartService.getBackups(league.team(cursor.index), BENCHMARK_POSITION,
+                league.importedPlayer(cursor.index, league.chartSize / 2));
+    }
+
+    @Benchmark
+    public Map<Position, List<DepthChartEntry>> getFullDepthChart(LeagueState league, TeamCursor cursor) {
+        return league.depthChartService.getFullDepthChart(league.team(cursor.index));
+    }
+
+    private static void add(LeagueState league, TeamCursor cursor, Integer positionDepth) {
+        league.depthChartService.addPlayerToDepthChart(league.team(cursor.index), BENCHMARK_POSITION,
+                league.benchmarkPlayer(cursor.index), positionDepth);
+    }
+}
@@ -0,0 +1,136 @@
+package dev.amir.depth_chart_manager.benchmark;
+
+import dev.amir.depth_chart_manager.DepthChartManagerApplication;
+import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.importer.ImportFormat;
+import dev.amir.depth_chart_manager.model.enums.DepthChartEngine;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import dev.amir.depth_chart_manager.repository.DepthChartRepository;
+import dev.amir.depth_chart_manager.service.DepthChartService;
+import dev.amir.depth_chart_manager.service.PlayerService;
+import dev.amir.depth_chart_manager.service.RosterImportService;
+import dev.amir.depth_chart_manager.service.TeamService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application on the embedded H2 database and imports a league of {@code teams} teams, each with
+ * {@code chartSize} players on the QB, WR and RB depth charts, once per trial.
+ */
+@State(Scope.Benchmark)
+public class LeagueState {
+
+    static final String SPORT = "nfl";
+    static final List<Position> POSITIONS = List.of(Position.QB, Position.WR, Position.RB);
+    static final Position BENCHMARK_POSITION = Position.QB;
+    /** Number of the player added and removed by the write benchmarks, outside of the imported numbers. */
+    static final long BENCHMARK_PLAYER_NUMBER = 1_000_000L;
+
+    @Param({"10", "100", "1000"})
+    public int chartSize;
+
+    @Param({"1", "32"})
+    public int teams;
+
+    @Param({"false"})
+    public boolean cacheEnabled;
+
+    @Param({"JPA"})
+    public DepthChartEngine engine;
+
+    ConfigurableApplicationContext context;
+    DepthChartService depthChartService;
+    DepthChartRepository depthChartRepository;
+    PlatformTransactionManager transactionManager;
+
+    private final List<Team> leagueTeams = new ArrayList<>();
+    private final List<Player> benchmarkPlayers = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(DepthChartManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test", "benchmark")
+                .run("--depth-chart.cache.enabled=" + cacheEnabled, "--depth-chart.engine=" + engine);
+        depthChartService = context.getBean(DepthChartService.class);
+        depthChartRepository = context.getBean(DepthChartRepository.class);
+        transactionManager = context.getBean(PlatformTransactionManager.class);
+
+        context.getBean(RosterImportService.class).importRoster(ImportFormat.CSV, leagueCsv());
+
+        TeamService teamService = context.getBean(TeamService.class);
+        PlayerService playerService = context.getBean(PlayerService.class);
+        for (int team = 1; team <= teams; team++) {
+            Team leagueTeam = teamService.findTeam(SPORT, teamName(team)).orElseThrow();
+            leagueTeams.add(leagueTeam);
+
+            Player player = new Player();
+            player.setNumber(BENCHMARK_PLAYER_NUMBER);
+            player.setName("Benchmark Player");
+            player.setPosition(BENCHMARK_POSITION);
+            player.setTeam(leagueTeam);
+            benchmarkPlayers.add(playerService.savePlayer(player));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    int teamCount() {
+        return leagueTeams.size();
+    }
+
+    Team team(int index) {
+        return leagueTeams.get(index);
+    }
+
+    Player benchmarkPlayer(int index) {
+        return benchmarkPlayers.get(index);
+    }
+
+    /**
+     * The imported player at the given 1-based depth of the benchmark position; numbers are assigned in depth order.
+     */
+    Player importedPlayer(int index, int positionDepth) {
+        Player player = new Player();
+        player.setNumber((long) positionDepth);
+        player.setPosition(BENCHMARK_POSITION);
+        player.setTeam(leagueTeams.get(index));
+        return player;
+    }
+
+    private ByteArrayInputStream leagueCsv() {
+        StringBuilder csv = new StringBuilder("sport,team,position,positionDepth,number,name\n");
+        for (int team = 1; team <= teams; team++) {
+            long number = 1;
+            for (Position position : POSITIONS) {
+                for (int depth = 1; depth <= chartSize; depth++, number++) {
+                    csv.append(SPORT).append(',').append(teamName(team)).append(',').append(position).append(',')
+                            .append(depth).append(',').append(number).append(",Player").append(number).append('\n');
+                }
+            }
+        }
+        return new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String teamName(int team) {
+        return "team" + team;
+    }
+}
@@ -0,0 +1,268 @@
+package dev.amir.depth_chart_manager.cache;
+
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
+import dev.amir.depth_chart_manager.event.DepthChartChangedEvent;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DepthChartCacheTest {
+
+    private DepthChartProperties properties;
+
+    private MutableClock clock;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        properties = new DepthChartProperties();
+        properties.getCache().setMaxTeams(2);
+        properties.getCache().setTtl(Duration.ofSeconds(30));
+        clock = new MutableClock();
+    }
+
+    @Test
+    void getOrLoad_WhenCalledTwice_ThenLoadsOnceAndCountsHitAndMiss() {
+        DepthChartCache cache = new DepthChartCache(properties, clock);
+
+        cache.getOrLoad(1L, this::load);
+        cache.getOrLoad(1L, this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals(new CacheStats(1, 1, 0, 0, 0, 1), cache.stats());
+    }
+
+    @Test
+    void getOrLoad_WhenMoreTeamsThanMaxTeams_ThenLeastRecentlyUsedTeamIsEvicted() {
+        DepthChartCache cache = new DepthChartCache(properties, clock);
+
+        cache.getOrLoad(1L, this::load);
+        cache.getOrLoad(2L, this::load);
+        cache.getOrLoad(1L, this::load);
+        cache.getOrLoad(3L, this::load);
+        cache.getOrLoad(1L, this::load);
+        cache.getOrLoad(2L, this::load);
+
+        assertEquals(4, loads.get(), "Team 2 should have been evicted and reloaded, team 1 kept");
+        assertEquals(2, cache.stats().evictions());
+    }
+
+    @Test
+    void getOrLoad_WhenTtlElapsed_ThenReloads() {
+        DepthChartCache cache = new DepthChartCache(properties, clock);
+
+        cache.getOrLoad(1L, this::load);
+        clock.advance(Duration.ofSeconds(31));
+        cache.getOrLoad(1L, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void onDepthChartChanged_ThenTeamIsReloadedOnNextRead() {
+        DepthChartCache cache = new DepthChartCache(properties, clock);
+
+        cache.getOrLoad(1L, this::load);
+        cache.onDepthChartChanged(new DepthChartChangedEvent(1L, Position.QB));
+        cache.getOrLoad(1L, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.stats().invalidations());
+    }
+
+    @Test
+    void getOrLoad_WhenInvalidatedWhileLoading_ThenStaleSnapshotIsNotCached() {
+        DepthChartCache cache = new DepthChartCache(properties, clock);
+
+        cache.getOrLoad(1L, () -> {
+            cache.invalidate(1L);
+            return load();
+        });
+        cache.getOrLoad(1L, this::load);
+
+        assertEquals(2, loads.get(), "A snapshot read before the invalidation must not be served afterwards");
+    }
+
+    @Test
+    void getOrLoad_WhenDisabled_ThenAlwaysLoads() {
+        properties.getCache().setEnabled(false);
+        DepthChartCache cache = new DepthChartCache(properties, clock);
+
+        cache.getOrLoad(1L, this::load);
+        cache.getOrLoad(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getPlayerPositions_ThenServedFromTheReverseIndexOfTheCachedChart() {
+        DepthChartCache cache = new DepthChartCache(properties, clock);
+        Map<Position, List<DepthChartEntry>> depthChart = Map.of(
+                Position.QB, List.of(new DepthChartEntry(Position.QB, 1, null, 12L, "Tom Brady"), new DepthChartEntry(Position.QB, 2, null, 11L, "Blaine Gabbert")),
+                Position.KR, List.of(new DepthChartEntry(Position.KR, 1, null, 11L, "Blaine Gabbert")));
+
+        cache.getOrLoad(1L, () -> depthChart);
+
+        assertEquals(Map.of(Position.QB, 2, Position.KR, 1), cache.getPlayerPositions(1L, 11L, this::load));
+        assertEquals(Map.of(), cache.getPlayerPositions(1L, 99L, this::load));
+        assertEquals(0, loads.get(), "The reverse index should come with the cached chart");
+    }
+
+    @Test
+    void getOrLoad_WhenConcurrentMisses_ThenLoadsOnceAndSharesTheChart() throws Exception {
+        properties.getCache().setEnabled(false);
+        DepthChartCache cache = new DepthChartCache(properties, clock);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int readers = 16;
+
+        List<Future<Map<Position, List<DepthChartEntry>>>> reads = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            reads.add(executor.submit(() -> cache.getOrLoad(1L, () -> {
+                loading.countDown();
+                await(release);
+                return load();
+            })));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < readers; i++) {
+                reads.add(executor.submit(() -> cache.getOrLoad(1L, this::load)));
+            }
+            while (cache.stats().coalesced() < readers - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            Map<Position, List<DepthChartEntry>> first = reads.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<Map<Position, List<DepthChartEntry>>> read : reads) {
+                assertSame(first, read.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, loads.get(), "Readers arriving during a load should wait for it instead of loading again");
+    }
+
+    @Test
+    void getOrLoad_WhenInvalidatedDuringALoad_ThenLaterReadersDoNotJoinIt() throws Exception {
+        DepthChartCache cache = new DepthChartCache(properties, clock);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> stale = executor.submit(() -> cache.getOrLoad(1L, () -> {
+                loading.countDown();
+                await(release);
+                return load();
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            cache.invalidate(1L);
+            cache.getOrLoad(1L, this::load);
+            release.countDown();
+            stale.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(2, loads.get(), "A read after the invalidation must load the post-write chart itself");
+        assertEquals(0, cache.stats().coalesced());
+    }
+
+    @Test
+    void getOrLoad_WhenDisabledAndChangedDuringALoad_ThenLaterReadersDoNotJoinIt() throws Exception {
+        properties.getCache().setEnabled(false);
+        DepthChartCache cache = new DepthChartCache(properties, clock);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> stale = executor.submit(() -> cache.getOrLoad(1L, () -> {
+                loading.countDown();
+                await(release);
+                return load();
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            cache.onDepthChartChanged(new DepthChartChangedEvent(1L, Position.QB));
+            cache.getOrLoad(1L, this::load);
+            release.countDown();
+            stale.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(2, loads.get(), "A read after a committed write must not join a load started before it");
+        assertEquals(0, cache.stats().coalesced());
+    }
+
+    @Test
+    void getOrLoad_WhenSharedLoadFails_ThenEveryWaiterSeesTheFailureAndTheNextReadRetries() throws Exception {
+        DepthChartCache cache = new DepthChartCache(properties, clock);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> failing = executor.submit(() -> cache.getOrLoad(1L, () -> {
+                loading.countDown();
+                await(release);
+                throw new IllegalStateException("database unavailable");
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<?> waiting = executor.submit(() -> cache.getOrLoad(1L, this::load));
+            while (cache.stats().coalesced() < 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertInstanceOf(IllegalStateException.class, assertThrows(Exception.class, () -> failing.get(5, TimeUnit.SECONDS)).getCause());
+            assertInstanceOf(IllegalStateException.class, assertThrows(Exception.class, () -> waiting.get(5, TimeUnit.SECONDS)).getCause());
+        }
+        cache.getOrLoad(1L, this::load);
+        assertEquals(1, loads.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Map<Position, List<DepthChartEntry>> load() {
+        loads.incrementAndGet();
+        return Map.of(Position.QB, List.of(new DepthChartEntry(Position.QB, 1, null, 12L, "Tom Brady")));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-09-08T17:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package dev.amir.depth_chart_manager.cache;
+
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
+import dev.amir.depth_chart_manager.event.DepthChartChangedEvent;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DepthChartInvalidationBusTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final DataSourceProperties dataSourceProperties = new DataSourceProperties();
+    private DepthChartInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        DepthChartProperties properties = new DepthChartProperties();
+        bus = new DepthChartInvalidationBus(jdbcTemplate, dataSourceProperties, eventPublisher,
+                new DepthChartCache(properties), new DepthChartVersions(), properties);
+    }
+
+    @Test
+    void onDepthChartChanged_NotifiesTheChangedTeamAndPosition() {
+        DepthChartChangedEvent event = new DepthChartChangedEvent(7L, Position.QB);
+
+        bus.onDepthChartChanged(event);
+
+        verify(jdbcTemplate).queryForObject("select pg_notify(?, ?)", Object.class, "depth_chart_changed", bus.payloadOf(event));
+    }
+
+    @Test
+    void onNotification_RepublishesChangesOfOtherInstancesOnly() {
+        bus.onNotification(bus.payloadOf(new DepthChartChangedEvent(7L, Position.QB)));
+        bus.onNotification("other-instance:7:NOT_A_POSITION");
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+
+        bus.onNotification("other-instance:7:QB");
+        verify(eventPublisher).publishEvent(eq(new DepthChartChangedEvent(7L, Position.QB)));
+    }
+
+    @Test
+    void listen_WhenTheListenerFailsUnexpectedly_ThenItKeepsReconnecting() throws Exception {
+        DataSourceProperties failingDataSource = mock(DataSourceProperties.class);
+        when(failingDataSource.determineUrl()).thenThrow(new IllegalStateException("no database url"));
+        DepthChartProperties properties = new DepthChartProperties();
+        properties.getInvalidation().setReconnectDelay(Duration.ofMillis(10));
+        DepthChartInvalidationBus failingBus = new DepthChartInvalidationBus(jdbcTemplate, failingDataSource, eventPublisher,
+                new DepthChartCache(properties), new DepthChartVersions(), properties);
+
+        failingBus.start();
+        try {
+            verify(failingDataSource, timeout(5000).atLeast(3)).determineUrl();
+        } finally {
+            failingBus.shutdown();
+        }
+    }
+
+    /**
+     * Runs against a local Postgres, e.g. {@code DEPTH_CHART_POSTGRES_URL=jdbc:postgresql://localhost:5432/playbook_db}
+     * with the credentials of {@code application.yml}.
+     */
+    @Test
+    @EnabledIfEnvironmentVariable(named = "DEPTH_CHART_POSTGRES_URL", matches = ".+")
+    void listen_DeliversNotificationsOfOtherInstances() throws Exception {
+        dataSourceProperties.setUrl(System.getenv("DEPTH_CHART_POSTGRES_URL"));
+        dataSourceProperties.setUsername("postgres");
+        dataSourceProperties.setPassword("password");
+        bus.start();
+        try (Connection connection = DriverManager.getConnection(dataSourceProperties.getUrl(), "postgres", "password");
+             Statement statement = connection.createStatement()) {
+            // the listener subscribes asynchronously, so notify until it has seen one
+            for (int i = 0; i < 20; i++) {
+                statement.execute("select pg_notify('depth_chart_changed', 'other-instance:7:QB')");
+                Thread.sleep(100);
+            }
+            verify(eventPublisher, timeout(5000).atLeastOnce()).publishEvent(eq(new DepthChartChangedEvent(7L, Position.QB)));
+        } finally {
+            bus.shutdown();
+        }
+    }
+}
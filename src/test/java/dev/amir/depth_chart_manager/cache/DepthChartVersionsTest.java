@@ -0,0 +1,47 @@
+package dev.amir.depth_chart_manager.cache;
+
+import dev.amir.depth_chart_manager.event.DepthChartChangedEvent;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.mockito.Mockito.inOrder;
+
+/**
+ * Checks that a committed change drops the cached chart before it bumps the version, so no reader can pair the new tag
+ * with the old chart.
+ */
+@SpringBootTest(properties = "depth-chart.cache.enabled=true")
+@ActiveProfiles("test")
+class DepthChartVersionsTest {
+
+    @SpyBean
+    private DepthChartCache depthChartCache;
+
+    @SpyBean
+    private DepthChartVersions depthChartVersions;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void onDepthChartChanged_AfterCommit_ThenTheCacheIsInvalidatedBeforeTheVersionIsBumped() {
+        DepthChartChangedEvent event = new DepthChartChangedEvent(7L, Position.QB);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> eventPublisher.publishEvent(event));
+
+        InOrder order = inOrder(depthChartCache, depthChartVersions);
+        order.verify(depthChartCache).onDepthChartChanged(event);
+        order.verify(depthChartVersions).onDepthChartChanged(event);
+    }
+}
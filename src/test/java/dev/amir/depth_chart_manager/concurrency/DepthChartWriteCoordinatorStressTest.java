@@ -0,0 +1,222 @@
+package dev.amir.depth_chart_manager.concurrency;
+
+import dev.amir.depth_chart_manager.cache.DepthChartCache;
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
+import dev.amir.depth_chart_manager.entity.DepthChart;
+import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.metrics.DepthChartMetrics;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import dev.amir.depth_chart_manager.repository.CustomDepthChartRepository;
+import dev.amir.depth_chart_manager.repository.DepthChartPositionVersionRepository;
+import dev.amir.depth_chart_manager.repository.DepthChartRepository;
+import dev.amir.depth_chart_manager.service.PlayerService;
+import dev.amir.depth_chart_manager.service.TeamService;
+import dev.amir.depth_chart_manager.service.impl.DepthChartServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+class DepthChartWriteCoordinatorStressTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 60;
+    private static final List<Position> POSITIONS = List.of(Position.QB, Position.RB, Position.WR, Position.TE,
+            Position.LT, Position.DT, Position.LB, Position.CB);
+
+    @Autowired
+    private DepthChartRepository depthChartRepository;
+
+    @Autowired
+    private CustomDepthChartRepository customDepthChartRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private DepthChartCache depthChartCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DepthChartMetrics metrics;
+
+    @Autowired
+    private DepthChartPositionVersionRepository versionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Team team;
+
+    private final AtomicLong playerNumbers = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        depthChartRepository.deleteAll();
+        team = teamService.findOrCreateTeam("nfl", "buccaneers");
+    }
+
+    @Test
+    void stripedMode_UnderContention_KeepsEveryPositionContiguous() throws Exception {
+        double opsPerSecond = runWorkload(ConcurrencyMode.STRIPED);
+
+        POSITIONS.forEach(this::assertContiguous);
+        log.info("STRIPED mode throughput: {} ops/s", Math.round(opsPerSecond));
+    }
+
+    @Test
+    void globalAndStripedModes_UnderTheSameWorkload_KeepEveryPositionContiguous() throws Exception {
+        double globalOpsPerSecond = runWorkload(ConcurrencyMode.GLOBAL);
+        POSITIONS.forEach(this::assertContiguous);
+
+        depthChartRepository.deleteAll();
+
+        double stripedOpsPerSecond = runWorkload(ConcurrencyMode.STRIPED);
+        POSITIONS.forEach(this::assertContiguous);
+
+        // only logged: the ratio on the embedded database is too noisy to assert on
+        log.info("GLOBAL mode throughput: {} ops/s, STRIPED mode throughput: {} ops/s ({}x)",
+                Math.round(globalOpsPerSecond), Math.round(stripedOpsPerSecond),
+                String.format("%.2f", stripedOpsPerSecond / globalOpsPerSecond));
+    }
+
+    @Test
+    void optimisticMode_UnderContention_KeepsEveryPositionContiguous() throws Exception {
+        double opsPerSecond = runWorkload(ConcurrencyMode.OPTIMISTIC);
+
+        POSITIONS.forEach(this::assertContiguous);
+        log.info("OPTIMISTIC mode throughput: {} ops/s, {} retries", Math.round(opsPerSecond), retries("retried"));
+    }
+
+    @Test
+    void optimisticMode_WhenAnotherWriterCommitsFirst_RetriesTheWrite() throws Exception {
+        DepthChartWriteCoordinator coordinator = coordinator(ConcurrencyMode.OPTIMISTIC);
+        DepthChartKey key = DepthChartKey.of(team, Position.QB);
+        coordinator.run(key, () -> {
+        });
+        double retriesBefore = retries("retried");
+        AtomicInteger attempts = new AtomicInteger();
+        ExecutorService otherInstance = Executors.newSingleThreadExecutor();
+
+        coordinator.run(key, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                // another writer of the same position commits while this attempt is still open
+                awaitOtherWriter(otherInstance.submit(() -> coordinator.run(key, () -> {
+                })));
+            }
+        });
+        otherInstance.shutdown();
+
+        assertEquals(2, attempts.get());
+        assertEquals(retriesBefore + 1, retries("retried"));
+    }
+
+    private double retries(String outcome) {
+        return meterRegistry.find(DepthChartMetrics.WRITE_RETRIES).tag("outcome", outcome).counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+
+    private static void awaitOtherWriter(Future<?> otherWriter) {
+        try {
+            otherWriter.get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Every thread writes to one of eight positions back to back, far more contention than real depth chart edits, so
+     * OPTIMISTIC writes get more attempts than by default.
+     */
+    private DepthChartWriteCoordinator coordinator(ConcurrencyMode mode) {
+        DepthChartProperties properties = new DepthChartProperties();
+        properties.getConcurrency().setMode(mode);
+        properties.getConcurrency().setMaxAttempts(50);
+        return new DepthChartWriteCoordinator(properties, transactionManager, versionRepository, metrics);
+    }
+
+    private double runWorkload(ConcurrencyMode mode) throws Exception {
+        DepthChartProperties properties = new DepthChartProperties();
+        properties.getConcurrency().setMode(mode);
+        DepthChartServiceImpl service = new DepthChartServiceImpl(depthChartRepository, customDepthChartRepository, playerService,
+                coordinator(mode), depthChartCache, eventPublisher, metrics, properties);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<Player> added = new ArrayList<>();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    Position position = POSITIONS.get(random.nextInt(POSITIONS.size()));
+                    int operation = random.nextInt(3);
+                    if (operation == 2 && !added.isEmpty()) {
+                        Player player = added.remove(random.nextInt(added.size()));
+                        service.removePlayerFromDepthChart(team, player.getPosition(), player);
+                    } else {
+                        Player player = newPlayer(position);
+                        service.addPlayerToDepthChart(team, position, player, operation == 0 ? Integer.valueOf(1) : null);
+                        added.add(player);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        executor.shutdown();
+
+        return THREADS * OPERATIONS_PER_THREAD / (elapsed / 1_000_000_000.0);
+    }
+
+    private void assertContiguous(Position position) {
+        List<Integer> depths = depthChartRepository.findByTeamAndPositionOrderByPositionDepth(team, position).stream()
+                .map(DepthChart::getPositionDepth)
+                .toList();
+        List<Integer> expected = IntStream.rangeClosed(1, depths.size()).boxed().toList();
+        assertEquals(expected, depths, "Depths of " + position + " should be contiguous");
+    }
+
+    private Player newPlayer(Position position) {
+        long number = playerNumbers.incrementAndGet();
+        Player player = new Player();
+        player.setNumber(number);
+        player.setName("Player" + number);
+        player.setPosition(position);
+        return playerService.savePlayer(player);
+    }
+}
@@ -0,0 +1,154 @@
+package dev.amir.depth_chart_manager.concurrency;
+
+import dev.amir.depth_chart_manager.DepthChartManagerApplication;
+import dev.amir.depth_chart_manager.importer.ImportFormat;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import dev.amir.depth_chart_manager.service.RosterImportService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Fires a burst of concurrent full depth chart reads at the application running on platform threads and on virtual
+ * threads (the {@code virtual-threads} profile), with the cache off so every request blocks on JDBC, and compares
+ * the p99 latency and the highest number of requests the server had in flight. Tagged {@code load}, so it only runs
+ * with the {@code benchmark} profile.
+ */
+@Slf4j
+@Tag("load")
+class ThreadingModeLoadTest {
+
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 5;
+    private static final List<Position> POSITIONS = List.of(Position.QB, Position.WR, Position.RB);
+    private static final int PLAYERS_PER_POSITION = 30;
+
+    @Test
+    void getFullDepthChart_UnderBurstOfConcurrentReads_ComparePlatformAndVirtualThreads() throws Exception {
+        LoadResult platform = runLoad(false);
+        LoadResult virtual = runLoad(true);
+
+        log.info("Platform threads: p50 {} ms, p99 {} ms, max {} requests in flight, {} failed",
+                platform.p50Millis(), platform.p99Millis(), platform.maxInFlight(), platform.failures());
+        log.info("Virtual threads:  p50 {} ms, p99 {} ms, max {} requests in flight, {} failed",
+                virtual.p50Millis(), virtual.p99Millis(), virtual.maxInFlight(), virtual.failures());
+
+        assertEquals(0, platform.failures());
+        assertEquals(0, virtual.failures());
+    }
+
+    private LoadResult runLoad(boolean virtualThreads) throws Exception {
+        InFlightRequests inFlight = new InFlightRequests();
+        String[] profiles = virtualThreads ? new String[]{"test", "virtual-threads"} : new String[]{"test"};
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DepthChartManagerApplication.class)
+                .profiles(profiles)
+                .initializers(ctx -> ((GenericApplicationContext) ctx).registerBean(InFlightRequests.class, () -> inFlight))
+                .run("--server.port=0",
+                        "--depth-chart.cache.enabled=false",
+                        "--spring.datasource.url=jdbc:h2:mem:load_" + virtualThreads + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL")) {
+            importLeague(context);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/depth-chart-manager-api/v1/sport/nfl/team/buccaneers/depthchart/full");
+
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+                 HttpClient httpClient = HttpClient.newBuilder().executor(clients).build()) {
+                HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+                // warm up the server before measuring
+                httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+
+                CountDownLatch start = new CountDownLatch(1);
+                AtomicInteger failures = new AtomicInteger();
+                List<Future<long[]>> futures = new ArrayList<>();
+                for (int c = 0; c < CLIENTS; c++) {
+                    futures.add(clients.submit(() -> {
+                        start.await();
+                        long[] latencies = new long[REQUESTS_PER_CLIENT];
+                        for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                            long startedAt = System.nanoTime();
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            latencies[r] = System.nanoTime() - startedAt;
+                            if (response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        }
+                        return latencies;
+                    }));
+                }
+
+                start.countDown();
+                long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+                int i = 0;
+                for (Future<long[]> future : futures) {
+                    for (long latency : future.get(5, TimeUnit.MINUTES)) {
+                        latencies[i++] = latency;
+                    }
+                }
+                Arrays.sort(latencies);
+                return new LoadResult(percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99),
+                        inFlight.max.get(), failures.get());
+            }
+        }
+    }
+
+    private static void importLeague(ConfigurableApplicationContext context) throws IOException {
+        StringBuilder csv = new StringBuilder("sport,team,position,positionDepth,number,name\n");
+        int number = 1;
+        for (Position position : POSITIONS) {
+            for (int depth = 1; depth <= PLAYERS_PER_POSITION; depth++, number++) {
+                csv.append("nfl,buccaneers,").append(position).append(',').append(depth).append(',')
+                        .append(number).append(",Player").append(number).append('\n');
+            }
+        }
+        context.getBean(RosterImportService.class)
+                .importRoster(ImportFormat.CSV, new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static long percentileMillis(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos[Math.max(index, 0)]);
+    }
+
+    private record LoadResult(long p50Millis, long p99Millis, int maxInFlight, int failures) {
+    }
+
+    static class InFlightRequests extends OncePerRequestFilter {
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger max = new AtomicInteger();
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            max.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                current.decrementAndGet();
+            }
+        }
+    }
+}
@@ -1,30 +1,49 @@
 package dev.amir.depth_chart_manager.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.amir.depth_chart_manager.cache.DepthChartVersions;
 import dev.amir.depth_chart_manager.entity.DepthChart;
 import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.event.DepthChartChangedEvent;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.dto.DepthChartOperation;
+import dev.amir.depth_chart_manager.model.enums.OperationType;
 import dev.amir.depth_chart_manager.model.enums.Position;
+import dev.amir.depth_chart_manager.service.DepthChartHistoryService;
 import dev.amir.depth_chart_manager.service.DepthChartService;
 import dev.amir.depth_chart_manager.service.PlayerService;
+import dev.amir.depth_chart_manager.service.TeamService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(DepthChartController.class)
+@Import(DepthChartVersions.class)
 class DepthChartControllerTest {
 
     @Autowired
@@ -33,16 +52,34 @@ class DepthChartControllerTest {
     @MockBean
     private DepthChartService depthChartService;
 
+    @MockBean
+    private DepthChartHistoryService depthChartHistoryService;
+
     @MockBean
     private PlayerService playerService;
 
+    @MockBean
+    private TeamService teamService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private DepthChartVersions depthChartVersions;
+
     private Player player;
 
+    private Team team;
+
     @BeforeEach
     void setUp() {
+        team = new Team();
+        team.setId(1L);
+        team.setName("eagles");
+
+        when(teamService.findTeam("football", "eagles")).thenReturn(Optional.of(team));
+        when(teamService.findOrCreateTeam("football", "eagles")).thenReturn(team);
+
         player = new Player();
         player.setId(1L);
         player.setName("dev.amir");
@@ -53,7 +90,7 @@ class DepthChartControllerTest {
     @Test
     void testAddPlayerToDepthChart_WhenPlayerNotFound() throws Exception {
         when(playerService.savePlayer(any(Player.class))).thenReturn(player);
-        doNothing().when(depthChartService).addPlayerToDepthChart(any(Position.class), any(Player.class), any(Integer.class));
+        doNothing().when(depthChartService).addPlayerToDepthChart(any(Team.class), any(Position.class), any(Player.class), any(Integer.class));
 
         mockMvc.perform(post("/sport/football/team/eagles/depthchart/add")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -62,6 +99,24 @@ class DepthChartControllerTest {
     }
 
 
+    @Test
+    void testApplyDepthChartOperations() throws Exception {
+        List<DepthChartOperation> operations = List.of(
+                new DepthChartOperation(OperationType.ADD, Position.QB, player, 1),
+                new DepthChartOperation(OperationType.REMOVE, Position.QB, player, null));
+        when(depthChartService.applyDepthChartOperations(eq(team), anyList())).thenReturn(Collections.singletonMap(Position.QB, List.of()));
+
+        mockMvc.perform(post("/sport/football/team/eagles/depthchart/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(operations)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.QB").isEmpty());
+
+        verify(depthChartService).applyDepthChartOperations(team, operations);
+    }
+
+
     @Test
     void testRemovePlayerFromDepthChart_WhenPlayerFound() throws Exception {
         DepthChart depthChart = new DepthChart();
@@ -70,7 +125,7 @@ class DepthChartControllerTest {
         depthChart.setPosition(Position.QB);
         depthChart.setPositionDepth(1);
 
-        when(depthChartService.removePlayerFromDepthChart(any(Position.class), any(Player.class)))
+        when(depthChartService.removePlayerFromDepthChart(any(Team.class), any(Position.class), any(Player.class)))
                 .thenReturn(Optional.of(depthChart));
 
         mockMvc.perform(delete("/sport/football/team/eagles/depthchart/remove")
@@ -87,7 +142,7 @@ class DepthChartControllerTest {
 
     @Test
     void testRemovePlayerFromDepthChart() throws Exception {
-        when(depthChartService.removePlayerFromDepthChart(any(Position.class), any(Player.class))).thenReturn(Optional.empty());
+        when(depthChartService.removePlayerFromDepthChart(any(Team.class), any(Position.class), any(Player.class))).thenReturn(Optional.empty());
 
         mockMvc.perform(delete("/sport/football/team/eagles/depthchart/remove")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -96,22 +151,76 @@ class DepthChartControllerTest {
     }
 
 
+    @Test
+    void testMovePlayerInDepthChart() throws Exception {
+        DepthChart depthChart = new DepthChart();
+        depthChart.setId(1L);
+        depthChart.setPlayer(player);
+        depthChart.setPosition(Position.QB);
+        depthChart.setPositionDepth(1);
+        when(depthChartService.movePlayerInDepthChart(team, Position.QB, player, 1)).thenReturn(Optional.of(depthChart));
+
+        mockMvc.perform(put("/sport/football/team/eagles/depthchart/move")
+                        .param("positionDepth", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(player)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.positionDepth").value(1));
+    }
+
+
+    @Test
+    void testSwapPlayersInDepthChart_WhenPlayersOfDifferentPositions_ThenBadRequest() throws Exception {
+        Player receiver = new Player();
+        receiver.setNumber(13L);
+        receiver.setPosition(Position.WR);
+
+        mockMvc.perform(put("/sport/football/team/eagles/depthchart/swap")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(player, receiver))))
+                .andExpect(status().isBadRequest());
+
+        verify(depthChartService, never()).swapPlayersInDepthChart(any(), any(), any(), any());
+    }
+
+
+    @Test
+    void testRemovePlayerFromAllDepthCharts() throws Exception {
+        DepthChart depthChart = new DepthChart();
+        depthChart.setId(1L);
+        depthChart.setPlayer(player);
+        depthChart.setPosition(Position.QB);
+        depthChart.setPositionDepth(2);
+        when(depthChartService.removePlayerFromAllDepthCharts(team, 10L)).thenReturn(List.of(depthChart));
+
+        mockMvc.perform(delete("/sport/football/team/eagles/depthchart/player/10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].position").value("QB"))
+                .andExpect(jsonPath("$[0].positionDepth").value(2));
+    }
+
+
     @Test
     void testGetBackups() throws Exception {
-        when(depthChartService.getBackups(any(Position.class), any(Player.class))).thenReturn(Collections.singletonList(player));
+        DepthChartEntry backup = new DepthChartEntry(Position.QB, 2, 7L, player.getNumber(), player.getName());
+        when(depthChartService.getBackups(any(Team.class), any(Position.class), any(Player.class))).thenReturn(Collections.singletonList(backup));
 
         mockMvc.perform(get("/sport/football/team/eagles/depthchart/backups")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(player)))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].positionDepth").value(2))
+                .andExpect(jsonPath("$[0].playerId").value(7))
                 .andExpect(jsonPath("$[0].name").value(player.getName()))
                 .andExpect(jsonPath("$[0].number").value(player.getNumber()));
     }
 
     @Test
     void testGetFullDepthChart() throws Exception {
-        when(depthChartService.getFullDepthChart()).thenReturn(Collections.singletonMap(Position.QB, Arrays.asList(player)));
+        DepthChartEntry entry = new DepthChartEntry(Position.QB, 1, player.getId(), player.getNumber(), player.getName());
+        when(depthChartService.getFullDepthChart(team)).thenReturn(Collections.singletonMap(Position.QB, Arrays.asList(entry)));
 
         mockMvc.perform(get("/sport/football/team/eagles/depthchart/full")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -120,4 +229,71 @@ class DepthChartControllerTest {
                 .andExpect(jsonPath("$.QB[0].name").value(player.getName()))
                 .andExpect(jsonPath("$.QB[0].number").value(player.getNumber()));
     }
+
+    @Test
+    void testGetFullDepthChart_WithAsOf_ThenReadsTheHistory() throws Exception {
+        Instant kickoff = Instant.parse("2024-10-20T17:00:00Z");
+        DepthChartEntry entry = new DepthChartEntry(Position.QB, 1, player.getId(), player.getNumber(), player.getName());
+        when(depthChartHistoryService.getFullDepthChartAsOf(team, kickoff)).thenReturn(Collections.singletonMap(Position.QB, List.of(entry)));
+
+        mockMvc.perform(get("/sport/football/team/eagles/depthchart/full")
+                        .param("asOf", "2024-10-20T17:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.QB[0].number").value(player.getNumber()));
+
+        verify(depthChartService, never()).getFullDepthChart(any(Team.class));
+    }
+
+    @Test
+    void testGetFullDepthChart_WhenETagMatches_ThenNotModifiedWithoutReadingTheChart() throws Exception {
+        String etag = mockMvc.perform(get("/sport/football/team/eagles/depthchart/full"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/sport/football/team/eagles/depthchart/full")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(depthChartService, times(1)).getFullDepthChart(team);
+    }
+
+    @Test
+    void testGetFullDepthChart_WhenTeamChangedSinceETag_ThenReturnsChart() throws Exception {
+        String etag = mockMvc.perform(get("/sport/football/team/eagles/depthchart/full"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        depthChartVersions.onDepthChartChanged(new DepthChartChangedEvent(team.getId(), Position.QB));
+
+        mockMvc.perform(get("/sport/football/team/eagles/depthchart/full")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void testGetBackups_ETagDependsOnRequestedPlayer() throws Exception {
+        String etag = mockMvc.perform(get("/sport/football/team/eagles/depthchart/backups")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(player)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Player otherPlayer = new Player();
+        otherPlayer.setNumber(11L);
+        otherPlayer.setPosition(Position.QB);
+        mockMvc.perform(get("/sport/football/team/eagles/depthchart/backups")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(otherPlayer)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/sport/football/team/eagles/depthchart/backups")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(player)))
+                .andExpect(status().isNotModified());
+
+        verify(depthChartService, times(2)).getBackups(any(Team.class), any(Position.class), any(Player.class));
+        verify(depthChartService, never()).getFullDepthChart(any(Team.class));
+    }
 }
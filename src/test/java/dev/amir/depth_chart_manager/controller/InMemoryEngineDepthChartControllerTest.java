@@ -0,0 +1,44 @@
+package dev.amir.depth_chart_manager.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "depth-chart.engine=IN_MEMORY")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class InMemoryEngineDepthChartControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void addPlayerToDepthChart_WhenAlreadyInPosition_ThenConflict() throws Exception {
+        Player player = new Player();
+        player.setNumber(12L);
+        player.setName("Tom Brady");
+        player.setPosition(Position.QB);
+        String url = "/sport/nfl/team/in-memory-controller-" + System.nanoTime() + "/depthchart/add";
+
+        mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(player)))
+                .andExpect(status().isOk());
+        mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(player)))
+                .andExpect(status().isConflict())
+                .andExpect(content().string(containsString("UNQ_TEAM_POSITION_PLAYERNUMBER")));
+    }
+}
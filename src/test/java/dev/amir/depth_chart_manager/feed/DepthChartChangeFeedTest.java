@@ -0,0 +1,193 @@
+package dev.amir.depth_chart_manager.feed;
+
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
+import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Sport;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.event.DepthChartReplacedEvent;
+import dev.amir.depth_chart_manager.event.PlayerDepthChangedEvent;
+import dev.amir.depth_chart_manager.model.dto.DepthChartChange;
+import dev.amir.depth_chart_manager.model.dto.DepthChartReplacement;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DepthChartChangeFeedTest {
+
+    private DepthChartChangeFeed changeFeed;
+    private Team team;
+
+    @BeforeEach
+    void setUp() {
+        DepthChartProperties properties = new DepthChartProperties();
+        properties.getChangeFeed().setReplayBufferSize(4);
+        properties.getChangeFeed().setSubscriberQueueSize(2);
+        changeFeed = new DepthChartChangeFeed(properties);
+        team = new Team(0, 1L, "buccaneers", new Sport(0, 1L, "nfl", "NFL"), null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeFeed.shutdown();
+    }
+
+    @Test
+    void onPlayerDepthChanged_SendsDeltaWithIncreasingSequence() throws InterruptedException {
+        RecordingEmitter emitter = new RecordingEmitter(2);
+        changeFeed.subscribe(emitter, null);
+
+        addPlayer(12L, 1);
+        changeFeed.onPlayerDepthChanged(new PlayerDepthChangedEvent(team, Position.QB, player(12L), 1, null));
+
+        emitter.await();
+        List<DepthChartChange> changes = emitter.changes();
+        assertEquals(List.of(1L, 2L), changes.stream().map(DepthChartChange::sequence).toList());
+        assertEquals(new DepthChartChange(1, "nfl", "buccaneers", Position.QB, 12L, "Player12", null, 1), changes.get(0));
+        assertEquals(1, changes.get(1).oldDepth());
+        assertNull(changes.get(1).newDepth());
+    }
+
+    @Test
+    void subscribe_WithLastEventId_ReplaysMissedChanges() throws InterruptedException {
+        addPlayer(1L, 1);
+        addPlayer(2L, 2);
+        addPlayer(3L, 3);
+
+        RecordingEmitter emitter = new RecordingEmitter(2);
+        changeFeed.subscribe(emitter, 1L);
+
+        emitter.await();
+        assertEquals(List.of(2L, 3L), emitter.changes().stream().map(DepthChartChange::sequence).toList());
+    }
+
+    @Test
+    void subscribe_WhenLastEventIdIsNoLongerBuffered_ThenSendsReset() throws InterruptedException {
+        for (long number = 1; number <= 6; number++) {
+            addPlayer(number, (int) number);
+        }
+
+        RecordingEmitter emitter = new RecordingEmitter(1);
+        changeFeed.subscribe(emitter, 1L);
+
+        emitter.await();
+        assertEquals(List.of(DepthChartChangeFeed.RESET_EVENT), emitter.eventNames);
+    }
+
+    @Test
+    void onDepthChartReplaced_SendsAReplaceInTheSameSequenceAndReplaysIt() throws InterruptedException {
+        RecordingEmitter live = new RecordingEmitter(2);
+        changeFeed.subscribe(live, null);
+
+        addPlayer(12L, 1);
+        changeFeed.onDepthChartReplaced(new DepthChartReplacedEvent(team, Position.WR));
+
+        live.await();
+        assertEquals(List.of(DepthChartChangeFeed.CHANGE_EVENT, DepthChartChangeFeed.REPLACE_EVENT), live.eventNames);
+        assertEquals(new DepthChartReplacement(2, "nfl", "buccaneers", Position.WR), live.data.get(1));
+
+        RecordingEmitter resumed = new RecordingEmitter(1);
+        changeFeed.subscribe(resumed, 1L);
+
+        resumed.await();
+        assertEquals(List.of(DepthChartChangeFeed.REPLACE_EVENT), resumed.eventNames);
+        assertEquals(List.of(new DepthChartReplacement(2, "nfl", "buccaneers", Position.WR)), resumed.data);
+    }
+
+    @Test
+    void onPlayerDepthChanged_WhenSubscriberFallsBehind_ThenOnlyThatSubscriberIsDisconnected() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(1) {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(builder);
+            }
+        };
+        RecordingEmitter fast = new RecordingEmitter(5);
+        changeFeed.subscribe(slow, null);
+        changeFeed.subscribe(fast, null);
+
+        for (long number = 1; number <= 5; number++) {
+            addPlayer(number, (int) number);
+            fast.awaitChanges((int) number);
+        }
+
+        assertTrue(slow.completed);
+        assertFalse(fast.completed);
+        assertEquals(1, changeFeed.subscriberCount());
+        release.countDown();
+    }
+
+    private void addPlayer(Long number, int depth) {
+        changeFeed.onPlayerDepthChanged(new PlayerDepthChangedEvent(team, Position.QB, player(number), null, depth));
+    }
+
+    private static Player player(Long number) {
+        Player player = new Player();
+        player.setNumber(number);
+        player.setName("Player" + number);
+        return player;
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private static final Pattern EVENT_NAME = Pattern.compile("event:(\\w+)");
+
+        private final List<Object> data = new CopyOnWriteArrayList<>();
+        private final List<String> eventNames = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sent;
+        private volatile boolean completed;
+
+        private RecordingEmitter(int expectedEvents) {
+            this.sent = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String text) {
+                    EVENT_NAME.matcher(text).results().forEach(match -> eventNames.add(match.group(1)));
+                } else {
+                    data.add(part.getData());
+                }
+            }
+            sent.countDown();
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        private void await() throws InterruptedException {
+            assertTrue(sent.await(5, TimeUnit.SECONDS));
+        }
+
+        private void awaitChanges(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (changes().size() < count) {
+                assertTrue(System.nanoTime() < deadline);
+                Thread.sleep(1);
+            }
+        }
+
+        private List<DepthChartChange> changes() {
+            return data.stream().filter(DepthChartChange.class::isInstance).map(DepthChartChange.class::cast).toList();
+        }
+    }
+}
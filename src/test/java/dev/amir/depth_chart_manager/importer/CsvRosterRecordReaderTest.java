@@ -0,0 +1,66 @@
+package dev.amir.depth_chart_manager.importer;
+
+import dev.amir.depth_chart_manager.model.dto.RosterRecord;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRosterRecordReaderTest {
+
+    @Test
+    void read_WithHeaderInAnyOrderAndQuotedFields_ThenRecordsAreParsed() throws IOException {
+        String csv = """
+                name,number,team,sport,position,positionDepth
+                "Brady, Tom",12,buccaneers,nfl,QB,1
+                "Kyle ""The Kid"" Trask",2,buccaneers,nfl,QB,
+
+                Mike Evans,13,buccaneers,nfl,WR,1
+                """;
+
+        List<RosterRecord> records = readAll(csv);
+
+        assertEquals(3, records.size());
+        assertEquals(new RosterRecord("nfl", "buccaneers", Position.QB, 1, 12L, "Brady, Tom"), records.get(0));
+        assertEquals(new RosterRecord("nfl", "buccaneers", Position.QB, null, 2L, "Kyle \"The Kid\" Trask"), records.get(1));
+        assertEquals(new RosterRecord("nfl", "buccaneers", Position.WR, 1, 13L, "Mike Evans"), records.get(2));
+    }
+
+    @Test
+    void read_WithoutPositionDepthColumn_ThenDepthIsNull() throws IOException {
+        List<RosterRecord> records = readAll("sport,team,position,number,name\nnfl,buccaneers,QB,12,Tom Brady\n");
+
+        assertNull(records.get(0).positionDepth());
+    }
+
+    @Test
+    void read_WithInvalidPosition_ThenFailsWithLineNumber() throws IOException {
+        try (RosterRecordReader reader = reader("sport,team,position,number,name\nnfl,buccaneers,XX,12,Tom Brady\n")) {
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, reader::next);
+            assertTrue(ex.getMessage().contains("line 2"), ex.getMessage());
+        }
+    }
+
+    @Test
+    void open_WithoutRequiredColumn_ThenFails() {
+        assertThrows(IllegalArgumentException.class, () -> reader("sport,team,number,name\n"));
+    }
+
+    private static List<RosterRecord> readAll(String csv) throws IOException {
+        List<RosterRecord> records = new ArrayList<>();
+        try (RosterRecordReader reader = reader(csv)) {
+            reader.forEachRemaining(records::add);
+        }
+        return records;
+    }
+
+    private static RosterRecordReader reader(String csv) throws IOException {
+        return new CsvRosterRecordReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
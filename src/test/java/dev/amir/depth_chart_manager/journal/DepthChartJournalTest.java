@@ -0,0 +1,73 @@
+package dev.amir.depth_chart_manager.journal;
+
+import dev.amir.depth_chart_manager.model.enums.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DepthChartJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void read_ReturnsEntriesInAppendOrderAcrossSegments() throws IOException {
+        try (DepthChartJournal journal = new DepthChartJournal(directory, false)) {
+            journal.append(entry(Position.QB, 12L));
+            journal.rotate();
+            journal.append(entry(Position.QB, 11L, 12L));
+            journal.append(entry(Position.WR, 13L));
+
+            List<Path> segments = journal.rotate();
+
+            assertEquals(2, segments.size());
+            List<DepthChartJournal.Entry> entries = DepthChartJournal.read(segments);
+            assertEquals(List.of(entry(Position.QB, 12L), entry(Position.QB, 11L, 12L), entry(Position.WR, 13L)), entries);
+        }
+    }
+
+    @Test
+    void read_WhenLastRecordIsTorn_ThenItIsIgnored() throws IOException {
+        List<Path> segments;
+        try (DepthChartJournal journal = new DepthChartJournal(directory, true)) {
+            journal.append(entry(Position.QB, 12L));
+            journal.append(entry(Position.QB, 11L, 12L));
+            segments = journal.rotate();
+        }
+        Path segment = segments.getFirst();
+        byte[] bytes = Files.readAllBytes(segment);
+        Files.write(segment, Arrays.copyOf(bytes, bytes.length - 5), StandardOpenOption.TRUNCATE_EXISTING);
+
+        assertEquals(List.of(entry(Position.QB, 12L)), DepthChartJournal.read(segments));
+    }
+
+    @Test
+    void newJournal_ContinuesAfterTheSegmentsOnDisk() throws IOException {
+        try (DepthChartJournal journal = new DepthChartJournal(directory, false)) {
+            journal.append(entry(Position.QB, 12L));
+        }
+        try (DepthChartJournal journal = new DepthChartJournal(directory, false)) {
+            journal.append(entry(Position.QB, 11L));
+            List<Path> segments = journal.rotate();
+
+            assertEquals(List.of(entry(Position.QB, 12L), entry(Position.QB, 11L)), DepthChartJournal.read(segments));
+            journal.delete(segments);
+            assertTrue(journal.segments().isEmpty());
+        }
+    }
+
+    private static DepthChartJournal.Entry entry(Position position, Long... numbers) {
+        return new DepthChartJournal.Entry(1L, position, Arrays.stream(numbers)
+                .map(number -> new DepthChartJournal.JournaledPlayer(number + 100, number, "Player" + number))
+                .toList());
+    }
+}
@@ -0,0 +1,59 @@
+package dev.amir.depth_chart_manager.journal;
+
+import dev.amir.depth_chart_manager.model.enums.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DepthChartSnapshotTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void read_ReturnsWhatWasWritten() throws IOException {
+        Path file = directory.resolve("depth-chart.snapshot");
+        DepthChartSnapshot.Contents contents = contents(7);
+
+        DepthChartSnapshot.write(file, contents);
+
+        assertEquals(Optional.of(contents), DepthChartSnapshot.read(file));
+        assertTrue(Files.notExists(directory.resolve("depth-chart.snapshot.tmp")));
+    }
+
+    @Test
+    void read_WhenSnapshotIsCorruptOrTruncated_ThenItIsIgnored() throws IOException {
+        Path file = directory.resolve("depth-chart.snapshot");
+        DepthChartSnapshot.write(file, contents(7));
+        byte[] bytes = Files.readAllBytes(file);
+
+        byte[] corrupt = bytes.clone();
+        corrupt[corrupt.length / 2] ^= 1;
+        Files.write(file, corrupt);
+        assertEquals(Optional.empty(), DepthChartSnapshot.read(file));
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        assertEquals(Optional.empty(), DepthChartSnapshot.read(file));
+
+        assertEquals(Optional.empty(), DepthChartSnapshot.read(directory.resolve("missing.snapshot")));
+    }
+
+    private static DepthChartSnapshot.Contents contents(long coveredSegment) {
+        Map<Position, List<DepthChartJournal.JournaledPlayer>> positions = new EnumMap<>(Position.class);
+        positions.put(Position.QB, List.of(new DepthChartJournal.JournaledPlayer(1L, 12L, "Tom Brady"),
+                new DepthChartJournal.JournaledPlayer(null, 11L, "Blaine Gabbert")));
+        positions.put(Position.WR, List.of(new DepthChartJournal.JournaledPlayer(3L, 13L, "Mike Évans")));
+        return new DepthChartSnapshot.Contents(coveredSegment, Map.of(1L, positions, 2L, new EnumMap<>(Position.class)));
+    }
+}
@@ -0,0 +1,138 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import dev.amir.depth_chart_manager.cache.DepthChartCache;
+import dev.amir.depth_chart_manager.concurrency.DepthChartWriteCoordinator;
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
+import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.model.dto.DepthChartOperation;
+import dev.amir.depth_chart_manager.model.enums.OperationType;
+import dev.amir.depth_chart_manager.metrics.DepthChartMetrics;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import dev.amir.depth_chart_manager.repository.CustomDepthChartRepository;
+import dev.amir.depth_chart_manager.repository.DepthChartRepository;
+import dev.amir.depth_chart_manager.repository.PlayerRepository;
+import dev.amir.depth_chart_manager.service.DepthChartService;
+import dev.amir.depth_chart_manager.service.PlayerService;
+import dev.amir.depth_chart_manager.service.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Verifies that bulk roster loads are sent as JDBC batches, which sequence based ids with a pooled optimizer allow, and
+ * that a batch upserts its players in its own transaction.
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkRosterLoadStatementCountTest {
+
+    private static final int ROSTER_SIZE = 200;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private DepthChartService depthChartService;
+
+    @Autowired
+    private DepthChartRepository depthChartRepository;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CustomDepthChartRepository customDepthChartRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private DepthChartWriteCoordinator writeCoordinator;
+
+    @Autowired
+    private DepthChartCache depthChartCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DepthChartMetrics metrics;
+
+    private Statistics statistics;
+
+    private Team team;
+
+    @BeforeEach
+    void setUp() {
+        depthChartRepository.deleteAll();
+        team = teamService.findOrCreateTeam("nfl", "rams");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void savePlayersAndBatchAdd_ForFullRoster_IssueBatchedInserts() {
+        List<Player> roster = LongStream.rangeClosed(1, ROSTER_SIZE).mapToObj(BulkRosterLoadStatementCountTest::newPlayer).toList();
+
+        statistics.clear();
+        List<Player> savedPlayers = playerService.savePlayers(team, roster);
+        long playerStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        depthChartService.applyDepthChartOperations(team, savedPlayers.stream()
+                .map(player -> new DepthChartOperation(OperationType.ADD, Position.WR, player, null))
+                .toList());
+        long depthChartStatements = statistics.getPrepareStatementCount();
+
+        log.info("Loading {} players took {} statements, adding them to the depth chart took {} statements",
+                ROSTER_SIZE, playerStatements, depthChartStatements);
+
+        assertEquals(ROSTER_SIZE, depthChartRepository.findByTeamAndPositionOrderByPositionDepth(team, Position.WR).size());
+        assertTrue(playerStatements <= 15, "Player inserts should be batched, got " + playerStatements + " statements");
+        assertTrue(depthChartStatements <= 15, "Depth chart inserts should be batched, got " + depthChartStatements + " statements");
+    }
+
+    @Test
+    void applyDepthChartOperations_WhenTheBatchFails_ThenItsPlayersAreRolledBack() {
+        DepthChartRepository failingRepository = mock(DepthChartRepository.class, AdditionalAnswers.delegatesTo(depthChartRepository));
+        doThrow(new IllegalStateException("depth chart write failed")).when(failingRepository).saveAll(any());
+        DepthChartServiceImpl failingService = new DepthChartServiceImpl(failingRepository, customDepthChartRepository, playerService,
+                writeCoordinator, depthChartCache, eventPublisher, metrics, new DepthChartProperties());
+
+        assertThrows(IllegalStateException.class, () -> failingService.applyDepthChartOperations(team,
+                List.of(new DepthChartOperation(OperationType.ADD, Position.WR, newPlayer(ROSTER_SIZE + 1), null))));
+
+        assertTrue(playerRepository.findByTeamAndNumberIn(team, List.of(ROSTER_SIZE + 1L)).isEmpty(),
+                "The player added by the failed batch should have been rolled back with it");
+    }
+
+    private static Player newPlayer(long number) {
+        Player player = new Player();
+        player.setNumber(number);
+        player.setName("Player" + number);
+        player.setPosition(Position.WR);
+        return player;
+    }
+}
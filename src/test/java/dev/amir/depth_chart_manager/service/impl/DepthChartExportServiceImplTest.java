@@ -0,0 +1,104 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.amir.depth_chart_manager.importer.ImportFormat;
+import dev.amir.depth_chart_manager.repository.DepthChartRepository;
+import dev.amir.depth_chart_manager.service.DepthChartExportService;
+import dev.amir.depth_chart_manager.service.RosterImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DepthChartExportServiceImplTest {
+
+    @Autowired
+    private DepthChartExportService depthChartExportService;
+
+    @Autowired
+    private RosterImportService rosterImportService;
+
+    @Autowired
+    private DepthChartRepository depthChartRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        depthChartRepository.deleteAll();
+        String csv = """
+                sport,team,position,positionDepth,number,name
+                nfl,buccaneers,QB,2,11,Blaine Gabbert
+                nfl,buccaneers,QB,1,12,Tom Brady
+                nfl,buccaneers,WR,1,13,Mike Evans
+                nfl,chiefs,QB,1,15,Patrick Mahomes
+                nba,lakers,QB,1,23,LeBron James
+                """;
+        rosterImportService.importRoster(ImportFormat.CSV, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void exportLeague_WritesOneLinePerTeamPositionOrderedByDepth() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long groups = depthChartExportService.exportLeague("nfl", outputStream);
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : outputStream.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertEquals(3, groups);
+        assertEquals(3, lines.size());
+        assertEquals(List.of("buccaneers/QB", "buccaneers/WR", "chiefs/QB"),
+                lines.stream().map(line -> line.get("team").asText() + "/" + line.get("position").asText()).toList());
+
+        JsonNode quarterbacks = lines.getFirst().get("players");
+        assertEquals(2, quarterbacks.size());
+        assertEquals(1, quarterbacks.get(0).get("positionDepth").asInt());
+        assertEquals("Tom Brady", quarterbacks.get(0).get("name").asText());
+        assertEquals(11, quarterbacks.get(1).get("number").asLong());
+    }
+
+    @Test
+    void exportLeague_FlushesEachGroupAsSoonAsItIsComplete() throws IOException {
+        List<Integer> flushedSizes = new ArrayList<>();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushedSizes.add(size());
+            }
+        };
+
+        depthChartExportService.exportLeague("nfl", outputStream);
+
+        List<Integer> lineEnds = new ArrayList<>();
+        int end = 0;
+        for (String line : outputStream.toString(StandardCharsets.UTF_8).split("\n")) {
+            end += line.length() + 1;
+            lineEnds.add(end);
+        }
+        assertEquals(lineEnds, flushedSizes.subList(0, lineEnds.size()));
+    }
+
+    @Test
+    void exportLeague_WhenSportHasNoDepthCharts_ThenWritesNothing() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        assertEquals(0, depthChartExportService.exportLeague("mlb", outputStream));
+        assertEquals(0, outputStream.size());
+    }
+}
@@ -0,0 +1,195 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
+import dev.amir.depth_chart_manager.entity.DepthChart;
+import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import dev.amir.depth_chart_manager.repository.DepthChartCheckpointRepository;
+import dev.amir.depth_chart_manager.repository.DepthChartRepository;
+import dev.amir.depth_chart_manager.repository.DepthChartRevisionRepository;
+import dev.amir.depth_chart_manager.repository.TeamRepository;
+import dev.amir.depth_chart_manager.service.DepthChartHistoryService;
+import dev.amir.depth_chart_manager.service.DepthChartService;
+import dev.amir.depth_chart_manager.service.PlayerService;
+import dev.amir.depth_chart_manager.service.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reads a team's depth chart back at instants between JPA writes, and checks that a read after a checkpoint only loads
+ * the checkpoint and the revisions after it.
+ */
+@SpringBootTest(properties = "depth-chart.history.enabled=true")
+@ActiveProfiles("test")
+class DepthChartHistoryServiceImplTest {
+
+    @Autowired
+    private DepthChartHistoryService historyService;
+
+    @Autowired
+    private DepthChartService depthChartService;
+
+    @Autowired
+    private DepthChartRevisionRepository revisionRepository;
+
+    @Autowired
+    private DepthChartCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private DepthChartRepository depthChartRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Team team;
+
+    @BeforeEach
+    void setUp() {
+        team = teamService.findOrCreateTeam("history", "history-" + System.nanoTime());
+    }
+
+    @Test
+    void getFullDepthChartAsOf_ReturnsTheChartAsItWasThen() throws InterruptedException {
+        Player brady = savePlayer(12L);
+        Player gabbert = savePlayer(11L);
+        Player evans = savePlayer(13L);
+
+        Instant beforeAnyChange = tick();
+        depthChartService.addPlayerToDepthChart(team, Position.QB, brady, null);
+        Instant afterFirstChange = tick();
+        depthChartService.addPlayerToDepthChart(team, Position.QB, gabbert, 1);
+        depthChartService.addPlayerToDepthChart(team, Position.WR, evans, null);
+        Instant afterThirdChange = tick();
+        depthChartService.removePlayerFromDepthChart(team, Position.QB, brady);
+        Instant afterRemoval = tick();
+
+        assertThrows(IllegalArgumentException.class, () -> historyService.getFullDepthChartAsOf(team, beforeAnyChange));
+        assertEquals(Map.of(Position.QB, List.of(12L)), numbers(historyService.getFullDepthChartAsOf(team, afterFirstChange)));
+        assertEquals(Map.of(Position.QB, List.of(11L, 12L), Position.WR, List.of(13L)),
+                numbers(historyService.getFullDepthChartAsOf(team, afterThirdChange)));
+        assertEquals(Map.of(Position.QB, List.of(11L), Position.WR, List.of(13L)),
+                numbers(historyService.getFullDepthChartAsOf(team, afterRemoval)));
+        assertEquals(List.of(new DepthChartEntry(Position.QB, 1, gabbert.getId(), 11L, "Player11")),
+                historyService.getFullDepthChartAsOf(team, afterRemoval).get(Position.QB));
+    }
+
+    @Test
+    void getFullDepthChartAsOf_AfterACheckpoint_OnlyAppliesTheRevisionsAfterIt() {
+        DepthChartProperties properties = new DepthChartProperties();
+        properties.getHistory().setEnabled(true);
+        properties.getHistory().setCheckpointInterval(3);
+        properties.getHistory().setCheckpointLag(Duration.ZERO);
+        DepthChartHistoryService checkpointingService = new DepthChartHistoryServiceImpl(revisionRepository,
+                checkpointRepository, depthChartRepository, teamRepository, properties);
+        Instant kickoff = Instant.parse("2024-10-20T17:00:00Z");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            checkpointingService.recordRevision(team, Position.QB, kickoff.minusSeconds(30), entries(Position.QB, 12L));
+            checkpointingService.recordRevision(team, Position.QB, kickoff.minusSeconds(20), entries(Position.QB, 11L, 12L));
+            checkpointingService.recordRevision(team, Position.WR, kickoff.minusSeconds(10), entries(Position.WR, 13L));
+            checkpointingService.recordRevision(team, Position.QB, kickoff.plusSeconds(10), entries(Position.QB));
+        });
+
+        assertTrue(checkpointRepository.findFirstByTeamAndRecordedAtLessThanEqualOrderByRecordedAtDesc(team, kickoff).isPresent());
+        assertEquals(Map.of(Position.QB, List.of(12L)), numbers(checkpointingService.getFullDepthChartAsOf(team, kickoff.minusSeconds(25))));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Map<Position, List<DepthChartEntry>> atKickoff = checkpointingService.getFullDepthChartAsOf(team, kickoff);
+        Map<Position, List<DepthChartEntry>> afterKickoff = checkpointingService.getFullDepthChartAsOf(team, kickoff.plusSeconds(10));
+
+        assertEquals(Map.of(Position.QB, List.of(11L, 12L), Position.WR, List.of(13L)), numbers(atKickoff));
+        assertEquals(Map.of(Position.WR, List.of(13L)), numbers(afterKickoff));
+        assertEquals(4, statistics.getPrepareStatementCount(), "Each read should load the checkpoint and the revisions after it only");
+    }
+
+    @Test
+    void getFullDepthChartAsOf_WhenHistoryStartsAfterAPositionWasWritten_ThenTheUntouchedPositionIsStillThere() throws InterruptedException {
+        Player brady = savePlayer(12L);
+        Player gabbert = savePlayer(11L);
+        Player evans = savePlayer(13L);
+        // written before history was turned on, so no revision of it exists
+        savePlayerRow(evans, Position.WR);
+
+        Instant beforeHistory = tick();
+        depthChartService.addPlayerToDepthChart(team, Position.QB, brady, null);
+        Instant afterFirstChange = tick();
+        depthChartService.addPlayerToDepthChart(team, Position.QB, gabbert, null);
+        Instant afterSecondChange = tick();
+
+        assertThrows(IllegalArgumentException.class, () -> historyService.getFullDepthChartAsOf(team, beforeHistory));
+        assertEquals(Map.of(Position.QB, List.of(12L), Position.WR, List.of(13L)),
+                numbers(historyService.getFullDepthChartAsOf(team, afterFirstChange)));
+        assertEquals(Map.of(Position.QB, List.of(12L, 11L), Position.WR, List.of(13L)),
+                numbers(historyService.getFullDepthChartAsOf(team, afterSecondChange)));
+    }
+
+    private void savePlayerRow(Player player, Position position) {
+        DepthChart depthChart = new DepthChart();
+        depthChart.setTeam(team);
+        depthChart.setPosition(position);
+        depthChart.setPlayer(player);
+        depthChart.setPositionDepth(1);
+        depthChartRepository.save(depthChart);
+    }
+
+    private static Instant tick() throws InterruptedException {
+        Thread.sleep(5);
+        Instant now = Instant.now();
+        Thread.sleep(5);
+        return now;
+    }
+
+    private static List<DepthChartEntry> entries(Position position, Long... numbers) {
+        List<DepthChartEntry> entries = new ArrayList<>();
+        for (Long number : numbers) {
+            entries.add(new DepthChartEntry(position, entries.size() + 1, null, number, "Player" + number));
+        }
+        return entries;
+    }
+
+    private static Map<Position, List<Long>> numbers(Map<Position, List<DepthChartEntry>> depthChart) {
+        return depthChart.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey,
+                entry -> entry.getValue().stream().map(DepthChartEntry::number).toList()));
+    }
+
+    private Player savePlayer(Long number) {
+        Player player = new Player();
+        player.setNumber(number);
+        player.setName("Player" + number);
+        player.setTeam(team);
+        return playerService.savePlayer(player);
+    }
+}
@@ -1,19 +1,38 @@
 package dev.amir.depth_chart_manager.service.impl;
 
+import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
+import dev.amir.depth_chart_manager.cache.DepthChartCache;
+import dev.amir.depth_chart_manager.concurrency.DepthChartWriteCoordinator;
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
 import dev.amir.depth_chart_manager.entity.DepthChart;
 import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.event.DepthChartChangedEvent;
+import dev.amir.depth_chart_manager.event.DepthChartReplacedEvent;
+import dev.amir.depth_chart_manager.metrics.DepthChartMetrics;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.dto.DepthChartOperation;
+import dev.amir.depth_chart_manager.model.enums.OperationType;
 import dev.amir.depth_chart_manager.model.enums.Position;
 import dev.amir.depth_chart_manager.repository.CustomDepthChartRepository;
+import dev.amir.depth_chart_manager.repository.DepthChartPositionVersionRepository;
 import dev.amir.depth_chart_manager.repository.DepthChartRepository;
+import dev.amir.depth_chart_manager.service.PlayerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -21,7 +40,6 @@ import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 
@@ -33,49 +51,83 @@ class DepthChartServiceImplTest {
     @Mock
     private CustomDepthChartRepository customDepthChartRepository;
 
+    @Mock
+    private PlayerService playerService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private DepthChartMetrics metrics = new DepthChartMetrics(meterRegistry);
+
+    @Spy
+    private DepthChartWriteCoordinator writeCoordinator = new DepthChartWriteCoordinator(new DepthChartProperties(), mock(PlatformTransactionManager.class),
+            mock(DepthChartPositionVersionRepository.class), metrics);
+
+    @Spy
+    private DepthChartCache depthChartCache = new DepthChartCache(propertiesWithCacheEnabled(false));
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private DepthChartProperties properties = new DepthChartProperties();
+
     @InjectMocks
     private DepthChartServiceImpl depthChartService;
 
+    private Logger logger;
+
     private ListAppender<ILoggingEvent> listAppender;
 
+    private Team team;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
-        // Setup in-memory appender for capturing logs
-        Logger logger = (Logger) LoggerFactory.getLogger(DepthChartServiceImpl.class);
+        team = new Team();
+        team.setId(1L);
+        team.setName("buccaneers");
+
+        // Setup in-memory appender for capturing logs, including the DEBUG depth chart dumps
+        logger = (Logger) LoggerFactory.getLogger(DepthChartServiceImpl.class);
+        logger.setLevel(Level.DEBUG);
         listAppender = new ListAppender<>();
         listAppender.start();
         logger.addAppender(listAppender);
     }
 
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(listAppender);
+        logger.setLevel(null);
+    }
+
     @Test
     void testAddPlayerToDepthChart_WithSpecificDepthPosition_PlayerIsAddedToSpecificDepthAndOthersShifted() {
         // Given
         Position position = Position.QB;
 
-        Player player1 = playerBuilder(1L, "Player1", 1L);
-        Player player2 = playerBuilder(2L, "Player2", 2L);
-        Player player3 = playerBuilder(3L, "Player3", 3L);
-
-        List<DepthChart> existingDepthCharts = new ArrayList<>();
-        existingDepthCharts.add(depthChartBuilder(position, player1, 1));
-        existingDepthCharts.add(depthChartBuilder(position, player2, 2));
-        existingDepthCharts.add(depthChartBuilder(position, player3, 3));
-
-        when(depthChartRepository.findByPositionOrderByPositionDepth(position)).thenReturn(existingDepthCharts);
+        when(depthChartRepository.countByTeamAndPosition(team, position)).thenReturn(3L);
+        when(depthChartRepository.shiftDepthsForwardFrom(team, position, 1)).thenReturn(3);
 
         // When
         Player player4 = playerBuilder(4L, "Player4", 4L);
-        depthChartService.addPlayerToDepthChart(position, player4, 1);
+        depthChartService.addPlayerToDepthChart(team, position, player4, 1);
 
         // Then
-        verify(depthChartRepository, times(1)).saveAll(anyList());
+        verify(depthChartRepository, times(1)).shiftDepthsForwardFrom(team, position, 1);
+
+        ArgumentCaptor<DepthChart> savedDepthChart = ArgumentCaptor.forClass(DepthChart.class);
+        verify(depthChartRepository, times(1)).save(savedDepthChart.capture());
+        assertEquals(1, savedDepthChart.getValue().getPositionDepth());
+        assertEquals(player4, savedDepthChart.getValue().getPlayer());
+        assertEquals(team, savedDepthChart.getValue().getTeam());
 
         // Verify the log message
         List<ILoggingEvent> logsList = listAppender.list;
         assertEquals(1, logsList.size());
-        assertEquals("Player added to depthChart. List of adjusted depthPositions for QB position: (PositionDepth=1,PlayerNumber=4), (PositionDepth=2,PlayerNumber=1), (PositionDepth=3,PlayerNumber=2), (PositionDepth=4,PlayerNumber=3)", logsList.get(0).getFormattedMessage());
+        assertEquals("Player 4 added to depthChart of QB position at positionDepth 1, 3 players shifted down", logsList.get(0).getFormattedMessage());
     }
 
 
@@ -84,55 +136,60 @@ class DepthChartServiceImplTest {
         // Given
         Position position = Position.QB;
 
-        Player player1 = playerBuilder(1L, "Player1", 1L);
-        Player player2 = playerBuilder(2L, "Player2", 2L);
-        Player player3 = playerBuilder(3L, "Player3", 3L);
-
-
-        List<DepthChart> existingDepthCharts = new ArrayList<>();
-        existingDepthCharts.add(depthChartBuilder(position, player1, 1));
-        existingDepthCharts.add(depthChartBuilder(position, player2, 2));
-        existingDepthCharts.add(depthChartBuilder(position, player3, 3));
-
-
-        when(depthChartRepository.findByPositionOrderByPositionDepth(position)).thenReturn(existingDepthCharts);
+        when(depthChartRepository.countByTeamAndPosition(team, position)).thenReturn(3L);
 
         // When
         Player player4 = playerBuilder(4L, "Player4", 4L);
         // Call the method without specifying the depth position
-        depthChartService.addPlayerToDepthChart(position, player4, null);
+        depthChartService.addPlayerToDepthChart(team, position, player4, null);
 
         // Then
-        verify(depthChartRepository, times(1)).saveAll(anyList());
+        ArgumentCaptor<DepthChart> savedDepthChart = ArgumentCaptor.forClass(DepthChart.class);
+        verify(depthChartRepository, times(1)).save(savedDepthChart.capture());
+        assertEquals(4, savedDepthChart.getValue().getPositionDepth());
 
         // Verify the log message
         List<ILoggingEvent> logsList = listAppender.list;
         assertEquals(1, logsList.size());
-        assertEquals("Player added to depthChart. List of adjusted depthPositions for QB position: (PositionDepth=4,PlayerNumber=4)", logsList.get(0).getFormattedMessage());
+        assertEquals("Player 4 added to depthChart of QB position at positionDepth 4, 0 players shifted down", logsList.get(0).getFormattedMessage());
 
     }
 
 
+    @Test
+    void addPlayerToDepthChart_WithDepthPastTheEndOrBelowOne_ThenTheDepthIsClampedToThePosition() {
+        // Given
+        Position position = Position.QB;
+
+        when(depthChartRepository.countByTeamAndPosition(team, position)).thenReturn(3L);
+
+        // When
+        depthChartService.addPlayerToDepthChart(team, position, playerBuilder(4L, "Player4", 4L), 10);
+        depthChartService.addPlayerToDepthChart(team, position, playerBuilder(5L, "Player5", 5L), 0);
+
+        // Then
+        verify(depthChartRepository).shiftDepthsForwardFrom(team, position, 4);
+        verify(depthChartRepository).shiftDepthsForwardFrom(team, position, 1);
+        ArgumentCaptor<DepthChart> savedDepthCharts = ArgumentCaptor.forClass(DepthChart.class);
+        verify(depthChartRepository, times(2)).save(savedDepthCharts.capture());
+        assertEquals(List.of(4, 1), savedDepthCharts.getAllValues().stream().map(DepthChart::getPositionDepth).toList());
+    }
+
+
     @Test
     void removePlayerFromDepthChart_WhenPlayerExists_PlayerIsRemovedAndOthersShifted() {
         // Given
         Position position = Position.QB;
 
-        Player player1 = playerBuilder(1L, "Player1", 1L);
         Player player2 = playerBuilder(2L, "Player2", 2L);
-        Player player3 = playerBuilder(3L, "Player3", 3L);
-
-        List<DepthChart> existingDepthCharts = new ArrayList<>();
-        existingDepthCharts.add(depthChartBuilder(position, player1, 1));
-        existingDepthCharts.add(depthChartBuilder(position, player3, 3));
 
         DepthChart depthChartToBeRemoved = depthChartBuilder(position, player2, 2);
 
-        when(customDepthChartRepository.deleteAndReturnByPositionAndPlayerNumber(position, player1.getNumber())).thenReturn(depthChartToBeRemoved);
-        when(depthChartRepository.findByPositionOrderByPositionDepth(position)).thenReturn(existingDepthCharts);
+        when(customDepthChartRepository.deleteAndReturnByTeamAndPositionAndPlayerNumber(team, position, player2.getNumber())).thenReturn(depthChartToBeRemoved);
+        when(depthChartRepository.shiftDepthsBackAfter(team, position, 2)).thenReturn(1);
 
         // When
-        Optional<DepthChart> result = depthChartService.removePlayerFromDepthChart(position, player1);
+        Optional<DepthChart> result = depthChartService.removePlayerFromDepthChart(team, position, player2);
 
         // Then
         assertTrue(result.isPresent());
@@ -140,13 +197,14 @@ class DepthChartServiceImplTest {
 
         // Verify interactions
         verify(customDepthChartRepository, times(1))
-                .deleteAndReturnByPositionAndPlayerNumber(position, player1.getNumber());
-        verify(depthChartRepository, times(1)).findByPositionOrderByPositionDepth(position);
+                .deleteAndReturnByTeamAndPositionAndPlayerNumber(team, position, player2.getNumber());
+        verify(depthChartRepository, times(1)).shiftDepthsBackAfter(team, position, 2);
+        verify(depthChartRepository, never()).findByTeamAndPositionOrderByPositionDepth(any(), any());
 
         // Verify the log message
         List<ILoggingEvent> logsList = listAppender.list;
         assertEquals(1, logsList.size());
-        assertEquals("Player removed from depthChart. List of adjusted depthPositions for QB position: (PositionDepth=0,PlayerNumber=1), (PositionDepth=1,PlayerNumber=3)", logsList.get(0).getFormattedMessage());
+        assertEquals("Player 2 removed from depthChart of QB position at positionDepth 2, 1 players shifted up", logsList.get(0).getFormattedMessage());
 
     }
 
@@ -157,16 +215,101 @@ class DepthChartServiceImplTest {
         Position position = Position.QB;
         Player player1 = playerBuilder(1L, "Non-Existent Player", 1L);
 
-        when(customDepthChartRepository.deleteAndReturnByPositionAndPlayerNumber(position, player1.getNumber())).thenReturn(null);
+        when(customDepthChartRepository.deleteAndReturnByTeamAndPositionAndPlayerNumber(team, position, player1.getNumber())).thenReturn(null);
+
+        // When
+        Optional<DepthChart> result = depthChartService.removePlayerFromDepthChart(team, position, player1);
+
+        // Then
+        assertFalse(result.isPresent());
+
+        verify(customDepthChartRepository, times(1)).deleteAndReturnByTeamAndPositionAndPlayerNumber(team, position, player1.getNumber());
+        verify(depthChartRepository, never()).shiftDepthsBackAfter(any(), any(), anyInt());
+    }
+
+
+    @Test
+    void movePlayerInDepthChart_ToAHigherDepth_ThenOnlyTheRowsInBetweenAreShiftedUp() {
+        // Given
+        Position position = Position.QB;
+        Player player1 = playerBuilder(1L, "Player1", 1L);
+        DepthChart depthChartToBeMoved = depthChartBuilder(position, player1, 1);
+
+        when(depthChartRepository.findByTeamAndPositionAndPlayerNumber(team, position, player1.getNumber())).thenReturn(Optional.of(depthChartToBeMoved));
+        when(depthChartRepository.countByTeamAndPosition(team, position)).thenReturn(5L);
+        when(depthChartRepository.shiftDepthsBackBetween(team, position, 2, 3)).thenReturn(2);
+
+        // When
+        Optional<DepthChart> result = depthChartService.movePlayerInDepthChart(team, position, player1, 3);
+
+        // Then
+        assertEquals(3, result.orElseThrow().getPositionDepth());
+        verify(depthChartRepository, times(1)).shiftDepthsBackBetween(team, position, 2, 3);
+        verify(depthChartRepository, never()).shiftDepthsForwardBetween(any(), any(), anyInt(), anyInt());
+        verify(depthChartRepository, never()).delete(any());
+        verify(eventPublisher, times(1)).publishEvent(new DepthChartChangedEvent(team.getId(), position));
+        assertEquals("Player 1 moved in depthChart of QB position from positionDepth 1 to 3, 2 players shifted", listAppender.list.get(0).getFormattedMessage());
+    }
+
+
+    @Test
+    void movePlayerInDepthChart_ToTheHeadOrPastTheEnd_ThenShiftsTowardsTheClampedDepth() {
+        // Given
+        Position position = Position.QB;
+        Player player4 = playerBuilder(4L, "Player4", 4L);
+        DepthChart depthChartToBeMoved = depthChartBuilder(position, player4, 4);
+
+        when(depthChartRepository.findByTeamAndPositionAndPlayerNumber(team, position, player4.getNumber())).thenReturn(Optional.of(depthChartToBeMoved));
+        when(depthChartRepository.countByTeamAndPosition(team, position)).thenReturn(5L);
+
+        // When
+        depthChartService.movePlayerInDepthChart(team, position, player4, 0);
+        depthChartService.movePlayerInDepthChart(team, position, player4, 99);
+
+        // Then
+        verify(depthChartRepository, times(1)).shiftDepthsForwardBetween(team, position, 1, 3);
+        verify(depthChartRepository, times(1)).shiftDepthsBackBetween(team, position, 2, 5);
+        assertEquals(5, depthChartToBeMoved.getPositionDepth());
+    }
+
+
+    @Test
+    void movePlayerInDepthChart_PlayerNotExists() {
+        // Given
+        Position position = Position.QB;
+        Player player1 = playerBuilder(1L, "Non-Existent Player", 1L);
 
         // When
-        Optional<DepthChart> result = depthChartService.removePlayerFromDepthChart(position, player1);
+        Optional<DepthChart> result = depthChartService.movePlayerInDepthChart(team, position, player1, 1);
 
         // Then
         assertFalse(result.isPresent());
+        verify(depthChartRepository, never()).shiftDepthsBackBetween(any(), any(), anyInt(), anyInt());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+
+    @Test
+    void swapPlayersInDepthChart_ThenTheTwoRowsExchangeDepths() {
+        // Given
+        Position position = Position.QB;
+        Player player1 = playerBuilder(1L, "Player1", 1L);
+        Player player3 = playerBuilder(3L, "Player3", 3L);
+        DepthChart depthChart1 = depthChartBuilder(position, player1, 1);
+        DepthChart depthChart3 = depthChartBuilder(position, player3, 3);
+
+        when(depthChartRepository.findByTeamAndPositionAndPlayerNumber(team, position, 1L)).thenReturn(Optional.of(depthChart1));
+        when(depthChartRepository.findByTeamAndPositionAndPlayerNumber(team, position, 3L)).thenReturn(Optional.of(depthChart3));
 
-        verify(customDepthChartRepository, times(1)).deleteAndReturnByPositionAndPlayerNumber(position, player1.getNumber());
-        verify(depthChartRepository, times(0)).findByPositionOrderByPositionDepth(position);
+        // When
+        List<DepthChart> result = depthChartService.swapPlayersInDepthChart(team, position, player1, player3);
+
+        // Then
+        assertEquals(List.of(depthChart1, depthChart3), result);
+        assertEquals(3, depthChart1.getPositionDepth());
+        assertEquals(1, depthChart3.getPositionDepth());
+        verify(depthChartRepository, never()).shiftDepthsForwardFrom(any(), any(), anyInt());
+        verify(depthChartRepository, never()).shiftDepthsBackAfter(any(), any(), anyInt());
     }
 
 
@@ -192,28 +335,25 @@ class DepthChartServiceImplTest {
         backups.add(depthChartBuilder(position, player3, 3)); // player3 as backup
         backups.add(depthChartBuilder(position, player4, 4)); // player4 as backup
 
-        when(depthChartRepository.findByPositionAndPlayerNumber(position, player2.getNumber())).thenReturn(Optional.of(depthChart));
-        when(depthChartRepository.findByPositionAndPositionDepthGreaterThanOrderByPositionDepth(position, depthChart.getPositionDepth())).thenReturn(backups);
+        when(depthChartRepository.findByTeamAndPositionAndPlayerNumber(team, position, player2.getNumber())).thenReturn(Optional.of(depthChart));
+        when(depthChartRepository.findByTeamAndPositionAndPositionDepthGreaterThanOrderByPositionDepth(team, position, depthChart.getPositionDepth())).thenReturn(backups);
 
         // When
-        List<Player> result = depthChartService.getBackups(position, player2);
+        List<DepthChartEntry> result = depthChartService.getBackups(team, position, player2);
 
 
         // Then
         assertAll("Check all conditions",
                 () -> assertEquals(2, result.size(), "player2 has 2 backups"),
 
-                () -> assertEquals("Player3", result.get(0).getName(), "The name of the first backup player should be Player3"),
-                () -> assertEquals(3L, result.get(0).getNumber(), "The number of the first backup player should be 3"),
-
-                () -> assertEquals("Player4", result.get(1).getName(), "The name of the second backup player should be Player4"),
-                () -> assertEquals(4L, result.get(1).getNumber(), "The number of the second backup player should be 4")
+                () -> assertEquals(new DepthChartEntry(position, 3, 3L, 3L, "Player3"), result.get(0), "Player3 is the first backup, at depth 3"),
+                () -> assertEquals(new DepthChartEntry(position, 4, 4L, 4L, "Player4"), result.get(1), "Player4 is the second backup, at depth 4")
         );
 
 
         // Verify interactions with the mocks
-        verify(depthChartRepository, times(1)).findByPositionAndPlayerNumber(position, player2.getNumber());
-        verify(depthChartRepository, times(1)).findByPositionAndPositionDepthGreaterThanOrderByPositionDepth(position, depthChart.getPositionDepth());
+        verify(depthChartRepository, times(1)).findByTeamAndPositionAndPlayerNumber(team, position, player2.getNumber());
+        verify(depthChartRepository, times(1)).findByTeamAndPositionAndPositionDepthGreaterThanOrderByPositionDepth(team, position, depthChart.getPositionDepth());
     }
 
 
@@ -231,16 +371,16 @@ class DepthChartServiceImplTest {
         existingDepthCharts.add(depthChartBuilder(position, player2, 2));
         existingDepthCharts.add(depthChartBuilder(position, player3, 3));
 
-        when(depthChartRepository.findByPositionAndPlayerNumber(position, player2.getNumber())).thenReturn(Optional.empty());
+        when(depthChartRepository.findByTeamAndPositionAndPlayerNumber(team, position, player2.getNumber())).thenReturn(Optional.empty());
 
         // When
-        List<Player> result = depthChartService.getBackups(position, player2);
+        List<DepthChartEntry> result = depthChartService.getBackups(team, position, player2);
 
         // Then
         assertTrue(result.isEmpty(), "Backup player list should be empty when player does not exist");
 
-        verify(depthChartRepository, times(1)).findByPositionAndPlayerNumber(position, player2.getNumber());
-        verify(depthChartRepository, never()).findByPositionAndPositionDepthGreaterThanOrderByPositionDepth(any(), anyInt());
+        verify(depthChartRepository, times(1)).findByTeamAndPositionAndPlayerNumber(team, position, player2.getNumber());
+        verify(depthChartRepository, never()).findByTeamAndPositionAndPositionDepthGreaterThanOrderByPositionDepth(any(), any(), anyInt());
     }
 
     @Test
@@ -261,43 +401,39 @@ class DepthChartServiceImplTest {
 
         List<DepthChart> noBackups = new ArrayList<>(); // Empty list for no backups
 
-        when(depthChartRepository.findByPositionAndPlayerNumber(position, player2.getNumber())).thenReturn(Optional.of(depthChart));
-        when(depthChartRepository.findByPositionAndPositionDepthGreaterThanOrderByPositionDepth(position, depthChart.getPositionDepth())).thenReturn(noBackups);
+        when(depthChartRepository.findByTeamAndPositionAndPlayerNumber(team, position, player2.getNumber())).thenReturn(Optional.of(depthChart));
+        when(depthChartRepository.findByTeamAndPositionAndPositionDepthGreaterThanOrderByPositionDepth(team, position, depthChart.getPositionDepth())).thenReturn(noBackups);
 
         // When
-        List<Player> result = depthChartService.getBackups(position, player2);
+        List<DepthChartEntry> result = depthChartService.getBackups(team, position, player2);
 
         // Then
         assertTrue(result.isEmpty(), "Backup player list should be empty when there are no backups");
 
-        verify(depthChartRepository, times(1)).findByPositionAndPlayerNumber(position, player2.getNumber());
-        verify(depthChartRepository, times(1)).findByPositionAndPositionDepthGreaterThanOrderByPositionDepth(position, depthChart.getPositionDepth());
+        verify(depthChartRepository, times(1)).findByTeamAndPositionAndPlayerNumber(team, position, player2.getNumber());
+        verify(depthChartRepository, times(1)).findByTeamAndPositionAndPositionDepthGreaterThanOrderByPositionDepth(team, position, depthChart.getPositionDepth());
     }
 
     @Test
-    void getFullDepthChart_WhenPlayersAddedUnordered_ThenShowDepthChartGroupedAndOrdered() {
+    void getFullDepthChart_WhenOnePosition_ThenShowDepthChartInRepositoryOrder() {
         // Given
         Position positionQB = Position.QB;
 
-        Player player1 = playerBuilder(1L, "Player1", 1L);
-        Player player2 = playerBuilder(2L, "Player2", 2L);
-        Player player3 = playerBuilder(3L, "Player3", 3L);
-
-        List<DepthChart> depthCharts = new ArrayList<>();
-        depthCharts.add(depthChartBuilder(positionQB, player1, 1));
-        depthCharts.add(depthChartBuilder(positionQB, player3, 3)); // Unordered
-        depthCharts.add(depthChartBuilder(positionQB, player2, 2));
+        DepthChartEntry player1 = entryBuilder(positionQB, 1, 1L, "Player1");
+        DepthChartEntry player2 = entryBuilder(positionQB, 2, 2L, "Player2");
+        DepthChartEntry player3 = entryBuilder(positionQB, 3, 3L, "Player3");
 
-        when(depthChartRepository.findAll()).thenReturn(depthCharts);
+        // The repository query orders by position and depth
+        when(depthChartRepository.findEntriesByTeam(team)).thenReturn(List.of(player1, player2, player3));
 
         // When
-        Map<Position, List<Player>> result = depthChartService.getFullDepthChart();
+        Map<Position, List<DepthChartEntry>> result = depthChartService.getFullDepthChart(team);
 
         // Then
         assertEquals(1, result.size(), "The depth chart should contain 1 position group");
         assertTrue(result.containsKey(positionQB), "The depth chart should contain the QB position");
 
-        List<Player> players = result.get(positionQB);
+        List<DepthChartEntry> players = result.get(positionQB);
         assertEquals(3, players.size(), "The QB depth chart should contain 3 players");
         assertEquals(player1, players.get(0), "The first player should be Player1");
         assertEquals(player2, players.get(1), "The second player should be Player2");
@@ -309,55 +445,41 @@ class DepthChartServiceImplTest {
         String expectedLogMessage = "QB - (#1, Player1), (#2, Player2), (#3, Player3)";
         assertEquals(expectedLogMessage, logsList.get(0).getFormattedMessage(), "The log message should match the expected format");
 
-        verify(depthChartRepository, times(1)).findAll();
+        verify(depthChartRepository, times(1)).findEntriesByTeam(team);
+        verify(depthChartRepository, never()).findByTeam(any());
     }
 
 
     @Test
-    void getFullDepthChart_WhenPlayersAddedInTwoDifferentPositions_ThenShowDepthChartGroupedAndOrdered() {
+    void getFullDepthChart_WhenPlayersInTwoDifferentPositions_ThenShowDepthChartGroupedByPosition() {
         // Given
         Position positionQB = Position.QB;
         Position positionDT = Position.DT;
 
-        Player player1QB = playerBuilder(1L, "Player1", 1L);
-        Player player2QB = playerBuilder(2L, "Player2", 2L);
-        Player player3QB = playerBuilder(3L, "Player3", 3L);
-
-        Player player1DT = playerBuilder(4L, "Player4", 4L);
-        Player player2DT = playerBuilder(5L, "Player5", 5L);
-        Player player3DT = playerBuilder(6L, "Player6", 6L);
+        DepthChartEntry player1QB = entryBuilder(positionQB, 1, 1L, "Player1");
+        DepthChartEntry player2QB = entryBuilder(positionQB, 2, 2L, "Player2");
+        DepthChartEntry player3QB = entryBuilder(positionQB, 3, 3L, "Player3");
 
-        List<DepthChart> depthCharts = new ArrayList<>();
-        depthCharts.add(depthChartBuilder(positionQB, player1QB, 1));
-        depthCharts.add(depthChartBuilder(positionQB, player2QB, 2));
-        depthCharts.add(depthChartBuilder(positionQB, player3QB, 3));
-        depthCharts.add(depthChartBuilder(positionDT, player1DT, 1));
-        depthCharts.add(depthChartBuilder(positionDT, player2DT, 2));
-        depthCharts.add(depthChartBuilder(positionDT, player3DT, 3));
+        DepthChartEntry player1DT = entryBuilder(positionDT, 1, 4L, "Player4");
+        DepthChartEntry player2DT = entryBuilder(positionDT, 2, 5L, "Player5");
+        DepthChartEntry player3DT = entryBuilder(positionDT, 3, 6L, "Player6");
 
-        when(depthChartRepository.findAll()).thenReturn(depthCharts);
+        when(depthChartRepository.findEntriesByTeam(team))
+                .thenReturn(List.of(player1DT, player2DT, player3DT, player1QB, player2QB, player3QB));
 
         // When
-        Map<Position, List<Player>> result = depthChartService.getFullDepthChart();
+        Map<Position, List<DepthChartEntry>> result = depthChartService.getFullDepthChart(team);
 
         // Then
         assertEquals(2, result.size(), "The depth chart should contain 2 position groups");
 
         // Validate QB position group
         assertTrue(result.containsKey(positionQB), "The depth chart should contain the QB position");
-        List<Player> playersQB = result.get(positionQB);
-        assertEquals(3, playersQB.size(), "The QB depth chart should contain 3 players");
-        assertEquals(player1QB, playersQB.get(0), "The first QB should be Player1");
-        assertEquals(player2QB, playersQB.get(1), "The second QB should be Player2");
-        assertEquals(player3QB, playersQB.get(2), "The third QB should be Player3");
+        assertEquals(List.of(player1QB, player2QB, player3QB), result.get(positionQB), "The QB depth chart should be Player1, Player2, Player3");
 
         // Validate DT position group
         assertTrue(result.containsKey(positionDT), "The depth chart should contain the DT position");
-        List<Player> playersDT = result.get(positionDT);
-        assertEquals(3, playersDT.size(), "The DT depth chart should contain 3 players");
-        assertEquals(player1DT, playersDT.get(0), "The first DT should be Player4");
-        assertEquals(player2DT, playersDT.get(1), "The second DT should be Player5");
-        assertEquals(player3DT, playersDT.get(2), "The third DT should be Player6");
+        assertEquals(List.of(player1DT, player2DT, player3DT), result.get(positionDT), "The DT depth chart should be Player4, Player5, Player6");
 
         // Verify log messages
         List<ILoggingEvent> logsList = listAppender.list;
@@ -369,11 +491,132 @@ class DepthChartServiceImplTest {
         assertTrue(logsList.stream().anyMatch(log -> log.getFormattedMessage().equals(expectedLogMessageQB)), "The log message for QB should match the expected format");
         assertTrue(logsList.stream().anyMatch(log -> log.getFormattedMessage().equals(expectedLogMessageDT)), "The log message for DT should match the expected format");
 
-        verify(depthChartRepository, times(1)).findAll();
+        verify(depthChartRepository, times(1)).findEntriesByTeam(team);
+    }
+
+
+    @Test
+    void getFullDepthChart_WhenCalledRepeatedly_ThenDepthChartDumpedOncePerInterval() {
+        // Given
+        DepthChartProperties sampledProperties = propertiesWithCacheEnabled(false);
+        sampledProperties.getLogging().setChartDumpInterval(2);
+        DepthChartServiceImpl sampledDepthChartService = new DepthChartServiceImpl(depthChartRepository, customDepthChartRepository, playerService,
+                writeCoordinator, depthChartCache, eventPublisher, metrics, sampledProperties);
+        when(depthChartRepository.findEntriesByTeam(team)).thenReturn(List.of(entryBuilder(Position.QB, 1, 1L, "Player1")));
+
+        // When
+        for (int call = 0; call < 3; call++) {
+            sampledDepthChartService.getFullDepthChart(team);
+        }
+
+        // Then
+        assertEquals(2, listAppender.list.size(), "Only the first and third calls should dump the depth chart");
+        assertTrue(listAppender.list.stream().allMatch(event -> event.getLevel() == Level.DEBUG));
+    }
+
+
+    @Test
+    void getFullDepthChart_WhenDebugDisabled_ThenDepthChartIsNotDumped() {
+        // Given
+        logger.setLevel(Level.INFO);
+        when(depthChartRepository.findEntriesByTeam(team)).thenReturn(List.of(entryBuilder(Position.QB, 1, 1L, "Player1")));
+
+        // When
+        Map<Position, List<DepthChartEntry>> result = depthChartService.getFullDepthChart(team);
+
+        // Then
+        assertEquals(1, result.get(Position.QB).size());
+        assertTrue(listAppender.list.isEmpty());
+    }
+
+
+    @Test
+    void addPlayerToDepthChart_PublishesChangeOfTeamPosition() {
+        // Given
+        Position position = Position.QB;
+
+        // When
+        depthChartService.addPlayerToDepthChart(team, position, playerBuilder(1L, "Player1", 1L), null);
+
+        // Then
+        verify(eventPublisher, times(1)).publishEvent(new DepthChartChangedEvent(team.getId(), position));
+    }
+
+
+    @Test
+    void applyDepthChartOperations_PublishesAReplacementOfEveryPositionItWrote() {
+        // Given
+        Player player1 = playerBuilder(1L, "Player1", 1L);
+
+        // When
+        depthChartService.applyDepthChartOperations(team, List.of(
+                new DepthChartOperation(OperationType.REMOVE, Position.QB, player1, null),
+                new DepthChartOperation(OperationType.MOVE, Position.WR, player1, 1)));
+
+        // Then
+        verify(eventPublisher, times(1)).publishEvent(new DepthChartReplacedEvent(team, Position.QB));
+        verify(eventPublisher, times(1)).publishEvent(new DepthChartReplacedEvent(team, Position.WR));
+    }
+
+
+    @Test
+    void addPlayerToDepthChart_RecordsOperationLatencyShiftedRowsAndLockWait() {
+        // Given
+        Position position = Position.QB;
+
+        when(depthChartRepository.shiftDepthsForwardFrom(team, position, 1)).thenReturn(3);
+
+        // When
+        depthChartService.addPlayerToDepthChart(team, position, playerBuilder(4L, "Player4", 4L), 1);
+
+        // Then
+        assertEquals(1, meterRegistry.get(DepthChartMetrics.OPERATION_TIMER)
+                .tags("operation", "add", "position", "QB", "outcome", "SUCCESS").timer().count());
+        assertEquals(3, meterRegistry.get(DepthChartMetrics.ROWS_SHIFTED)
+                .tags("operation", "add", "position", "QB").summary().totalAmount());
+        assertEquals(1, meterRegistry.get(DepthChartMetrics.LOCK_WAIT_TIMER).tag("mode", "STRIPED").timer().count());
+    }
+
+
+    @Test
+    void getBackups_WhenCacheEnabled_ThenServedFromCachedTeamDepthChart() {
+        // Given
+        DepthChartServiceImpl cachedDepthChartService = new DepthChartServiceImpl(depthChartRepository, customDepthChartRepository, playerService,
+                writeCoordinator, new DepthChartCache(propertiesWithCacheEnabled(true)), eventPublisher, metrics, properties);
+        Position position = Position.QB;
+
+        Player player1 = playerBuilder(1L, "Player1", 1L);
+        Player player2 = playerBuilder(2L, "Player2", 2L);
+        Player player3 = playerBuilder(3L, "Player3", 3L);
+
+        when(depthChartRepository.findEntriesByTeam(team)).thenReturn(List.of(
+                entryBuilder(position, 1, player1),
+                entryBuilder(position, 2, player2),
+                entryBuilder(position, 3, player3)));
+
+        // When
+        List<DepthChartEntry> backupsOfPlayer1 = cachedDepthChartService.getBackups(team, position, player1);
+        List<DepthChartEntry> backupsOfPlayer3 = cachedDepthChartService.getBackups(team, position, player3);
+        List<DepthChartEntry> backupsOfUnknownPlayer = cachedDepthChartService.getBackups(team, position, playerBuilder(4L, "Player4", 4L));
+
+        // Then
+        assertEquals(List.of(entryBuilder(position, 2, player2), entryBuilder(position, 3, player3)), backupsOfPlayer1,
+                "Backups from the cache should carry the same ids and depths as those read from the rows");
+        assertTrue(backupsOfPlayer3.isEmpty(), "The last player in the depth chart should have no backups");
+        assertTrue(backupsOfUnknownPlayer.isEmpty(), "A player not in the depth chart should have no backups");
+
+        verify(depthChartRepository, times(1)).findEntriesByTeam(team);
+        verify(depthChartRepository, never()).findByTeamAndPositionAndPlayerNumber(any(), any(), any());
     }
 
 
     // Helper methods to create Player and DepthChart instances
+    private static DepthChartProperties propertiesWithCacheEnabled(boolean enabled) {
+        DepthChartProperties properties = new DepthChartProperties();
+        properties.getCache().setEnabled(enabled);
+        return properties;
+    }
+
     private static DepthChart depthChartBuilder(Position position, Player player, int depthPosition) {
         DepthChart depthChartRecord = new DepthChart();
         depthChartRecord.setPosition(position);
@@ -382,6 +625,14 @@ class DepthChartServiceImplTest {
         return depthChartRecord;
     }
 
+    private static DepthChartEntry entryBuilder(Position position, int positionDepth, Long number, String name) {
+        return new DepthChartEntry(position, positionDepth, number, number, name);
+    }
+
+    private static DepthChartEntry entryBuilder(Position position, int positionDepth, Player player) {
+        return new DepthChartEntry(position, positionDepth, player.getId(), player.getNumber(), player.getName());
+    }
+
     private static Player playerBuilder(Long id, String name, Long number) {
         Player player = new Player();
         player.setId(id);
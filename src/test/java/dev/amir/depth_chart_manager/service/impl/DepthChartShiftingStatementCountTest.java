@@ -0,0 +1,164 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import dev.amir.depth_chart_manager.entity.DepthChart;
+import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import dev.amir.depth_chart_manager.repository.DepthChartRepository;
+import dev.amir.depth_chart_manager.service.DepthChartService;
+import dev.amir.depth_chart_manager.service.PlayerService;
+import dev.amir.depth_chart_manager.service.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the statements issued per add/remove by the set-based shifting against the former load-mutate-saveAll
+ * shifting for 10 and 100 deep charts.
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+class DepthChartShiftingStatementCountTest {
+
+    @Autowired
+    private DepthChartService depthChartService;
+
+    @Autowired
+    private DepthChartRepository depthChartRepository;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    private Team team;
+
+    @BeforeEach
+    void setUp() {
+        depthChartRepository.deleteAll();
+        team = teamService.findOrCreateTeam("nfl", "buccaneers");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void addAndRemoveAtHead_IssueTheSameNumberOfStatementsFor10And100DeepCharts() {
+        Measurement shallow = measure(Position.QB, 10);
+        Measurement deep = measure(Position.WR, 100);
+
+        log.info("10 deep:  add {} statements ({} us), remove {} statements ({} us), load-mutate-saveAll {} statements",
+                shallow.addStatements, shallow.addMicros, shallow.removeStatements, shallow.removeMicros, shallow.legacyStatements);
+        log.info("100 deep: add {} statements ({} us), remove {} statements ({} us), load-mutate-saveAll {} statements",
+                deep.addStatements, deep.addMicros, deep.removeStatements, deep.removeMicros, deep.legacyStatements);
+
+        assertEquals(shallow.addStatements, deep.addStatements);
+        assertEquals(shallow.removeStatements, deep.removeStatements);
+        assertTrue(deep.legacyStatements > 100, "Shifting row by row should issue one statement per shifted row");
+
+        List<Integer> depths = depthChartRepository.findByTeamAndPositionOrderByPositionDepth(team, Position.WR).stream()
+                .map(DepthChart::getPositionDepth)
+                .toList();
+        assertEquals(100, depths.size());
+        assertEquals(1, depths.get(0));
+        assertEquals(100, depths.get(99));
+    }
+
+    @Test
+    void removePlayerFromAllDepthCharts_ClosesTheGapInEveryPosition() {
+        Player starter = newPlayer(Position.QB, 1);
+        for (Position position : List.of(Position.QB, Position.WR, Position.KR)) {
+            depthChartService.addPlayerToDepthChart(team, position, newPlayer(position, 2), null);
+            depthChartService.addPlayerToDepthChart(team, position, starter, 1);
+            depthChartService.addPlayerToDepthChart(team, position, newPlayer(position, 3), null);
+        }
+        depthChartService.addPlayerToDepthChart(team, Position.TE, newPlayer(Position.TE, 2), null);
+        assertEquals(Map.of(Position.QB, 1, Position.WR, 1, Position.KR, 1),
+                depthChartService.getPlayerPositions(team, starter.getNumber()));
+
+        statistics.clear();
+        List<DepthChart> removed = depthChartService.removePlayerFromAllDepthCharts(team, starter.getNumber());
+
+        assertEquals(3, removed.size());
+        assertEquals(3, statistics.getEntityStatistics(DepthChart.class.getName()).getDeleteCount());
+        assertEquals(Map.of(), depthChartService.getPlayerPositions(team, starter.getNumber()));
+        for (Position position : List.of(Position.QB, Position.WR, Position.KR)) {
+            assertEquals(List.of(1, 2), depthChartRepository.findByTeamAndPositionOrderByPositionDepth(team, position).stream()
+                    .map(DepthChart::getPositionDepth)
+                    .toList());
+        }
+        assertEquals(1, depthChartRepository.findByTeamAndPositionOrderByPositionDepth(team, Position.TE).getFirst().getPositionDepth());
+    }
+
+    private Measurement measure(Position position, int depth) {
+        for (int i = 1; i <= depth; i++) {
+            depthChartService.addPlayerToDepthChart(team, position, newPlayer(position, i), null);
+        }
+
+        Player head = newPlayer(position, depth + 1);
+        long addStatements = Long.MAX_VALUE;
+        long addMicros = 0;
+        long removeStatements = 0;
+        long removeMicros = 0;
+        // measured twice, as the pooled depth_chart_seq fetches its next block of ids on one in 50 inserts
+        for (int attempt = 0; attempt < 2; attempt++) {
+            statistics.clear();
+            long startedAt = System.nanoTime();
+            depthChartService.addPlayerToDepthChart(team, position, head, 1);
+            addMicros = (System.nanoTime() - startedAt) / 1_000;
+            addStatements = Math.min(addStatements, statistics.getPrepareStatementCount());
+
+            statistics.clear();
+            startedAt = System.nanoTime();
+            depthChartService.removePlayerFromDepthChart(team, position, head);
+            removeMicros = (System.nanoTime() - startedAt) / 1_000;
+            removeStatements = statistics.getPrepareStatementCount();
+        }
+
+        statistics.clear();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<DepthChart> depthCharts = depthChartRepository.findByTeamAndPositionOrderByPositionDepth(team, position);
+            depthCharts.forEach(dc -> dc.setPositionDepth(dc.getPositionDepth() + 1));
+            depthChartRepository.saveAll(depthCharts);
+            depthChartRepository.flush();
+            depthCharts.forEach(dc -> dc.setPositionDepth(dc.getPositionDepth() - 1));
+        });
+        long legacyStatements = statistics.getPrepareStatementCount();
+
+        return new Measurement(addStatements, addMicros, removeStatements, removeMicros, legacyStatements);
+    }
+
+    private Player newPlayer(Position position, long number) {
+        Player player = new Player();
+        player.setNumber(position.ordinal() * 1000L + number);
+        player.setName("Player" + number);
+        player.setPosition(position);
+        return playerService.savePlayer(player);
+    }
+
+    private record Measurement(long addStatements, long addMicros, long removeStatements, long removeMicros,
+                               long legacyStatements) {
+    }
+}
@@ -0,0 +1,211 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
+import dev.amir.depth_chart_manager.entity.DepthChart;
+import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.journal.DepthChartJournal;
+import dev.amir.depth_chart_manager.journal.DepthChartSnapshot;
+import dev.amir.depth_chart_manager.metrics.DepthChartMetrics;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.dto.DepthChartOperation;
+import dev.amir.depth_chart_manager.model.enums.OperationType;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import dev.amir.depth_chart_manager.repository.DepthChartRepository;
+import dev.amir.depth_chart_manager.repository.PlayerRepository;
+import dev.amir.depth_chart_manager.repository.TeamRepository;
+import dev.amir.depth_chart_manager.service.DepthChartHistoryService;
+import dev.amir.depth_chart_manager.service.DepthChartService;
+import dev.amir.depth_chart_manager.service.PlayerService;
+import dev.amir.depth_chart_manager.service.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that reshuffles between two flushes reach the database as one write per position, and that journaled changes
+ * which were never flushed are written on the next startup, and that a restart with a snapshot serves from it.
+ */
+@SpringBootTest(properties = {
+        "depth-chart.engine=IN_MEMORY",
+        "depth-chart.write-behind.flush-interval=1h",
+        "depth-chart.write-behind.journal.enabled=true",
+        "depth-chart.write-behind.journal.fsync=false",
+        "depth-chart.write-behind.journal.snapshot-interval=0",
+        "depth-chart.write-behind.journal.directory=" + DepthChartWriteBehindTest.JOURNAL_DIRECTORY
+})
+@ActiveProfiles("test")
+class DepthChartWriteBehindTest {
+
+    static final String JOURNAL_DIRECTORY = "target/write-behind-test/journal";
+    private static final int RESHUFFLES = 20;
+
+    @Autowired
+    private DepthChartService depthChartService;
+
+    @Autowired
+    private DepthChartWriteBehind writeBehind;
+
+    @Autowired
+    private DepthChartRepository depthChartRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private DepthChartHistoryService historyService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DepthChartMetrics metrics;
+
+    private Team team;
+
+    @BeforeEach
+    void setUp() {
+        team = teamService.findOrCreateTeam("nfl", "write-behind-" + System.nanoTime());
+    }
+
+    @Test
+    void reshufflesBetweenFlushes_AreWrittenOncePerPosition() throws InterruptedException, IOException {
+        Player brady = savePlayer(12L);
+        Player gabbert = savePlayer(11L);
+        Player trask = savePlayer(2L);
+        depthChartService.addPlayerToDepthChart(team, Position.QB, brady, null);
+        depthChartService.addPlayerToDepthChart(team, Position.QB, gabbert, null);
+        depthChartService.addPlayerToDepthChart(team, Position.QB, trask, null);
+        for (int i = 0; i < RESHUFFLES; i++) {
+            depthChartService.applyDepthChartOperations(team, List.of(new DepthChartOperation(OperationType.MOVE, Position.QB, i % 2 == 0 ? trask : brady, 1)));
+        }
+
+        assertTrue(storedPlayerNumbers().isEmpty(), "Nothing should be written before the flush");
+        assertTrue(new DepthChartJournal(Path.of(JOURNAL_DIRECTORY), false).segments().size() > 0);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        writeBehind.flush();
+
+        assertEquals(3, statistics.getEntityStatistics(DepthChart.class.getName()).getInsertCount(),
+                "The position should be written once, not once per reshuffle");
+        assertEquals(List.of(12L, 2L, 11L), storedPlayerNumbers());
+        assertTrue(new DepthChartJournal(Path.of(JOURNAL_DIRECTORY), false).segments().isEmpty(), "Flushed segments should be deleted");
+    }
+
+    @Test
+    void start_WritesJournaledChangesLeftFromBeforeARestart() throws IOException, InterruptedException {
+        Player brady = savePlayer(12L);
+        Player gabbert = savePlayer(11L);
+        Path directory = Path.of("target/write-behind-test/crashed-journal-" + System.nanoTime());
+        try (DepthChartJournal journal = new DepthChartJournal(directory, false)) {
+            journal.append(new DepthChartJournal.Entry(team.getId(), Position.QB, List.of(journaled(brady))));
+            journal.append(new DepthChartJournal.Entry(team.getId(), Position.QB, List.of(journaled(gabbert), journaled(brady))));
+        }
+
+        DepthChartProperties properties = new DepthChartProperties();
+        properties.getWriteBehind().setFlushInterval(Duration.ZERO);
+        properties.getWriteBehind().getJournal().setEnabled(true);
+        properties.getWriteBehind().getJournal().setDirectory(directory.toString());
+        DepthChartWriteBehind restarted = new DepthChartWriteBehind(depthChartRepository, teamRepository, playerRepository,
+                historyService, transactionManager, properties);
+        restarted.start();
+        restarted.shutdown();
+
+        assertEquals(List.of(11L, 12L), storedPlayerNumbers());
+        assertTrue(new DepthChartJournal(directory, false).segments().isEmpty());
+    }
+
+    @Test
+    void start_WithSnapshot_ServesFromItAndReplaysOnlyTheJournalAfterIt() throws IOException, InterruptedException {
+        Player brady = savePlayer(12L);
+        Player gabbert = savePlayer(11L);
+        Player evans = savePlayer(13L);
+        Path directory = Path.of("target/write-behind-test/snapshot-journal-" + System.nanoTime());
+        try (DepthChartJournal journal = new DepthChartJournal(directory, false)) {
+            // covered by the snapshot, so it must not be replayed over it
+            journal.append(new DepthChartJournal.Entry(team.getId(), Position.QB, List.of(journaled(gabbert))));
+            journal.rotate();
+            journal.append(new DepthChartJournal.Entry(team.getId(), Position.WR, List.of(journaled(evans))));
+        }
+        DepthChartSnapshot.write(directory.resolve("depth-chart.snapshot"), new DepthChartSnapshot.Contents(1,
+                Map.of(team.getId(), Map.of(Position.QB, List.of(journaled(brady), journaled(gabbert))))));
+
+        DepthChartProperties properties = new DepthChartProperties();
+        properties.getWriteBehind().setFlushInterval(Duration.ofHours(1));
+        properties.getWriteBehind().getJournal().setEnabled(true);
+        properties.getWriteBehind().getJournal().setFsync(false);
+        properties.getWriteBehind().getJournal().setDirectory(directory.toString());
+        DepthChartWriteBehind restarted = new DepthChartWriteBehind(depthChartRepository, teamRepository, playerRepository,
+                historyService, transactionManager, properties);
+        restarted.start();
+        DepthChartService restartedService = new InMemoryDepthChartServiceImpl(depthChartRepository, playerService, restarted, eventPublisher, metrics);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Map<Position, List<DepthChartEntry>> depthChart = restartedService.getFullDepthChart(team);
+
+        assertEquals(0, statistics.getPrepareStatementCount(), "A recovered team should be served without loading it");
+        assertEquals(List.of(12L, 11L), depthChart.get(Position.QB).stream().map(DepthChartEntry::number).toList());
+        assertEquals(List.of(13L), depthChart.get(Position.WR).stream().map(DepthChartEntry::number).toList());
+        assertEquals(List.of(13L), storedPlayerNumbers(Position.WR), "The journal after the snapshot should reach the database");
+        assertTrue(storedPlayerNumbers().isEmpty(), "The journal covered by the snapshot should not be replayed");
+        assertTrue(new DepthChartJournal(directory, false).segments().isEmpty());
+        assertEquals(2, DepthChartSnapshot.read(directory.resolve("depth-chart.snapshot")).map(DepthChartSnapshot.Contents::coveredSegment).orElseThrow());
+        restarted.shutdown();
+    }
+
+    private List<Long> storedPlayerNumbers() {
+        return storedPlayerNumbers(Position.QB);
+    }
+
+    private List<Long> storedPlayerNumbers(Position position) {
+        return depthChartRepository.findByTeamAndPositionOrderByPositionDepth(team, position).stream()
+                .map(DepthChart::getPlayer)
+                .map(Player::getNumber)
+                .toList();
+    }
+
+    private static DepthChartJournal.JournaledPlayer journaled(Player player) {
+        return new DepthChartJournal.JournaledPlayer(player.getId(), player.getNumber(), player.getName());
+    }
+
+    private Player savePlayer(Long number) {
+        Player player = new Player();
+        player.setNumber(number);
+        player.setName("Player" + number);
+        player.setTeam(team);
+        return playerService.savePlayer(player);
+    }
+}
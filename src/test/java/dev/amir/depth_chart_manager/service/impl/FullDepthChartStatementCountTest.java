@@ -0,0 +1,100 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.importer.ImportFormat;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import dev.amir.depth_chart_manager.repository.DepthChartRepository;
+import dev.amir.depth_chart_manager.service.DepthChartService;
+import dev.amir.depth_chart_manager.service.RosterImportService;
+import dev.amir.depth_chart_manager.service.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the full depth chart is read with a single projection query, where loading the entities fans out into
+ * extra selects for the players.
+ */
+@Slf4j
+@SpringBootTest(properties = "depth-chart.cache.enabled=false")
+@ActiveProfiles("test")
+class FullDepthChartStatementCountTest {
+
+    private static final List<Position> POSITIONS = List.of(Position.QB, Position.WR, Position.RB);
+    private static final int PLAYERS_PER_POSITION = 50;
+
+    @Autowired
+    private DepthChartService depthChartService;
+
+    @Autowired
+    private DepthChartRepository depthChartRepository;
+
+    @Autowired
+    private RosterImportService rosterImportService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        depthChartRepository.deleteAll();
+
+        StringBuilder csv = new StringBuilder("sport,team,position,positionDepth,number,name\n");
+        int number = 1;
+        for (Position position : POSITIONS) {
+            // imported in reverse depth order, so the order of the result can only come from the query
+            for (int depth = PLAYERS_PER_POSITION; depth >= 1; depth--, number++) {
+                csv.append("nfl,buccaneers,").append(position).append(',').append(depth).append(',')
+                        .append(number).append(",Player").append(number).append('\n');
+            }
+        }
+        rosterImportService.importRoster(ImportFormat.CSV, new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getFullDepthChart_IssuesOneStatementOrderedByPositionAndDepth() {
+        Team team = teamService.findTeam("nfl", "buccaneers").orElseThrow();
+
+        statistics.clear();
+        Map<Position, List<DepthChartEntry>> fullDepthChart = depthChartService.getFullDepthChart(team);
+        long projectionStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        depthChartRepository.findByTeam(team);
+        long entityStatements = statistics.getPrepareStatementCount();
+
+        log.info("Full depth chart of {} players: projection {} statement(s), entities {} statement(s)",
+                POSITIONS.size() * PLAYERS_PER_POSITION, projectionStatements, entityStatements);
+
+        assertEquals(1, projectionStatements);
+        assertEquals(Set.copyOf(POSITIONS), fullDepthChart.keySet());
+        for (Position position : POSITIONS) {
+            assertEquals(IntStream.rangeClosed(1, PLAYERS_PER_POSITION).boxed().toList(),
+                    fullDepthChart.get(position).stream().map(DepthChartEntry::positionDepth).toList());
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import dev.amir.depth_chart_manager.cache.DepthChartCache;
+import dev.amir.depth_chart_manager.concurrency.DepthChartWriteCoordinator;
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
+import dev.amir.depth_chart_manager.entity.DepthChart;
+import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.event.DepthChartReplacedEvent;
+import dev.amir.depth_chart_manager.importer.ImportFormat;
+import dev.amir.depth_chart_manager.metrics.DepthChartMetrics;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.dto.DepthChartOperation;
+import dev.amir.depth_chart_manager.model.enums.OperationType;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import dev.amir.depth_chart_manager.repository.CustomDepthChartRepository;
+import dev.amir.depth_chart_manager.repository.DepthChartRepository;
+import dev.amir.depth_chart_manager.service.DepthChartService;
+import dev.amir.depth_chart_manager.service.PlayerService;
+import dev.amir.depth_chart_manager.service.RosterImportService;
+import dev.amir.depth_chart_manager.service.TeamService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "depth-chart.engine=IN_MEMORY")
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class InMemoryDepthChartServiceImplTest {
+
+    @Autowired
+    private DepthChartService depthChartService;
+
+    @Autowired
+    private DepthChartWriteBehind writeBehind;
+
+    @Autowired
+    private DepthChartRepository depthChartRepository;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private RosterImportService rosterImportService;
+
+    @Autowired
+    private CustomDepthChartRepository customDepthChartRepository;
+
+    @Autowired
+    private DepthChartWriteCoordinator writeCoordinator;
+
+    @Autowired
+    private DepthChartCache depthChartCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DepthChartMetrics metrics;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    private Team team;
+
+    @BeforeEach
+    void setUp() {
+        team = teamService.findOrCreateTeam("nfl", "in-memory-" + System.nanoTime());
+    }
+
+    @Test
+    void depthChartService_IsTheInMemoryEngine() {
+        assertInstanceOf(InMemoryDepthChartServiceImpl.class, depthChartService);
+    }
+
+    @Test
+    void writes_AreServedFromMemoryAndWrittenBehindToTheDatabase() throws InterruptedException {
+        Player brady = savePlayer(12L, "Tom Brady");
+        Player gabbert = savePlayer(11L, "Blaine Gabbert");
+        Player trask = savePlayer(2L, "Kyle Trask");
+
+        depthChartService.addPlayerToDepthChart(team, Position.QB, brady, null);
+        depthChartService.addPlayerToDepthChart(team, Position.QB, trask, null);
+        depthChartService.addPlayerToDepthChart(team, Position.QB, gabbert, 2);
+
+        assertEquals(List.of(11L, 2L), depthChartService.getBackups(team, Position.QB, brady).stream().map(DepthChartEntry::number).toList());
+        assertEquals(3, depthChartService.getFullDepthChart(team).get(Position.QB).size());
+
+        DepthChart removed = depthChartService.removePlayerFromDepthChart(team, Position.QB, brady).orElseThrow();
+        assertEquals(1, removed.getPositionDepth());
+
+        writeBehind.flush();
+        assertEquals(List.of(11L, 2L), storedPlayerNumbers(Position.QB));
+        assertEquals(List.of(1, 2), depthChartRepository.findByTeamAndPositionOrderByPositionDepth(team, Position.QB).stream()
+                .map(DepthChart::getPositionDepth).toList());
+    }
+
+    @Test
+    void addPlayerToDepthChart_WhenAlreadyInPosition_ThenConflict() {
+        Player brady = savePlayer(12L, "Tom Brady");
+        depthChartService.addPlayerToDepthChart(team, Position.QB, brady, null);
+
+        assertThrows(DataIntegrityViolationException.class, () -> depthChartService.addPlayerToDepthChart(team, Position.QB, brady, 1));
+    }
+
+    @Test
+    void applyDepthChartOperations_MovesAddsAndRemovesInOrder() throws InterruptedException {
+        Player brady = savePlayer(12L, "Tom Brady");
+        Player gabbert = savePlayer(11L, "Blaine Gabbert");
+        Player evans = savePlayer(13L, "Mike Evans");
+        depthChartService.addPlayerToDepthChart(team, Position.QB, brady, null);
+        depthChartService.addPlayerToDepthChart(team, Position.QB, gabbert, null);
+
+        var updated = depthChartService.applyDepthChartOperations(team, List.of(
+                new DepthChartOperation(OperationType.MOVE, Position.QB, gabbert, 1),
+                new DepthChartOperation(OperationType.ADD, Position.WR, evans, null),
+                new DepthChartOperation(OperationType.REMOVE, Position.QB, brady, null)));
+
+        assertEquals(List.of(11L), updated.get(Position.QB).stream().map(Player::getNumber).toList());
+        assertEquals(List.of(13L), updated.get(Position.WR).stream().map(Player::getNumber).toList());
+        assertEquals(List.of(new DepthChartReplacedEvent(team, Position.QB), new DepthChartReplacedEvent(team, Position.WR)),
+                applicationEvents.stream(DepthChartReplacedEvent.class).toList());
+
+        writeBehind.flush();
+        assertEquals(List.of(11L), storedPlayerNumbers(Position.QB));
+        assertEquals(List.of(13L), storedPlayerNumbers(Position.WR));
+    }
+
+    @Test
+    void moveAndSwap_ReorderInMemoryAndAreWrittenBehind() throws InterruptedException {
+        Player brady = savePlayer(12L, "Tom Brady");
+        Player gabbert = savePlayer(11L, "Blaine Gabbert");
+        Player trask = savePlayer(2L, "Kyle Trask");
+        depthChartService.addPlayerToDepthChart(team, Position.QB, brady, null);
+        depthChartService.addPlayerToDepthChart(team, Position.QB, gabbert, null);
+        depthChartService.addPlayerToDepthChart(team, Position.QB, trask, null);
+
+        DepthChart moved = depthChartService.movePlayerInDepthChart(team, Position.QB, trask, 1).orElseThrow();
+        assertEquals(1, moved.getPositionDepth());
+        assertTrue(depthChartService.movePlayerInDepthChart(team, Position.WR, trask, 1).isEmpty());
+
+        List<DepthChart> swapped = depthChartService.swapPlayersInDepthChart(team, Position.QB, trask, gabbert);
+        assertEquals(List.of(3, 1), swapped.stream().map(DepthChart::getPositionDepth).toList());
+
+        writeBehind.flush();
+        assertEquals(List.of(11L, 12L, 2L), storedPlayerNumbers(Position.QB));
+    }
+
+    @Test
+    void removePlayerFromAllDepthCharts_RemovesEveryPositionTheReverseIndexLists() throws InterruptedException {
+        Player brady = savePlayer(12L, "Tom Brady");
+        Player gabbert = savePlayer(11L, "Blaine Gabbert");
+        depthChartService.addPlayerToDepthChart(team, Position.QB, gabbert, null);
+        depthChartService.addPlayerToDepthChart(team, Position.QB, brady, null);
+        depthChartService.addPlayerToDepthChart(team, Position.KR, brady, null);
+        assertEquals(Map.of(Position.QB, 2, Position.KR, 1), depthChartService.getPlayerPositions(team, 12L));
+
+        List<DepthChart> removed = depthChartService.removePlayerFromAllDepthCharts(team, 12L);
+
+        assertEquals(2, removed.size());
+        assertEquals(Map.of(), depthChartService.getPlayerPositions(team, 12L));
+        writeBehind.flush();
+        assertEquals(List.of(11L), storedPlayerNumbers(Position.QB));
+        assertEquals(List.of(), storedPlayerNumbers(Position.KR));
+    }
+
+    @Test
+    void importRoster_WhileAFlushIsPending_ThenTheImportIsServedAndWrittenBehind() throws IOException, InterruptedException {
+        Player brady = savePlayer(12L, "Tom Brady");
+        Player gabbert = savePlayer(11L, "Blaine Gabbert");
+        depthChartService.addPlayerToDepthChart(team, Position.QB, gabbert, null);
+        depthChartService.addPlayerToDepthChart(team, Position.QB, brady, null);
+        depthChartService.addPlayerToDepthChart(team, Position.KR, gabbert, null);
+
+        String csv = "sport,team,position,positionDepth,number,name\n"
+                + "nfl," + team.getName() + ",QB,,2,Kyle Trask\n"
+                + "nfl," + team.getName() + ",QB,,12,Tom Brady\n";
+        rosterImportService.importRoster(ImportFormat.CSV, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(List.of(2L, 12L), depthChartService.getFullDepthChart(team).get(Position.QB).stream().map(DepthChartEntry::number).toList());
+        writeBehind.flush();
+        assertEquals(List.of(2L, 12L), storedPlayerNumbers(Position.QB), "The flush must not overwrite the import with the pre-import chart");
+        assertEquals(List.of(11L), storedPlayerNumbers(Position.KR), "Positions missing from the import are kept");
+    }
+
+    @Test
+    void applyDepthChartOperations_WithDepthsPastTheEndOrBelowOne_ThenBothEnginesClampThemAlike() {
+        DepthChartService databaseEngine = new DepthChartServiceImpl(depthChartRepository, customDepthChartRepository, playerService,
+                writeCoordinator, depthChartCache, eventPublisher, metrics, new DepthChartProperties());
+        Team databaseTeam = teamService.findOrCreateTeam("nfl", "database-" + System.nanoTime());
+
+        for (var engine : Map.of(depthChartService, team, databaseEngine, databaseTeam).entrySet()) {
+            engine.getKey().applyDepthChartOperations(engine.getValue(), List.of(
+                    new DepthChartOperation(OperationType.ADD, Position.QB, newPlayer(12L, "Tom Brady"), null),
+                    new DepthChartOperation(OperationType.ADD, Position.QB, newPlayer(11L, "Blaine Gabbert"), null),
+                    new DepthChartOperation(OperationType.ADD, Position.QB, newPlayer(2L, "Kyle Trask"), null)));
+            engine.getKey().applyDepthChartOperations(engine.getValue(), List.of(
+                    new DepthChartOperation(OperationType.ADD, Position.QB, newPlayer(13L, "Mike Evans"), 10),
+                    new DepthChartOperation(OperationType.ADD, Position.QB, newPlayer(7L, "Leonard Fournette"), 0),
+                    new DepthChartOperation(OperationType.MOVE, Position.QB, newPlayer(2L, "Kyle Trask"), 99),
+                    new DepthChartOperation(OperationType.MOVE, Position.QB, newPlayer(11L, "Blaine Gabbert"), -3)));
+        }
+
+        List<DepthChartEntry> expected = List.of(
+                new DepthChartEntry(Position.QB, 1, null, 11L, "Blaine Gabbert"),
+                new DepthChartEntry(Position.QB, 2, null, 7L, "Leonard Fournette"),
+                new DepthChartEntry(Position.QB, 3, null, 12L, "Tom Brady"),
+                new DepthChartEntry(Position.QB, 4, null, 13L, "Mike Evans"),
+                new DepthChartEntry(Position.QB, 5, null, 2L, "Kyle Trask"));
+        assertEquals(expected, withoutPlayerIds(depthChartService.getFullDepthChart(team).get(Position.QB)));
+        assertEquals(expected, withoutPlayerIds(databaseEngine.getFullDepthChart(databaseTeam).get(Position.QB)));
+    }
+
+    private static List<DepthChartEntry> withoutPlayerIds(List<DepthChartEntry> entries) {
+        return entries.stream()
+                .map(entry -> new DepthChartEntry(entry.position(), entry.positionDepth(), null, entry.number(), entry.name()))
+                .toList();
+    }
+
+    private static Player newPlayer(Long number, String name) {
+        Player player = new Player();
+        player.setNumber(number);
+        player.setName(name);
+        player.setPosition(Position.QB);
+        return player;
+    }
+
+    private List<Long> storedPlayerNumbers(Position position) {
+        return depthChartRepository.findByTeamAndPositionOrderByPositionDepth(team, position).stream()
+                .map(depthChart -> depthChart.getPlayer().getNumber())
+                .toList();
+    }
+
+    private Player savePlayer(Long number, String name) {
+        Player player = new Player();
+        player.setNumber(number);
+        player.setName(name);
+        player.setTeam(team);
+        return playerService.savePlayer(player);
+    }
+}
@@ -0,0 +1,116 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import dev.amir.depth_chart_manager.entity.DepthChart;
+import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionDepthChartTest {
+
+    private PositionDepthChart depthChart;
+
+    @BeforeEach
+    void setUp() {
+        List<DepthChart> loaded = new ArrayList<>();
+        loaded.add(depthChartBuilder(1L, 1L, 1));
+        loaded.add(depthChartBuilder(2L, 2L, 2));
+        loaded.add(depthChartBuilder(3L, 3L, 3));
+        depthChart = new PositionDepthChart(loaded);
+    }
+
+    @Test
+    void add_WithSpecificDepth_ThenPlayersBelowAreShiftedDown() {
+        depthChart.addOrMove(4L, 2, () -> depthChartBuilder(null, 4L, 0));
+
+        assertEquals(List.of(1L, 4L, 2L, 3L), playerNumbers());
+        assertEquals(List.of(1, 2, 3, 4), depths());
+        assertEquals(3, depthChart.getChanged().size(), "The new row and the two shifted rows should be written");
+    }
+
+    @Test
+    void add_WithoutDepth_ThenPlayerIsAddedToTheEnd() {
+        depthChart.addOrMove(4L, null, () -> depthChartBuilder(null, 4L, 0));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), playerNumbers());
+        assertEquals(1, depthChart.getChanged().size(), "Only the new row should be written");
+    }
+
+    @Test
+    void addAndMove_WithDepthPastTheEndOrBelowOne_ThenTheDepthIsClampedToThePosition() {
+        depthChart.addOrMove(4L, 10, () -> depthChartBuilder(null, 4L, 0));
+        depthChart.addOrMove(5L, 0, () -> depthChartBuilder(null, 5L, 0));
+        depthChart.move(2L, -3);
+        depthChart.move(5L, 99);
+
+        assertEquals(List.of(2L, 1L, 3L, 4L, 5L), playerNumbers());
+        assertEquals(List.of(1, 2, 3, 4, 5), depths());
+    }
+
+    @Test
+    void remove_ThenPlayersBelowAreShiftedUp() {
+        depthChart.remove(1L);
+
+        assertEquals(List.of(2L, 3L), playerNumbers());
+        assertEquals(List.of(1, 2), depths());
+        assertEquals(1, depthChart.getRemoved().size());
+    }
+
+    @Test
+    void move_ThenOnlyRowsBetweenOldAndNewDepthChange() {
+        depthChart.move(3L, 1);
+
+        assertEquals(List.of(3L, 1L, 2L), playerNumbers());
+        assertEquals(List.of(1, 2, 3), depths());
+        assertEquals(3, depthChart.getChanged().size());
+        assertTrue(depthChart.getRemoved().isEmpty(), "A moved row should be updated, not deleted");
+    }
+
+    @Test
+    void addOrMove_WhenPlayerRemovedEarlierInBatch_ThenRowIsReused() {
+        DepthChart player2 = depthChart.find(2L).orElseThrow();
+
+        depthChart.remove(2L);
+        depthChart.addOrMove(2L, 1, () -> depthChartBuilder(null, 2L, 0));
+
+        assertEquals(List.of(2L, 1L, 3L), playerNumbers());
+        assertSame(player2, depthChart.find(2L).orElseThrow());
+        assertTrue(depthChart.getRemoved().isEmpty());
+    }
+
+    @Test
+    void addThenRemove_OfNewPlayer_ThenNothingIsWritten() {
+        depthChart.addOrMove(4L, 1, () -> depthChartBuilder(null, 4L, 0));
+        depthChart.remove(4L);
+
+        assertEquals(List.of(1, 2, 3), depths());
+        assertTrue(depthChart.getChanged().isEmpty());
+        assertTrue(depthChart.getRemoved().isEmpty());
+    }
+
+    private List<Long> playerNumbers() {
+        return depthChart.getDepthCharts().stream().map(dc -> dc.getPlayer().getNumber()).toList();
+    }
+
+    private List<Integer> depths() {
+        return depthChart.getDepthCharts().stream().map(DepthChart::getPositionDepth).toList();
+    }
+
+    private static DepthChart depthChartBuilder(Long id, Long playerNumber, int positionDepth) {
+        Player player = new Player();
+        player.setNumber(playerNumber);
+        player.setName("Player" + playerNumber);
+
+        DepthChart depthChart = new DepthChart();
+        depthChart.setId(id);
+        depthChart.setPosition(Position.QB);
+        depthChart.setPlayer(player);
+        depthChart.setPositionDepth(positionDepth);
+        return depthChart;
+    }
+}
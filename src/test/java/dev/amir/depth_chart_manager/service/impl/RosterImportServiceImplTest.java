@@ -0,0 +1,135 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import dev.amir.depth_chart_manager.entity.DepthChart;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.event.DepthChartReplacedEvent;
+import dev.amir.depth_chart_manager.importer.ImportFormat;
+import dev.amir.depth_chart_manager.model.dto.ImportResult;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import dev.amir.depth_chart_manager.repository.DepthChartRepository;
+import dev.amir.depth_chart_manager.service.RosterImportService;
+import dev.amir.depth_chart_manager.service.TeamService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class RosterImportServiceImplTest {
+
+    private static final int TEAMS = 32;
+    private static final int PLAYERS_PER_TEAM = 300;
+
+    @Autowired
+    private RosterImportService rosterImportService;
+
+    @Autowired
+    private DepthChartRepository depthChartRepository;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @BeforeEach
+    void setUp() {
+        depthChartRepository.deleteAll();
+    }
+
+    @Test
+    void importRoster_ForWholeLeagueCsv_ThenEveryTeamPositionIsOrderedByFileOrder() throws IOException {
+        StringBuilder csv = new StringBuilder("sport,team,position,positionDepth,number,name\n");
+        for (int team = 1; team <= TEAMS; team++) {
+            for (int number = 1; number <= PLAYERS_PER_TEAM; number++) {
+                Position position = Position.values()[number % Position.values().length];
+                csv.append("nfl,team").append(team).append(',').append(position).append(",,")
+                        .append(number).append(",Player").append(number).append('\n');
+            }
+        }
+
+        ImportResult result = rosterImportService.importRoster(ImportFormat.CSV, inputStream(csv.toString()));
+        log.info("Imported {} records in {} ms", result.records(), result.elapsedMillis());
+
+        assertEquals(TEAMS * PLAYERS_PER_TEAM, result.records());
+        assertEquals(TEAMS * PLAYERS_PER_TEAM, result.depthCharts());
+        assertEquals(TEAMS, result.teams());
+
+        Team team7 = teamService.findTeam("nfl", "team7").orElseThrow();
+        List<DepthChart> quarterbacks = depthChartRepository.findByTeamAndPositionOrderByPositionDepth(team7, Position.QB);
+        assertEquals(IntStream.rangeClosed(1, quarterbacks.size()).boxed().toList(),
+                quarterbacks.stream().map(DepthChart::getPositionDepth).toList());
+    }
+
+    @Test
+    void importRoster_WhenPositionImportedAgain_ThenItsDepthChartIsReplaced() throws IOException {
+        String ndjson = """
+                {"sport":"nfl","team":"buccaneers","position":"QB","number":12,"name":"Tom Brady"}
+                {"sport":"nfl","team":"buccaneers","position":"QB","number":11,"name":"Blaine Gabbert"}
+                """;
+        String reimport = """
+                {"sport":"nfl","team":"buccaneers","position":"QB","positionDepth":1,"number":2,"name":"Kyle Trask"}
+                {"sport":"nfl","team":"buccaneers","position":"QB","positionDepth":2,"number":12,"name":"Tom Brady"}
+                """;
+
+        rosterImportService.importRoster(ImportFormat.NDJSON, inputStream(ndjson));
+        rosterImportService.importRoster(ImportFormat.NDJSON, inputStream(reimport));
+
+        Team buccaneers = teamService.findTeam("nfl", "buccaneers").orElseThrow();
+        assertEquals(List.of(2L, 12L), depthChartRepository.findByTeamAndPositionOrderByPositionDepth(buccaneers, Position.QB).stream()
+                .map(dc -> dc.getPlayer().getNumber())
+                .toList());
+    }
+
+    @Test
+    void importRoster_WhenFileDepthsHaveGapsAndDuplicates_ThenThePositionIsNumberedDenselyInTheirOrder() throws IOException {
+        String ndjson = """
+                {"sport":"nfl","team":"buccaneers","position":"WR","positionDepth":5,"number":13,"name":"Mike Evans"}
+                {"sport":"nfl","team":"buccaneers","position":"WR","positionDepth":1,"number":14,"name":"Chris Godwin"}
+                {"sport":"nfl","team":"buccaneers","position":"WR","positionDepth":1,"number":10,"name":"Scott Miller"}
+                {"sport":"nfl","team":"buccaneers","position":"WR","positionDepth":0,"number":18,"name":"Tyler Johnson"}
+                """;
+
+        rosterImportService.importRoster(ImportFormat.NDJSON, inputStream(ndjson));
+
+        Team buccaneers = teamService.findTeam("nfl", "buccaneers").orElseThrow();
+        List<DepthChart> receivers = depthChartRepository.findByTeamAndPositionOrderByPositionDepth(buccaneers, Position.WR);
+        assertEquals(List.of(18L, 14L, 10L, 13L), receivers.stream().map(dc -> dc.getPlayer().getNumber()).toList());
+        assertEquals(List.of(1, 2, 3, 4), receivers.stream().map(DepthChart::getPositionDepth).toList());
+    }
+
+    @Test
+    void importRoster_PublishesAReplacementOfEveryImportedPosition() throws IOException {
+        String ndjson = """
+                {"sport":"nfl","team":"buccaneers","position":"QB","number":12,"name":"Tom Brady"}
+                {"sport":"nfl","team":"buccaneers","position":"WR","number":13,"name":"Mike Evans"}
+                {"sport":"nfl","team":"buccaneers","position":"QB","number":11,"name":"Blaine Gabbert"}
+                """;
+
+        rosterImportService.importRoster(ImportFormat.NDJSON, inputStream(ndjson));
+
+        assertEquals(List.of(Position.QB, Position.WR), applicationEvents.stream(DepthChartReplacedEvent.class)
+                .filter(event -> event.team().getName().equals("buccaneers"))
+                .map(DepthChartReplacedEvent::position)
+                .toList());
+    }
+
+    private static ByteArrayInputStream inputStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
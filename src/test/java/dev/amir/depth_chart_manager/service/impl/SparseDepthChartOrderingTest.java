@@ -0,0 +1,257 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.amir.depth_chart_manager.cache.DepthChartCache;
+import dev.amir.depth_chart_manager.concurrency.DepthChartWriteCoordinator;
+import dev.amir.depth_chart_manager.config.DepthChartProperties;
+import dev.amir.depth_chart_manager.entity.DepthChart;
+import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.entity.Team;
+import dev.amir.depth_chart_manager.importer.ImportFormat;
+import dev.amir.depth_chart_manager.metrics.DepthChartMetrics;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.dto.DepthChartOperation;
+import dev.amir.depth_chart_manager.model.enums.DepthChartOrdering;
+import dev.amir.depth_chart_manager.model.enums.OperationType;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import dev.amir.depth_chart_manager.repository.CustomDepthChartRepository;
+import dev.amir.depth_chart_manager.repository.DepthChartRepository;
+import dev.amir.depth_chart_manager.service.PlayerService;
+import dev.amir.depth_chart_manager.service.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs a SPARSE ordering service against the database of the default context, which keeps DENSE.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SparseDepthChartOrderingTest {
+
+    @Autowired
+    private DepthChartRepository depthChartRepository;
+
+    @Autowired
+    private CustomDepthChartRepository customDepthChartRepository;
+
+    @Autowired
+    private DepthChartWriteCoordinator writeCoordinator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DepthChartMetrics metrics;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ObjectProvider<InMemoryDepthChartServiceImpl> inMemoryEngine;
+
+    private DepthChartServiceImpl sparseService;
+
+    private RosterImportServiceImpl sparseImportService;
+
+    private Statistics statistics;
+
+    private Team team;
+
+    @BeforeEach
+    void setUp() {
+        DepthChartProperties properties = new DepthChartProperties();
+        properties.setOrdering(DepthChartOrdering.SPARSE);
+        properties.getCache().setEnabled(false);
+        sparseService = new DepthChartServiceImpl(depthChartRepository, customDepthChartRepository, playerService, writeCoordinator,
+                new DepthChartCache(properties), eventPublisher, metrics, properties);
+        sparseImportService = new RosterImportServiceImpl(teamService, playerService, depthChartRepository, writeCoordinator,
+                eventPublisher, objectMapper, inMemoryEngine, properties);
+        team = teamService.findOrCreateTeam("sparse", "team" + System.nanoTime());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void addAndRemoveInTheMiddle_WriteOnlyTheirOwnRow() {
+        List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            players.add(newPlayer(i));
+            sparseService.addPlayerToDepthChart(team, Position.QB, players.getLast(), null);
+        }
+        Player inserted = newPlayer(21);
+
+        statistics.clear();
+        sparseService.addPlayerToDepthChart(team, Position.QB, inserted, 5);
+        EntityStatistics added = statistics.getEntityStatistics(DepthChart.class.getName());
+        assertEquals(1, added.getInsertCount());
+        assertEquals(0, added.getUpdateCount(), "No other row should be rewritten by an insert");
+        assertEquals(5, depthOf(inserted));
+        assertEquals(6, depthOf(players.get(4)));
+
+        statistics.clear();
+        Optional<DepthChart> removed = sparseService.removePlayerFromDepthChart(team, Position.QB, players.get(1));
+        EntityStatistics deleted = statistics.getEntityStatistics(DepthChart.class.getName());
+        assertEquals(1, deleted.getDeleteCount());
+        assertEquals(0, deleted.getUpdateCount(), "No other row should be rewritten by a removal");
+        assertEquals(2, removed.orElseThrow().getPositionDepth(), "The removed row should report its dense depth");
+
+        List<Integer> depths = sparseService.getFullDepthChart(team).get(Position.QB).stream()
+                .map(DepthChartEntry::positionDepth)
+                .toList();
+        assertEquals(20, depths.size());
+        for (int i = 0; i < depths.size(); i++) {
+            assertEquals(i + 1, depths.get(i));
+        }
+    }
+
+    @Test
+    void repeatedInsertsAtTheSameDepth_RebalanceThePositionOnceTheGapIsUsedUp() {
+        Player first = newPlayer(1);
+        sparseService.addPlayerToDepthChart(team, Position.WR, first, null);
+        sparseService.addPlayerToDepthChart(team, Position.WR, newPlayer(2), null);
+        List<Long> expected = new ArrayList<>(List.of(1L, 2L));
+        for (int i = 3; i <= 20; i++) {
+            sparseService.addPlayerToDepthChart(team, Position.WR, newPlayer(i), 2);
+            expected.add(1, (long) i);
+        }
+
+        assertEquals(expected, numbers(Position.WR));
+        assertEquals(expected.subList(1, expected.size()), sparseService.getBackups(team, Position.WR, first).stream()
+                .map(DepthChartEntry::number)
+                .toList());
+    }
+
+    @Test
+    void applyDepthChartOperations_KeepsTheRanksOfUnmovedRows() {
+        for (int i = 1; i <= 5; i++) {
+            sparseService.addPlayerToDepthChart(team, Position.RB, newPlayer(i), null);
+        }
+        List<DepthChartOperation> operations = List.of(
+                new DepthChartOperation(OperationType.MOVE, Position.RB, playerNumbered(5), 1),
+                new DepthChartOperation(OperationType.ADD, Position.RB, newPlayer(6), 3));
+
+        statistics.clear();
+        sparseService.applyDepthChartOperations(team, operations);
+
+        EntityStatistics written = statistics.getEntityStatistics(DepthChart.class.getName());
+        assertEquals(1, written.getInsertCount());
+        assertEquals(1, written.getUpdateCount(), "Only the moved row should be updated");
+        assertEquals(List.of(5L, 1L, 6L, 2L, 3L, 4L), numbers(Position.RB));
+    }
+
+    @Test
+    void moveAndSwap_WriteOnlyTheMovedRows() {
+        List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            players.add(newPlayer(i));
+            sparseService.addPlayerToDepthChart(team, Position.QB, players.getLast(), null);
+        }
+
+        statistics.clear();
+        DepthChart moved = sparseService.movePlayerInDepthChart(team, Position.QB, players.get(8), 2).orElseThrow();
+        assertEquals(1, statistics.getEntityStatistics(DepthChart.class.getName()).getUpdateCount(), "Only the moved row should be updated");
+        assertEquals(2, moved.getPositionDepth());
+        assertEquals(2, depthOf(players.get(8)));
+        assertEquals(10, depthOf(players.get(9)));
+
+        statistics.clear();
+        List<DepthChart> swapped = sparseService.swapPlayersInDepthChart(team, Position.QB, players.getFirst(), players.getLast());
+        assertEquals(2, statistics.getEntityStatistics(DepthChart.class.getName()).getUpdateCount());
+        assertEquals(List.of(10, 1), swapped.stream().map(DepthChart::getPositionDepth).toList());
+        assertEquals(List.of(10L, 9L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 1L), numbers(Position.QB));
+    }
+
+    @Test
+    void removePlayerFromAllDepthCharts_DeletesOnlyThePlayersRows() {
+        Player starter = newPlayer(1);
+        for (Position position : List.of(Position.QB, Position.KR)) {
+            sparseService.addPlayerToDepthChart(team, position, newPlayer(position.ordinal() + 10L), null);
+            sparseService.addPlayerToDepthChart(team, position, starter, null);
+            sparseService.addPlayerToDepthChart(team, position, newPlayer(position.ordinal() + 20L), null);
+        }
+
+        statistics.clear();
+        List<DepthChart> removed = sparseService.removePlayerFromAllDepthCharts(team, starter.getNumber());
+
+        EntityStatistics written = statistics.getEntityStatistics(DepthChart.class.getName());
+        assertEquals(2, written.getDeleteCount());
+        assertEquals(0, written.getUpdateCount());
+        assertEquals(List.of(2, 2), removed.stream().map(DepthChart::getPositionDepth).toList());
+        assertEquals(Map.of(), sparseService.getPlayerPositions(team, starter.getNumber()));
+    }
+
+    @Test
+    void importRoster_StoresGappedRanks_SoAnInsertBetweenImportedPlayersWritesOnlyItsRow() throws IOException {
+        StringBuilder csv = new StringBuilder("sport,team,position,positionDepth,number,name\n");
+        for (int number = 1; number <= 10; number++) {
+            csv.append("sparse,").append(team.getName()).append(",QB,,").append(number).append(",Player").append(number).append('\n');
+        }
+        sparseImportService.importRoster(ImportFormat.CSV, new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+        assertEquals(SparseRanks.spaced(0), depthChartRepository.findDepthsByTeamAndPosition(team, Position.QB).getFirst());
+
+        statistics.clear();
+        Player inserted = newPlayer(11);
+        sparseService.addPlayerToDepthChart(team, Position.QB, inserted, 4);
+
+        EntityStatistics added = statistics.getEntityStatistics(DepthChart.class.getName());
+        assertEquals(1, added.getInsertCount());
+        assertEquals(0, added.getUpdateCount(), "An insert between imported players should not rebalance the position");
+        assertEquals(List.of(1L, 2L, 3L, 11L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), numbers(Position.QB));
+    }
+
+    private int depthOf(Player player) {
+        return sparseService.getFullDepthChart(team).get(Position.QB).stream()
+                .filter(entry -> entry.number().equals(player.getNumber()))
+                .findFirst()
+                .orElseThrow()
+                .positionDepth();
+    }
+
+    private List<Long> numbers(Position position) {
+        return sparseService.getFullDepthChart(team).get(position).stream()
+                .map(DepthChartEntry::number)
+                .toList();
+    }
+
+    private Player playerNumbered(long number) {
+        Player player = new Player();
+        player.setNumber(number);
+        player.setTeam(team);
+        return player;
+    }
+
+    private Player newPlayer(long number) {
+        Player player = new Player();
+        player.setNumber(number);
+        player.setName("Player" + number);
+        player.setTeam(team);
+        return playerService.savePlayer(player);
+    }
+}
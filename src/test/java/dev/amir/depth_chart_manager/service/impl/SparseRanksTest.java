@@ -0,0 +1,53 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SparseRanksTest {
+
+    @Test
+    void between_TakesTheMidpointOrOneGapPastAnEnd() {
+        assertEquals(OptionalInt.of(SparseRanks.GAP), SparseRanks.between(null, null));
+        assertEquals(OptionalInt.of(1536), SparseRanks.between(1024, 2048));
+        assertEquals(OptionalInt.of(3072), SparseRanks.between(2048, null));
+        assertEquals(OptionalInt.of(0), SparseRanks.between(null, 1024));
+        assertEquals(OptionalInt.of(-2), SparseRanks.between(-3, 0));
+    }
+
+    @Test
+    void between_WhenNoRoomIsLeft_ThenEmpty() {
+        assertTrue(SparseRanks.between(5, 6).isEmpty());
+        assertTrue(SparseRanks.between(Integer.MAX_VALUE - 10, null).isEmpty());
+        assertTrue(SparseRanks.between(null, Integer.MIN_VALUE + 10).isEmpty());
+    }
+
+    @Test
+    void reassign_KeepsTheRanksOfRowsStillInOrder() {
+        // the last row was moved to the front and a new row added between the second and third
+        int[] ranks = SparseRanks.reassign(Arrays.asList(4096, 1024, 2048, null, 3072));
+
+        assertEquals(1024, ranks[1]);
+        assertEquals(2048, ranks[2]);
+        assertEquals(3072, ranks[4]);
+        assertTrue(ranks[0] < ranks[1], "The moved row should be ranked before the first kept row");
+        assertTrue(ranks[2] < ranks[3] && ranks[3] < ranks[4], "The new row should be ranked between its neighbours");
+    }
+
+    @Test
+    void reassign_WhenAGapIsTooSmall_ThenRebalancesThePosition() {
+        int[] ranks = SparseRanks.reassign(Arrays.asList(1, null, null, 2));
+
+        assertArrayEquals(new int[]{1024, 2048, 3072, 4096}, ranks);
+    }
+
+    @Test
+    void reassign_WithoutLoadedRanks_ThenSpacesEveryRow() {
+        assertArrayEquals(new int[]{1024, 2048}, SparseRanks.reassign(Arrays.asList(null, null)));
+        assertArrayEquals(new int[0], SparseRanks.reassign(List.of()));
+    }
+}
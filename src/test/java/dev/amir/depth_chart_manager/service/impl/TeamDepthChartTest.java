@@ -0,0 +1,140 @@
+package dev.amir.depth_chart_manager.service.impl;
+
+import dev.amir.depth_chart_manager.entity.DepthChart;
+import dev.amir.depth_chart_manager.entity.Player;
+import dev.amir.depth_chart_manager.model.dto.DepthChartEntry;
+import dev.amir.depth_chart_manager.model.enums.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeamDepthChartTest {
+
+    private TeamDepthChart depthChart;
+
+    @BeforeEach
+    void setUp() {
+        depthChart = TeamDepthChart.of(List.of(
+                depthChartBuilder(Position.QB, 1L, 1),
+                depthChartBuilder(Position.QB, 2L, 2),
+                depthChartBuilder(Position.QB, 3L, 3),
+                depthChartBuilder(Position.WR, 1L, 1)));
+    }
+
+    @Test
+    void insert_WithSpecificDepth_ThenPlayersBelowAreShiftedDown() {
+        int depth = depthChart.write(() -> depthChart.insert(Position.QB, playerBuilder(4L), 2));
+
+        assertEquals(2, depth);
+        assertEquals(List.of(1L, 4L, 2L, 3L), playerNumbers(Position.QB));
+    }
+
+    @Test
+    void insert_WithoutDepthOrPastTheEnd_ThenPlayerIsAddedToTheEnd() {
+        depthChart.write(() -> depthChart.insert(Position.QB, playerBuilder(4L), null));
+        int depth = depthChart.write(() -> depthChart.insert(Position.QB, playerBuilder(5L), 99));
+
+        assertEquals(5, depth);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), playerNumbers(Position.QB));
+    }
+
+    @Test
+    void insert_BeyondInitialCapacity_ThenPositionGrows() {
+        LongStream.rangeClosed(4, 100).forEach(number -> depthChart.write(() -> depthChart.insert(Position.QB, playerBuilder(number), 1)));
+
+        assertEquals(100, depthChart.write(() -> depthChart.size(Position.QB)));
+        assertEquals(100L, playerNumbers(Position.QB).getFirst());
+        assertEquals(3L, playerNumbers(Position.QB).getLast());
+    }
+
+    @Test
+    void removeAt_ThenPlayersBelowAreShiftedUp() {
+        Player removed = depthChart.write(() -> depthChart.removeAt(Position.QB, depthChart.depthOf(Position.QB, 1L)));
+
+        assertEquals(1L, removed.getNumber());
+        assertEquals(List.of(2L, 3L), playerNumbers(Position.QB));
+        assertEquals(0, depthChart.write(() -> depthChart.depthOf(Position.QB, 1L)));
+    }
+
+    @Test
+    void move_ThenOnlyPlayersBetweenOldAndNewDepthShift() {
+        depthChart.write(() -> depthChart.move(Position.QB, 3, 1));
+        assertEquals(List.of(3L, 1L, 2L), playerNumbers(Position.QB));
+
+        depthChart.write(() -> depthChart.move(Position.QB, 1, null));
+        assertEquals(List.of(1L, 2L, 3L), playerNumbers(Position.QB));
+    }
+
+    @Test
+    void positionsOf_FollowsInsertsMovesAndRemovals() {
+        assertEquals(Map.of(Position.QB, 1, Position.WR, 1), depthChart.positionsOf(1L));
+
+        depthChart.write(() -> depthChart.move(Position.QB, 1, null));
+        depthChart.write(() -> depthChart.removeAt(Position.WR, 1));
+        depthChart.write(() -> depthChart.insert(Position.KR, playerBuilder(1L), null));
+
+        assertEquals(Map.of(Position.QB, 3, Position.KR, 1), depthChart.positionsOf(1L));
+        assertEquals(Map.of(), depthChart.positionsOf(99L));
+    }
+
+    @Test
+    void backups_ReturnsPlayersBelowInDepthOrder() {
+        assertEquals(List.of(2L, 3L), depthChart.backups(Position.QB, 1L).stream().map(DepthChartEntry::number).toList());
+        assertTrue(depthChart.backups(Position.QB, 3L).isEmpty());
+        assertTrue(depthChart.backups(Position.QB, 9L).isEmpty());
+        assertTrue(depthChart.backups(Position.KR, 1L).isEmpty());
+    }
+
+    @Test
+    void fullDepthChart_IsSharedUntilTheNextWrite() {
+        Map<Position, List<DepthChartEntry>> first = depthChart.fullDepthChart();
+
+        assertSame(first, depthChart.fullDepthChart());
+        assertEquals(List.of(Position.QB, Position.WR), List.copyOf(first.keySet()));
+        assertEquals(new DepthChartEntry(Position.QB, 2, null, 2L, "Player2"), first.get(Position.QB).get(1));
+
+        depthChart.write(() -> depthChart.removeAt(Position.WR, 1));
+
+        Map<Position, List<DepthChartEntry>> second = depthChart.fullDepthChart();
+        assertNotSame(first, second);
+        assertFalse(second.containsKey(Position.WR));
+    }
+
+    @Test
+    void rows_NumberDepthsFromOne() {
+        depthChart.write(() -> depthChart.removeAt(Position.QB, 1));
+
+        assertEquals(List.of(1, 2), depthChart.rows(null, Position.QB).stream().map(DepthChart::getPositionDepth).toList());
+    }
+
+    private List<Long> playerNumbers(Position position) {
+        return depthChart.write(() -> {
+            List<Long> numbers = new ArrayList<>();
+            for (int depth = 1; depth <= depthChart.size(position); depth++) {
+                numbers.add(depthChart.playerAt(position, depth).getNumber());
+            }
+            return numbers;
+        });
+    }
+
+    private static DepthChart depthChartBuilder(Position position, Long playerNumber, int positionDepth) {
+        DepthChart depthChart = new DepthChart();
+        depthChart.setPosition(position);
+        depthChart.setPlayer(playerBuilder(playerNumber));
+        depthChart.setPositionDepth(positionDepth);
+        return depthChart;
+    }
+
+    private static Player playerBuilder(Long number) {
+        Player player = new Player();
+        player.setNumber(number);
+        player.setName("Player" + number);
+        return player;
+    }
+}